@@ -0,0 +1,77 @@
+package com.srt;
+
+/**
+ * 아프리카TV 상태 확인기
+ * BJ 방송 페이지에서 방송 중 표시와 제목을 찾습니다.
+ */
+public class AfreecaProbe extends HttpPlatformProbe {
+    // 아프리카TV 방송 페이지 라이브 표시 검색기
+    private static final MarkerScanner PAGE_SCANNER;
+    private static final int ON;
+    private static final int THUMB_OFF;
+    private static final int HTML_TITLE;
+
+    static {
+        MarkerScanner.Builder afreeca = new MarkerScanner.Builder();
+        ON = afreeca.marker("class=\"on\"");
+        THUMB_OFF = afreeca.marker("class=\"thumb_off\"");
+        HTML_TITLE = afreeca.capture("<title>", MarkerScanner.CAPTURE_UNTIL_TAG);
+        PAGE_SCANNER = afreeca.build();
+    }
+
+    public AfreecaProbe(ProbeHttpClient httpClient, ProbeResponseCache responseCache) {
+        super(httpClient, responseCache);
+    }
+
+    @Override
+    public String getPlatformName() {
+        return "아프리카TV";
+    }
+
+    @Override
+    public String[] getHostSuffixes() {
+        return new String[] { "afreecatv.com" };
+    }
+
+    @Override
+    public String parseChannelId(String url) {
+        return pathSegmentAfter(url, "afreecatv.com/");
+    }
+
+    @Override
+    public Result probe(String bjId, String url) {
+        if (bjId == null || bjId.isEmpty()) {
+            return Result.error();
+        }
+
+        // 아프리카TV BJ 페이지 접속
+        String pageUrl = "https://play.afreecatv.com/" + bjId;
+        try (ProbeHttpClient.Response response = conditionalGet(pageUrl)) {
+            Result cached = notModified(pageUrl, response);
+            if (cached != null) {
+                return cached;
+            }
+            if (response.getStatusCode() != 200) {
+                return Result.offline();
+            }
+
+            // 방송 꺼짐 표시를 찾으면 바로 읽기 중단
+            MarkerScanner.Scan scan = PAGE_SCANNER.scan(response.getBody(), 50000,
+                sc -> sc.found(THUMB_OFF));
+
+            Result result;
+            // 라이브 방송 중인지 확인
+            if (scan.found(ON) && !scan.found(THUMB_OFF)) {
+                // 제목 추출
+                String title = scan.captured(HTML_TITLE);
+                result = Result.online(title != null && !title.isEmpty() ? title.replace(" - AfreecaTV", "") : null);
+            } else {
+                result = Result.offline();
+            }
+            return remember(pageUrl, response, result, scan.getBytesScanned());
+        } catch (Exception e) {
+            System.err.println("아프리카TV BJ 확인 오류: " + e.getMessage());
+            return Result.error();
+        }
+    }
+}
@@ -42,8 +42,8 @@ public class App extends Application {
     private FXTrayIcon trayIcon;
     private Recorder recorder;
     private WebServer webServer;
-    private TableView<Recorder.StreamerInfo> streamerTable;
-    private ObservableList<Recorder.StreamerInfo> streamerList;
+    private TableView<Recorder.StreamerSnapshot> streamerTable;
+    private ObservableList<Recorder.StreamerSnapshot> streamerList;
     private Label statusLabel;
     
     // 애플리케이션 시작 전 코드페이지 설정
@@ -86,6 +86,7 @@ public class App extends Application {
     
     @Override
     public void start(Stage stage) throws IOException {
+        long startNanos = System.nanoTime();
         this.primaryStage = stage;
         stage.setTitle("SRT - 스트리머 녹화 도구");
         
@@ -108,8 +109,7 @@ public class App extends Application {
         recorder.setCallback((name, status) -> {
             Platform.runLater(() -> {
                 System.out.println("스트리머 상태 변경: " + name + " -> " + status);
-                updateStreamerTableStatus(name, status);
-                updateStatusBar();
+                refreshStreamerTable();
             });
         });
         
@@ -153,21 +153,30 @@ public class App extends Application {
         javafx.animation.Timeline timeline = new javafx.animation.Timeline(
             new javafx.animation.KeyFrame(javafx.util.Duration.seconds(5), event -> {
                 System.out.println("테이블 UI 자동 갱신");
-                Platform.runLater(() -> {
-                    streamerTable.refresh();
-                    updateStatusBar();
-                });
+                refreshStreamerTable();
             })
         );
         timeline.setCycleCount(javafx.animation.Animation.INDEFINITE);
         timeline.play();
         
-        // 시작 시 모든 스트리머 상태 수동 갱신 요청
-        System.out.println("초기 스트리머 상태 갱신 요청");
-        recorder.forceUpdateAllStreamers();
-        
+        // 목록은 저장해 둔 마지막 상태로 바로 표시하고, 첫 상태 확인은 상태 확인 스케줄러가 백그라운드에서 진행
+        // (결과는 확인되는 대로 콜백으로 표에 반영됨)
         stage.show();
         
+        // 첫 화면이 그려지면 시작부터 걸린 시간 기록
+        // (펄스 처리 중에는 리스너 목록을 바꾸지 않도록 제거는 다음 차례로 미룸)
+        Runnable[] firstFrame = new Runnable[1];
+        firstFrame[0] = () -> {
+            if (firstFrame[0] == null) {
+                return;
+            }
+            Runnable listener = firstFrame[0];
+            firstFrame[0] = null;
+            Platform.runLater(() -> scene.removePostLayoutPulseListener(listener));
+            System.out.println("첫 화면 표시: 시작 후 " + java.util.concurrent.TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) + "ms");
+        };
+        scene.addPostLayoutPulseListener(firstFrame[0]);
+        
         // 초기 상태 바 업데이트
         updateStatusBar();
     }
@@ -201,8 +210,7 @@ public class App extends Application {
         MenuItem refreshStatusItem = new MenuItem("상태 새로고침");
         refreshStatusItem.setOnAction(e -> {
             recorder.forceUpdateAllStreamers();
-            streamerTable.refresh();
-            updateStatusBar();
+            refreshStreamerTable();
         });
         
         MenuItem startAllItem = new MenuItem("전체 녹화 시작");
@@ -314,8 +322,7 @@ public class App extends Application {
             // 상태 수동 업데이트
             recorder.forceUpdateAllStreamers();
             // UI 새로고침
-            streamerTable.refresh();
-            updateStatusBar();
+            refreshStreamerTable();
         });
         
         toolBar.getItems().addAll(
@@ -339,26 +346,26 @@ public class App extends Application {
     /**
      * 스트리머 목록 테이블 생성 메서드
      */
-    private TableView<Recorder.StreamerInfo> createStreamerTable() {
-        TableView<Recorder.StreamerInfo> table = new TableView<>();
+    private TableView<Recorder.StreamerSnapshot> createStreamerTable() {
+        TableView<Recorder.StreamerSnapshot> table = new TableView<>();
         
         // 컬럼 생성
-        TableColumn<Recorder.StreamerInfo, String> nameColumn = new TableColumn<>("스트리머명");
+        TableColumn<Recorder.StreamerSnapshot, String> nameColumn = new TableColumn<>("스트리머명");
         nameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
         nameColumn.setPrefWidth(150);
         
-        TableColumn<Recorder.StreamerInfo, String> titleColumn = new TableColumn<>("방송제목");
+        TableColumn<Recorder.StreamerSnapshot, String> titleColumn = new TableColumn<>("방송제목");
         titleColumn.setCellValueFactory(new PropertyValueFactory<>("title"));
         titleColumn.setPrefWidth(300);
         
-        TableColumn<Recorder.StreamerInfo, String> statusColumn = new TableColumn<>("녹화상태");
+        TableColumn<Recorder.StreamerSnapshot, String> statusColumn = new TableColumn<>("녹화상태");
         statusColumn.setCellValueFactory(cellData -> {
             String status = cellData.getValue().getStatus();
             String displayStatus = Recorder.getStatusDisplayText(status);
             return new SimpleStringProperty(displayStatus);
         });
         statusColumn.setCellFactory(column -> {
-            return new TableCell<Recorder.StreamerInfo, String>() {
+            return new TableCell<Recorder.StreamerSnapshot, String>() {
                 @Override
                 protected void updateItem(String item, boolean empty) {
                     super.updateItem(item, empty);
@@ -377,21 +384,31 @@ public class App extends Application {
                             setStyle("-fx-text-fill: orange;");
                         } else if ("확인중".equals(item)) {
                             setStyle("-fx-text-fill: blue;");
+                        } else if ("대기중".equals(item)) {
+                            setStyle("-fx-text-fill: purple;");
+                        } else if ("중지중".equals(item)) {
+                            setStyle("-fx-text-fill: darkorange;");
                         } else {
                             setStyle("-fx-text-fill: gray;");
                         }
+                        
+                        // 아직 이번 실행에서 확인하지 않은 (저장해 둔) 상태는 흐리게 표시
+                        Recorder.StreamerSnapshot snapshot = getTableRow() != null ? getTableRow().getItem() : null;
+                        if (snapshot != null && snapshot.getCheckedAt() == 0) {
+                            setStyle(getStyle() + " -fx-opacity: 0.6;");
+                        }
                     }
                 }
             };
         });
         statusColumn.setPrefWidth(100);
         
-        TableColumn<Recorder.StreamerInfo, String> durationColumn = new TableColumn<>("녹화시간");
+        TableColumn<Recorder.StreamerSnapshot, String> durationColumn = new TableColumn<>("녹화시간");
         durationColumn.setCellValueFactory(new PropertyValueFactory<>("duration"));
         durationColumn.setPrefWidth(100);
         
         // 작업 버튼 컬럼
-        TableColumn<Recorder.StreamerInfo, Void> actionColumn = new TableColumn<>("작업");
+        TableColumn<Recorder.StreamerSnapshot, Void> actionColumn = new TableColumn<>("작업");
         actionColumn.setPrefWidth(150);
         
         actionColumn.setCellFactory(param -> new TableCell<>() {
@@ -401,17 +418,17 @@ public class App extends Application {
             
             {
                 startButton.setOnAction(event -> {
-                    Recorder.StreamerInfo info = getTableView().getItems().get(getIndex());
+                    Recorder.StreamerSnapshot info = getTableView().getItems().get(getIndex());
                     recorder.startRecording(info.getName());
                 });
                 
                 stopButton.setOnAction(event -> {
-                    Recorder.StreamerInfo info = getTableView().getItems().get(getIndex());
+                    Recorder.StreamerSnapshot info = getTableView().getItems().get(getIndex());
                     recorder.stopRecording(info.getName());
                 });
                 
                 removeButton.setOnAction(event -> {
-                    Recorder.StreamerInfo info = getTableView().getItems().get(getIndex());
+                    Recorder.StreamerSnapshot info = getTableView().getItems().get(getIndex());
                     removeStreamer(info.getName());
                 });
             }
@@ -426,14 +443,14 @@ public class App extends Application {
                     HBox buttons = new HBox(5, startButton, stopButton, removeButton);
                     setGraphic(buttons);
                     
-                    Recorder.StreamerInfo info = getTableView().getItems().get(getIndex());
+                    Recorder.StreamerSnapshot info = getTableView().getItems().get(getIndex());
                     
                     // 버튼 활성화/비활성화 설정
                     if (info.isRecording()) {
                         startButton.setDisable(true);
                         stopButton.setDisable(false);
                     } else {
-                        startButton.setDisable("offline".equals(info.getStatus()));
+                        startButton.setDisable(!"online".equals(info.getStatus())); // 중지 중에는 다시 시작 불가
                         stopButton.setDisable(true);
                     }
                 }
@@ -477,12 +494,12 @@ public class App extends Application {
     private void updateStatusBar() {
         if (statusLabel == null) return;
         
-        List<Recorder.StreamerInfo> streamers = recorder.getStreamers();
+        List<Recorder.StreamerSnapshot> streamers = recorder.getStreamers();
         int totalStreamers = streamers.size();
         int recordingStreamers = 0;
         int onlineStreamers = 0;
         
-        for (Recorder.StreamerInfo info : streamers) {
+        for (Recorder.StreamerSnapshot info : streamers) {
             if (info.isRecording()) {
                 recordingStreamers++;
             }
@@ -770,7 +787,7 @@ public class App extends Application {
         }
         
         // 목록 갱신
-        List<Recorder.StreamerInfo> newStreamers = recorder.getStreamers();
+        List<Recorder.StreamerSnapshot> newStreamers = recorder.getStreamers();
         
         Platform.runLater(() -> {
             streamerList.clear();
@@ -820,20 +837,27 @@ public class App extends Application {
     }
     
     /**
-     * 스트리머 테이블 상태 업데이트 메서드
+     * 스트리머 테이블을 최신 사본으로 교체하는 메서드 (선택 항목 유지)
      */
-    private void updateStreamerTableStatus(String name, String status) {
+    private void refreshStreamerTable() {
+        List<Recorder.StreamerSnapshot> snapshots = recorder.getStreamers();
+        
         Platform.runLater(() -> {
-            for (Recorder.StreamerInfo info : streamerList) {
-                if (info.getName().equals(name)) {
-                    info.setStatus(status);
-                    streamerTable.refresh();
-                    
-                    // 상태바도 함께 업데이트
-                    updateStatusBar();
-                    break;
+            Recorder.StreamerSnapshot selected = streamerTable.getSelectionModel().getSelectedItem();
+            streamerList.setAll(snapshots);
+            
+            // 선택된 항목 복원
+            if (selected != null) {
+                for (int i = 0; i < streamerList.size(); i++) {
+                    if (streamerList.get(i).getName().equals(selected.getName())) {
+                        streamerTable.getSelectionModel().select(i);
+                        break;
+                    }
                 }
             }
+            
+            // 상태바도 함께 업데이트
+            updateStatusBar();
         });
     }
     
@@ -841,20 +865,7 @@ public class App extends Application {
     public void stop() {
         System.out.println("애플리케이션 종료 중...");
         
-        // 먼저 설정을 저장
-        System.out.println("설정 저장 중...");
-        boolean saved = recorder.saveSettings();
-        if (saved) {
-            System.out.println("설정이 성공적으로 저장되었습니다.");
-        } else {
-            System.err.println("설정 저장 중 오류가 발생했습니다.");
-        }
-        
-        // 모든 녹화 중지
-        System.out.println("모든 녹화 중지 중...");
-        recorder.stopAllRecordings();
-        
-        // 레코더 및 웹서버 종료
+        // 레코더 종료 (모든 녹화를 동시에 중지하고 제한 시간 안에 기다린 뒤 설정과 후처리 작업 기록 저장)
         System.out.println("레코더 종료 중...");
         recorder.shutdown();
         
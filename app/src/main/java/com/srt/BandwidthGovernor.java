@@ -0,0 +1,252 @@
+package com.srt;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 전체 녹화 수신 대역폭 제한
+ * 진행 중인 녹화마다 채널을 하나씩 두고, 전체 제한 속도를 채널 가중치에 따라 나눠 채널별 토큰 버킷으로 지킵니다.
+ * 1초마다 실제 사용량을 보고 덜 쓰는 채널의 몫을 더 필요한 채널에 나눠 줍니다 (가중 최대-최소 공정 분배).
+ * 제한이 없으면(0) 대기 없이 사용량만 집계합니다.
+ */
+public class BandwidthGovernor {
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+    private static final double BURST_SECONDS = 1.0;           // 토큰 버킷 최대 크기 (몫의 1초분)
+    private static final double MIN_SHARE = 32 * 1024;          // 채널 최소 몫 (바이트/초)
+    private static final double SATURATED_RATIO = 0.9;          // 몫의 90% 이상을 쓰면 더 필요한 채널로 봄
+    private static final double HEADROOM_RATIO = 1.5;           // 덜 쓰는 채널에 남겨 둘 여유
+    private static final double HEADROOM_MIN = 64 * 1024;
+    private static final double THROUGHPUT_SMOOTHING = 0.5;
+
+    /**
+     * 녹화 1건의 대역폭 채널
+     */
+    public final class Channel implements AutoCloseable {
+        private final String name;
+        private volatile double weight;
+        private final AtomicLong totalBytes = new AtomicLong();
+        private final AtomicLong windowBytes = new AtomicLong();
+        private volatile double share;
+        private volatile double throughput;
+        private volatile boolean fresh = true; // 등록 후 아직 1초 주기 측정을 거치지 않음
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        private Channel(String name, double weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+
+        /**
+         * bytes만큼 받을 수 있을 때까지 기다립니다 (제한이 없으면 집계만).
+         * 토큰이 모자라면 빚으로 먼저 가져가고 빚을 갚는 시간만큼 잠듭니다.
+         */
+        public void acquire(int bytes) throws InterruptedException {
+            record(bytes);
+            if (limitBytesPerSecond <= 0) {
+                return;
+            }
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                double rate = Math.max(MIN_SHARE, share);
+                tokens = Math.min(rate * BURST_SECONDS, tokens + (now - lastRefill) / 1e9 * rate);
+                lastRefill = now;
+                tokens -= bytes;
+                waitNanos = tokens < 0 ? (long) (-tokens / rate * 1e9) : 0;
+            }
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+
+        /**
+         * 제한하지 않는 녹화(외부 프로그램이 직접 파일에 쓰는 경우)의 사용량 집계
+         */
+        public void record(long bytes) {
+            totalBytes.addAndGet(bytes);
+            windowBytes.addAndGet(bytes);
+        }
+
+        /**
+         * 입력 스트림을 끝까지 속도 제한하며 출력 스트림에 복사합니다.
+         *
+         * @return 복사한 바이트 수
+         */
+        public long copy(InputStream in, OutputStream out) throws IOException, InterruptedException {
+            byte[] buffer = new byte[COPY_BUFFER_BYTES];
+            long copied = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                acquire(read);
+                out.write(buffer, 0, read);
+                copied += read;
+            }
+            return copied;
+        }
+
+        public String getName() { return name; }
+        public double getWeight() { return weight; }
+        public void setWeight(double weight) { this.weight = normalizeWeight(weight); }
+        public long getTotalBytes() { return totalBytes.get(); }
+
+        /**
+         * 현재 배정된 몫 (바이트/초, 제한이 없으면 0)
+         */
+        public double getShare() { return limitBytesPerSecond > 0 ? share : 0; }
+
+        /**
+         * 최근 수신 속도 (바이트/초)
+         */
+        public double getThroughput() { return throughput; }
+
+        /**
+         * 녹화가 끝나 채널을 반납합니다.
+         */
+        @Override
+        public void close() {
+            if (channels.remove(this)) {
+                redistribute();
+            }
+        }
+    }
+
+    private final List<Channel> channels = new CopyOnWriteArrayList<>();
+    private volatile long limitBytesPerSecond;
+    private volatile double throughput;
+    private long lastRebalance = System.nanoTime();
+
+    /**
+     * @param limitBytesPerSecond 전체 제한 속도 (바이트/초, 0이면 제한 없음)
+     */
+    public BandwidthGovernor(long limitBytesPerSecond) {
+        this.limitBytesPerSecond = Math.max(0, limitBytesPerSecond);
+    }
+
+    /**
+     * 녹화 채널 등록
+     *
+     * @param weight 다른 녹화와 나눌 때의 가중치 (1.0 = 기본)
+     */
+    public Channel register(String name, double weight) {
+        Channel channel = new Channel(name, normalizeWeight(weight));
+        channels.add(channel);
+        redistribute();
+        return channel;
+    }
+
+    /**
+     * 채널별 사용량을 측정하고 몫을 다시 나눕니다 (1초마다 호출).
+     */
+    public synchronized void rebalance() {
+        long now = System.nanoTime();
+        double seconds = Math.max(0.001, (now - lastRebalance) / 1e9);
+        lastRebalance = now;
+
+        double total = 0;
+        for (Channel channel : channels) {
+            double observed = channel.windowBytes.getAndSet(0) / seconds;
+            channel.throughput += THROUGHPUT_SMOOTHING * (observed - channel.throughput);
+            total += observed;
+        }
+        throughput += THROUGHPUT_SMOOTHING * (total - throughput);
+        distribute(true);
+    }
+
+    /**
+     * 측정 없이 최근 사용량으로 몫만 다시 나눕니다 (채널 추가/반납, 제한 변경 시).
+     */
+    public synchronized void redistribute() {
+        distribute(false);
+    }
+
+    private void distribute(boolean measured) {
+        long limit = limitBytesPerSecond;
+        if (limit <= 0) {
+            return;
+        }
+
+        // 덜 쓰는 채널은 사용량에 여유를 더한 만큼만 주고, 남은 몫을 나머지 채널이 가중치대로 나눔
+        List<Channel> open = new ArrayList<>(channels);
+        List<Double> demands = new ArrayList<>();
+        for (Channel channel : open) {
+            boolean saturated = channel.fresh || channel.throughput >= channel.share * SATURATED_RATIO;
+            demands.add(saturated ? Double.MAX_VALUE
+                : Math.max(channel.throughput * HEADROOM_RATIO, channel.throughput + HEADROOM_MIN));
+            if (measured) {
+                channel.fresh = false;
+            }
+        }
+        double remaining = limit;
+        boolean capped = true;
+        while (capped && !open.isEmpty()) {
+            capped = false;
+            double weights = 0;
+            for (Channel channel : open) {
+                weights += channel.weight;
+            }
+            double spent = 0;
+            for (int i = open.size() - 1; i >= 0; i--) {
+                Channel channel = open.get(i);
+                double fair = remaining * channel.weight / weights;
+                if (demands.get(i) < fair) {
+                    channel.share = Math.max(MIN_SHARE, demands.get(i));
+                    spent += channel.share;
+                    open.remove(i);
+                    demands.remove(i);
+                    capped = true;
+                }
+            }
+            remaining = Math.max(0, remaining - spent);
+        }
+        double weights = 0;
+        for (Channel channel : open) {
+            weights += channel.weight;
+        }
+        for (Channel channel : open) {
+            channel.share = Math.max(MIN_SHARE, remaining * channel.weight / weights);
+        }
+    }
+
+    private static double normalizeWeight(double weight) {
+        return weight > 0 ? weight : 1.0;
+    }
+
+    public long getLimitBytesPerSecond() { return limitBytesPerSecond; }
+
+    /**
+     * 전체 제한 속도 설정 (바이트/초, 0이면 제한 없음)
+     */
+    public void setLimitBytesPerSecond(long limitBytesPerSecond) {
+        this.limitBytesPerSecond = Math.max(0, limitBytesPerSecond);
+        for (Channel channel : channels) {
+            channel.fresh = true;
+        }
+        redistribute();
+    }
+
+    /**
+     * 전체 수신 속도 (바이트/초)
+     */
+    public double getThroughput() { return throughput; }
+
+    public List<Channel> getChannels() {
+        return new ArrayList<>(channels);
+    }
+
+    /**
+     * 통계 요약 문자열
+     */
+    public String getStatsSummary() {
+        long limit = limitBytesPerSecond;
+        return String.format("수신 %s/s (제한 %s), 녹화 %d개",
+            StorageMonitor.formatBytes((long) throughput),
+            limit > 0 ? StorageMonitor.formatBytes(limit) + "/s" : "없음", channels.size());
+    }
+}
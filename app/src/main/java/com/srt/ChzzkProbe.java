@@ -0,0 +1,154 @@
+package com.srt;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * 치지직 상태 확인기
+ * 채널 live-detail API를 직접 호출해 방송 상태, 제목, 재생 주소(HLS)를 한 번의 요청으로 가져옵니다.
+ * 성인 방송 등 로그인이 필요한 경우를 위해 설정의 NID_SES/NID_AUT 쿠키를 공유 쿠키 저장소에 넣어 사용합니다.
+ */
+public class ChzzkProbe extends HttpPlatformProbe {
+    public static final String DEFAULT_API_BASE = "https://api.chzzk.naver.com";
+
+    // live-detail 응답 (사용하는 필드만 선언, 나머지는 무시)
+    record LiveDetail(Content content) {
+    }
+
+    record Content(String status, String liveTitle, String livePlaybackJson) {
+    }
+
+    // livePlaybackJson 문자열 안의 재생 정보
+    record Playback(List<Media> media) {
+    }
+
+    record Media(String mediaId, String path) {
+    }
+
+    private static final RecorderHints HINTS = new RecorderHints.Builder()
+        .header("User-Agent", ProbeHttpClient.DEFAULT_USER_AGENT)
+        .header("Referer", "https://chzzk.naver.com/")
+        .header("Origin", "https://chzzk.naver.com")
+        .preferYtDlp(true)        // FFmpeg 대신 yt-dlp 우선 사용
+        .lowLatencyInput(true)
+        .fixMetadata(true)        // 녹화 후 MP4 메타데이터 보정
+        .build();
+
+    private final String apiBase;
+
+    public ChzzkProbe(ProbeHttpClient httpClient, ProbeResponseCache responseCache) {
+        this(httpClient, responseCache, DEFAULT_API_BASE);
+    }
+
+    /**
+     * @param apiBase API 서버 주소 (테스트용 서버 지정 가능)
+     */
+    public ChzzkProbe(ProbeHttpClient httpClient, ProbeResponseCache responseCache, String apiBase) {
+        super(httpClient, responseCache);
+        this.apiBase = apiBase.endsWith("/") ? apiBase.substring(0, apiBase.length() - 1) : apiBase;
+    }
+
+    /**
+     * 네이버 로그인 쿠키 설정 (비어 있으면 삭제)
+     */
+    public void setSession(String nidSes, String nidAut) {
+        URI origin = URI.create(apiBase);
+        httpClient.setCookie(origin, "NID_SES", nidSes);
+        httpClient.setCookie(origin, "NID_AUT", nidAut);
+    }
+
+    @Override
+    public String getPlatformName() {
+        return "치지직";
+    }
+
+    @Override
+    public String[] getHostSuffixes() {
+        return new String[] { "chzzk.naver.com" };
+    }
+
+    /**
+     * API로 직접 확인하므로 streamlink 사용 가능 여부와 관계없이 사용합니다.
+     */
+    @Override
+    public boolean isNative() {
+        return true;
+    }
+
+    /**
+     * 치지직 URL에서 채널 ID 추출 (chzzk.naver.com/live/{id} 또는 chzzk.naver.com/{id})
+     */
+    @Override
+    public String parseChannelId(String url) {
+        String channelId = pathSegmentAfter(url, "chzzk.naver.com/live/");
+        return channelId != null ? channelId : pathSegmentAfter(url, "chzzk.naver.com/");
+    }
+
+    @Override
+    public Result probe(String channelId, String url) {
+        if (channelId == null || channelId.isEmpty()) {
+            System.err.println("치지직 채널 ID를 추출할 수 없습니다: " + url);
+            return Result.error();
+        }
+
+        String apiUrl = apiBase + "/service/v3/channels/" + channelId + "/live-detail";
+        try (ProbeHttpClient.Response response = httpClient.get(apiUrl, null)) {
+            if (response.getStatusCode() != 200) {
+                System.out.println("치지직 API 요청 실패: " + response.getStatusCode());
+                return Result.offline();
+            }
+
+            LiveDetail detail = JsonCodec.MAPPER.readValue(response.getBody(), LiveDetail.class);
+            Content content = detail != null ? detail.content() : null;
+            if (content == null || !"OPEN".equals(content.status())) {
+                System.out.println("치지직 채널 " + channelId + " 오프라인");
+                return Result.offline();
+            }
+
+            String title = content.liveTitle();
+            String playbackUrl = parsePlaybackUrl(content.livePlaybackJson());
+            System.out.println("치지직 채널 " + channelId + " 온라인, 제목: " + title);
+            return Result.online(title, playbackUrl);
+        } catch (Exception e) {
+            System.err.println("치지직 상태 확인 오류: " + e.getMessage());
+            return Result.error();
+        }
+    }
+
+    /**
+     * livePlaybackJson 문자열에서 HLS 재생 주소 추출 (HLS 우선, 없으면 첫 번째 주소)
+     */
+    static String parsePlaybackUrl(String playbackJson) {
+        if (playbackJson == null || playbackJson.isEmpty()) {
+            return null; // 로그인이 필요한 방송은 재생 정보가 비어 있음
+        }
+        try {
+            Playback playback = JsonCodec.MAPPER.readValue(playbackJson, Playback.class);
+            if (playback == null || playback.media() == null) {
+                return null;
+            }
+            String fallback = null;
+            for (Media media : playback.media()) {
+                String path = media != null ? media.path() : null;
+                if (path == null) {
+                    continue;
+                }
+                if ("HLS".equals(media.mediaId())) {
+                    return path;
+                }
+                if (fallback == null) {
+                    fallback = path;
+                }
+            }
+            return fallback;
+        } catch (Exception e) {
+            System.err.println("치지직 재생 정보 분석 오류: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public RecorderHints getRecorderHints() {
+        return HINTS;
+    }
+}
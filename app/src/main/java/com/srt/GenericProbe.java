@@ -0,0 +1,59 @@
+package com.srt;
+
+/**
+ * 일반 URL 상태 확인기 (등록된 플랫폼이 아닌 경우)
+ * 페이지가 정상적으로 열리면 온라인으로 간주합니다.
+ */
+public class GenericProbe extends HttpPlatformProbe {
+    private static final MarkerScanner PAGE_SCANNER;
+    private static final int HTML_TITLE;
+
+    static {
+        MarkerScanner.Builder generic = new MarkerScanner.Builder();
+        HTML_TITLE = generic.capture("<title>", MarkerScanner.CAPTURE_UNTIL_TAG);
+        PAGE_SCANNER = generic.build();
+    }
+
+    public GenericProbe(ProbeHttpClient httpClient, ProbeResponseCache responseCache) {
+        super(httpClient, responseCache);
+    }
+
+    @Override
+    public String getPlatformName() {
+        return "일반";
+    }
+
+    @Override
+    public String[] getHostSuffixes() {
+        return new String[0];
+    }
+
+    @Override
+    public String parseChannelId(String url) {
+        return url;
+    }
+
+    @Override
+    public Result probe(String channelId, String pageUrl) {
+        try (ProbeHttpClient.Response response = conditionalGet(pageUrl)) {
+            Result cached = notModified(pageUrl, response);
+            if (cached != null) {
+                return cached;
+            }
+            if (response.getStatusCode() != 200) {
+                return Result.offline();
+            }
+
+            // 페이지가 정상적으로 로드됨 - 온라인으로 가정
+            // 제목 가져오기 시도 (제목을 찾으면 바로 읽기 중단)
+            MarkerScanner.Scan scan = PAGE_SCANNER.scan(response.getBody(), 10000,
+                sc -> sc.captured(HTML_TITLE) != null);
+            String title = scan.captured(HTML_TITLE);
+            Result result = Result.online(title != null && !title.isEmpty() ? title : null);
+            return remember(pageUrl, response, result, scan.getBytesScanned());
+        } catch (Exception e) {
+            System.err.println("일반 URL 확인 오류: " + e.getMessage());
+            return Result.error();
+        }
+    }
+}
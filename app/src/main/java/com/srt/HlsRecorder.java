@@ -0,0 +1,497 @@
+package com.srt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 내장 HLS 녹화 클래스 (recorderProgram = "native")
+ * 외부 프로세스 없이 미디어 재생목록을 주기적으로 읽고, 새 세그먼트를 공유 HTTP 클라이언트로 병렬 다운로드해
+ * 순서대로 FileChannel에 이어 씁니다. EXT-X-MAP(fMP4)이 있으면 .mp4, 없으면 .ts 파일로 저장합니다.
+ */
+public class HlsRecorder {
+    private static final int LIVE_EDGE_SEGMENTS = 3;       // 처음 시작할 때 받을 최근 세그먼트 수
+    private static final int MAX_PLAYLIST_FAILURES = 5;    // 연속 재생목록 오류 허용 횟수
+    private static final int SEGMENT_ATTEMPTS = 3;         // 세그먼트 다운로드 시도 횟수
+    private static final long MIN_SEGMENT_TIMEOUT_MILLIS = 20000; // 세그먼트 1개를 받는 최대 시간 (재시도 포함, 최소값)
+
+    /**
+     * 미디어 재생목록의 세그먼트
+     */
+    static final class Segment {
+        final long sequence;
+        final String uri;
+        final String mapUri; // 이 세그먼트에 적용되는 EXT-X-MAP 초기화 세그먼트 (없으면 null)
+
+        Segment(long sequence, String uri, String mapUri) {
+            this.sequence = sequence;
+            this.uri = uri;
+            this.mapUri = mapUri;
+        }
+    }
+
+    /**
+     * 분석한 미디어 재생목록
+     */
+    static final class MediaPlaylist {
+        long targetDurationMillis = 6000;
+        String mapUri; // 마지막 EXT-X-MAP (있으면 fMP4)
+        String keyMethod;
+        boolean endList;
+        final List<Segment> segments = new ArrayList<>();
+    }
+
+    private final ProbeHttpClient httpClient;
+    private final String playlistUrl;
+    private final String quality;
+    private final Map<String, String> headers;
+    private final int maxParallelSegments;
+    private volatile BandwidthGovernor.Channel bandwidth; // 세그먼트 수신 속도 제한 (없으면 null)
+
+    private volatile File outputFile;
+    private String mediaPlaylistUrl;
+    private MediaPlaylist firstPlaylist;
+    private FileChannel channel;
+    private String writtenMapUri; // 마지막으로 출력 파일에 쓴 초기화 세그먼트
+
+    private final CountDownLatch stopSignal = new CountDownLatch(1);
+    private final CompletableFuture<Integer> exit = new CompletableFuture<>();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong segmentsWritten = new AtomicLong();
+    private final AtomicLong segmentsSkipped = new AtomicLong();
+
+    /**
+     * @param playlistUrl 마스터 또는 미디어 재생목록 주소
+     * @param quality 품질 (best, worst, 720p 등)
+     * @param headers 요청마다 보낼 HTTP 헤더 (플랫폼별 설정)
+     * @param outputFile 출력 파일 (확장자는 스트림 형식에 맞게 바뀔 수 있음)
+     */
+    public HlsRecorder(ProbeHttpClient httpClient, String playlistUrl, String quality, Map<String, String> headers,
+                       File outputFile, int maxParallelSegments) {
+        this.httpClient = httpClient;
+        this.playlistUrl = playlistUrl;
+        this.quality = quality != null ? quality : "best";
+        this.headers = headers;
+        this.outputFile = outputFile;
+        this.maxParallelSegments = Math.max(1, maxParallelSegments);
+    }
+
+    /**
+     * 재생목록을 확인하고 출력 파일을 연 뒤 백그라운드에서 녹화를 시작합니다.
+     *
+     * @return 실제 출력 파일
+     */
+    public File start() throws IOException {
+        mediaPlaylistUrl = selectVariant(playlistUrl);
+        firstPlaylist = fetchMediaPlaylist(mediaPlaylistUrl);
+        if (firstPlaylist.keyMethod != null && !"NONE".equals(firstPlaylist.keyMethod)) {
+            throw new IOException("암호화된 HLS 스트림은 지원하지 않습니다: " + firstPlaylist.keyMethod);
+        }
+
+        // fMP4가 아니면 MPEG-TS 그대로 저장
+        if (firstPlaylist.mapUri == null) {
+            outputFile = replaceExtension(outputFile, ".ts");
+        }
+        channel = FileChannel.open(outputFile.toPath(),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        Thread.ofVirtual().name("hls-recorder-" + outputFile.getName()).start(this::run);
+        return outputFile;
+    }
+
+    /**
+     * 녹화 중지 요청 (진행 중인 세그먼트를 쓴 뒤 종료)
+     */
+    public void stop() {
+        stopSignal.countDown();
+    }
+
+    /**
+     * 녹화가 끝나면 종료 코드(0: 정상, 1: 오류)로 완료되는 Future
+     */
+    public CompletableFuture<Integer> onExit() {
+        return exit;
+    }
+
+    /**
+     * 세그먼트 수신에 사용할 대역폭 채널 설정 (start 전에 호출)
+     */
+    public void setBandwidthChannel(BandwidthGovernor.Channel bandwidth) {
+        this.bandwidth = bandwidth;
+    }
+
+    public File getOutputFile() { return outputFile; }
+    public long getBytesWritten() { return bytesWritten.get(); }
+    public long getSegmentsWritten() { return segmentsWritten.get(); }
+    public long getSegmentsSkipped() { return segmentsSkipped.get(); }
+
+    private boolean isStopping() {
+        return stopSignal.getCount() == 0;
+    }
+
+    private void run() {
+        int exitCode = 0;
+        ExecutorService downloader = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            MediaPlaylist playlist = firstPlaylist;
+
+            // 라이브 시점부터 녹화 (마지막 몇 개 세그먼트만, 초기화 세그먼트는 첫 세그먼트 앞에 씀)
+            boolean hasBaseline = !playlist.segments.isEmpty();
+            long lastSequence = !hasBaseline ? -1
+                : playlist.segments.get(Math.max(0, playlist.segments.size() - LIVE_EDGE_SEGMENTS)).sequence - 1;
+            int failures = 0;
+            long lastNewSegmentAt = System.currentTimeMillis();
+
+            while (!isStopping()) {
+                List<Segment> fresh = new ArrayList<>();
+                for (Segment segment : playlist.segments) {
+                    if (segment.sequence > lastSequence) {
+                        fresh.add(segment);
+                    }
+                }
+                if (!fresh.isEmpty()) {
+                    // 재생목록 창이 다음 세그먼트보다 앞으로 지나간 경우 (재생목록을 늦게 받았거나 서버가 건너뜀)
+                    long missing = fresh.get(0).sequence - lastSequence - 1;
+                    if (hasBaseline && missing > 0) {
+                        segmentsSkipped.addAndGet(missing);
+                        System.err.println("HLS 세그먼트 " + missing + "개 누락 (" + (lastSequence + 1) + "~"
+                            + (fresh.get(0).sequence - 1) + "): " + outputFile.getName());
+                    }
+                    hasBaseline = true;
+                    writeInOrder(downloader, fresh, Math.max(MIN_SEGMENT_TIMEOUT_MILLIS, playlist.targetDurationMillis * 3));
+                    lastSequence = fresh.get(fresh.size() - 1).sequence;
+                    lastNewSegmentAt = System.currentTimeMillis();
+                }
+
+                if (playlist.endList) {
+                    System.out.println("HLS 방송 종료 (ENDLIST): " + outputFile.getName());
+                    break;
+                }
+                if (System.currentTimeMillis() - lastNewSegmentAt > Math.max(30000, playlist.targetDurationMillis * 6)) {
+                    System.out.println("HLS 새 세그먼트 없음, 녹화 종료: " + outputFile.getName());
+                    break;
+                }
+
+                // 새 세그먼트가 있었으면 목표 길이만큼, 없었으면 절반만큼 기다린 뒤 다시 확인
+                long wait = fresh.isEmpty() ? playlist.targetDurationMillis / 2 : playlist.targetDurationMillis;
+                if (stopSignal.await(Math.max(1000, wait), TimeUnit.MILLISECONDS)) {
+                    break;
+                }
+
+                try {
+                    playlist = fetchMediaPlaylist(mediaPlaylistUrl);
+                    failures = 0;
+                } catch (IOException e) {
+                    if (++failures >= MAX_PLAYLIST_FAILURES) {
+                        System.out.println("HLS 재생목록을 가져올 수 없어 녹화 종료: " + e.getMessage());
+                        break;
+                    }
+                    System.err.println("HLS 재생목록 오류 (" + failures + "/" + MAX_PLAYLIST_FAILURES + "): " + e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("HLS 녹화 오류: " + e.getMessage());
+            exitCode = bytesWritten.get() > 0 ? 0 : 1;
+        } finally {
+            downloader.shutdownNow();
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("HLS 출력 파일 닫기 오류: " + e.getMessage());
+            }
+            System.out.println("HLS 녹화 종료: " + outputFile.getName() + " (세그먼트 " + segmentsWritten.get()
+                + "개, 건너뜀 " + segmentsSkipped.get() + "개, " + bytesWritten.get() / 1024 + " KB)");
+            exit.complete(exitCode);
+        }
+    }
+
+    /**
+     * 세그먼트를 병렬로 받아 재생목록 순서대로 씁니다.
+     * 제한 시간 안에 받지 못한 세그먼트는 취소하고 건너뜁니다 (연결이 멈춰도 녹화가 멈추지 않음).
+     *
+     * @param timeoutMillis 묶음마다 모든 세그먼트를 받을 때까지 기다리는 최대 시간
+     */
+    private void writeInOrder(ExecutorService downloader, List<Segment> segments, long timeoutMillis)
+            throws IOException, InterruptedException {
+        for (int i = 0; i < segments.size(); i += maxParallelSegments) {
+            List<Segment> group = segments.subList(i, Math.min(i + maxParallelSegments, segments.size()));
+            List<Future<byte[]>> batch = new ArrayList<>();
+            for (Segment segment : group) {
+                String uri = resolve(mediaPlaylistUrl, segment.uri);
+                batch.add(downloader.submit(() -> downloadWithRetry(uri)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            for (int j = 0; j < batch.size(); j++) {
+                Future<byte[]> future = batch.get(j);
+                Segment segment = group.get(j);
+                byte[] data = null;
+                try {
+                    data = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    future.cancel(true);
+                    System.err.println("HLS 세그먼트 " + segment.sequence + " 다운로드 제한 시간 초과 (" + timeoutMillis + "ms), 건너뜀");
+                } catch (ExecutionException e) {
+                    // 아래에서 건너뜀으로 계산
+                }
+                if (data != null && writeInitSegment(segment)) {
+                    write(data);
+                    segmentsWritten.incrementAndGet();
+                } else {
+                    segmentsSkipped.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * 세그먼트에 적용되는 초기화 세그먼트(EXT-X-MAP)가 바뀌었으면 새 초기화 세그먼트를 먼저 씁니다.
+     *
+     * @return 세그먼트를 쓸 수 있으면 true (초기화 세그먼트를 받지 못하면 false)
+     */
+    private boolean writeInitSegment(Segment segment) throws IOException {
+        if (segment.mapUri == null || segment.mapUri.equals(writtenMapUri)) {
+            return true;
+        }
+        byte[] init = downloadWithRetry(resolve(mediaPlaylistUrl, segment.mapUri));
+        if (init == null) {
+            System.err.println("HLS 초기화 세그먼트를 받지 못해 세그먼트 " + segment.sequence + "을(를) 건너뜁니다: " + segment.mapUri);
+            return false;
+        }
+        if (writtenMapUri != null) {
+            System.out.println("HLS 초기화 세그먼트 변경: " + segment.mapUri);
+        }
+        write(init);
+        writtenMapUri = segment.mapUri;
+        return true;
+    }
+
+    private byte[] downloadWithRetry(String uri) {
+        for (int attempt = 1; attempt <= SEGMENT_ATTEMPTS; attempt++) {
+            try {
+                return download(uri);
+            } catch (IOException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return null; // 제한 시간 초과로 취소됨
+                }
+                System.err.println("HLS 세그먼트 다운로드 실패 (" + attempt + "/" + SEGMENT_ATTEMPTS + "): " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private void write(byte[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        bytesWritten.addAndGet(data.length);
+    }
+
+    private byte[] download(String uri) throws IOException {
+        try (ProbeHttpClient.Response response = httpClient.get(uri, headers)) {
+            if (response.getStatusCode() != 200) {
+                throw new IOException("HTTP " + response.getStatusCode() + ": " + uri);
+            }
+            BandwidthGovernor.Channel limiter = bandwidth;
+            if (limiter == null) {
+                return response.getBody().readAllBytes();
+            }
+            // 대역폭 몫을 지키며 나눠 읽기
+            InputStream body = response.getBody();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                limiter.acquire(read);
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("세그먼트 다운로드 중단: " + uri);
+        }
+    }
+
+    private String fetchText(String uri) throws IOException {
+        try (ProbeHttpClient.Response response = httpClient.get(uri, headers)) {
+            if (response.getStatusCode() != 200) {
+                throw new IOException("HTTP " + response.getStatusCode() + ": " + uri);
+            }
+            return response.readText();
+        }
+    }
+
+    /**
+     * 마스터 재생목록이면 품질에 맞는 미디어 재생목록 주소를 고릅니다.
+     */
+    private String selectVariant(String url) throws IOException {
+        String text = fetchText(url);
+        if (!text.startsWith("#EXTM3U")) {
+            throw new IOException("HLS 재생목록이 아닙니다: " + url);
+        }
+        if (!text.contains("#EXT-X-STREAM-INF")) {
+            return url; // 이미 미디어 재생목록
+        }
+
+        String chosen = null;
+        long chosenBandwidth = 0;
+        String[] lines = text.split("\\r?\\n");
+        for (int i = 0; i < lines.length; i++) {
+            if (!lines[i].startsWith("#EXT-X-STREAM-INF:")) {
+                continue;
+            }
+            String attributes = lines[i].substring("#EXT-X-STREAM-INF:".length());
+            String uri = nextUriLine(lines, i + 1);
+            if (uri == null) {
+                continue;
+            }
+            long bandwidth = parseLong(attribute(attributes, "BANDWIDTH"), 0);
+            if (matchesQuality(attributes)) {
+                return resolve(url, uri);
+            }
+            boolean better = chosen == null
+                || ("worst".equalsIgnoreCase(quality) ? bandwidth < chosenBandwidth : bandwidth > chosenBandwidth);
+            if (better) {
+                chosen = uri;
+                chosenBandwidth = bandwidth;
+            }
+        }
+        if (chosen == null) {
+            throw new IOException("HLS 마스터 재생목록에 스트림이 없습니다.");
+        }
+        return resolve(url, chosen);
+    }
+
+    /**
+     * 품질 이름(720p, 1080p60 등)이 해상도 또는 NAME과 일치하는지 확인
+     */
+    private boolean matchesQuality(String attributes) {
+        String q = quality.toLowerCase(Locale.ROOT);
+        if (q.equals("best") || q.equals("worst")) {
+            return false;
+        }
+        String name = attribute(attributes, "NAME");
+        if (name != null && name.toLowerCase(Locale.ROOT).equals(q)) {
+            return true;
+        }
+        String resolution = attribute(attributes, "RESOLUTION");
+        if (resolution != null && resolution.contains("x") && q.endsWith("p")) {
+            return resolution.substring(resolution.indexOf('x') + 1).equals(q.substring(0, q.length() - 1));
+        }
+        return false;
+    }
+
+    MediaPlaylist fetchMediaPlaylist(String url) throws IOException {
+        return parseMediaPlaylist(fetchText(url));
+    }
+
+    /**
+     * 미디어 재생목록 분석
+     */
+    static MediaPlaylist parseMediaPlaylist(String text) {
+        MediaPlaylist playlist = new MediaPlaylist();
+        long sequence = 0;
+        for (String raw : text.split("\\r?\\n")) {
+            String line = raw.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.startsWith("#EXT-X-TARGETDURATION:")) {
+                playlist.targetDurationMillis = (long) (Double.parseDouble(line.substring(22).trim()) * 1000);
+            } else if (line.startsWith("#EXT-X-MEDIA-SEQUENCE:")) {
+                sequence = parseLong(line.substring(22).trim(), 0);
+            } else if (line.startsWith("#EXT-X-MAP:")) {
+                playlist.mapUri = attribute(line.substring(11), "URI"); // 이후 세그먼트에 적용
+            } else if (line.startsWith("#EXT-X-KEY:")) {
+                playlist.keyMethod = attribute(line.substring(11), "METHOD");
+            } else if (line.startsWith("#EXT-X-ENDLIST")) {
+                playlist.endList = true;
+            } else if (!line.startsWith("#")) {
+                playlist.segments.add(new Segment(sequence++, line, playlist.mapUri));
+            }
+        }
+        return playlist;
+    }
+
+    private static String nextUriLine(String[] lines, int from) {
+        for (int i = from; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 태그 속성 목록에서 값 추출 (따옴표 제거)
+     */
+    static String attribute(String attributes, String name) {
+        int i = 0;
+        while (i < attributes.length()) {
+            int eq = attributes.indexOf('=', i);
+            if (eq < 0) {
+                return null;
+            }
+            String key = attributes.substring(i, eq).trim();
+            int end;
+            String value;
+            if (eq + 1 < attributes.length() && attributes.charAt(eq + 1) == '"') {
+                end = attributes.indexOf('"', eq + 2);
+                if (end < 0) {
+                    end = attributes.length();
+                }
+                value = attributes.substring(eq + 2, end);
+                end = attributes.indexOf(',', end);
+            } else {
+                end = attributes.indexOf(',', eq);
+                value = attributes.substring(eq + 1, end < 0 ? attributes.length() : end);
+            }
+            if (key.equals(name)) {
+                return value;
+            }
+            if (end < 0) {
+                return null;
+            }
+            i = end + 1;
+        }
+        return null;
+    }
+
+    private static long parseLong(String value, long defaultValue) {
+        try {
+            return value != null ? Long.parseLong(value.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static String resolve(String base, String uri) {
+        return URI.create(base).resolve(uri).toString();
+    }
+
+    static File replaceExtension(File file, String extension) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        return new File(file.getParentFile(), (dot > 0 ? name.substring(0, dot) : name) + extension);
+    }
+}
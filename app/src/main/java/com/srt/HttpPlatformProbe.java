@@ -0,0 +1,61 @@
+package com.srt;
+
+import java.io.IOException;
+
+/**
+ * HTTP 요청으로 상태를 확인하는 확인기의 공통 기능
+ * 공유 HTTP 클라이언트와 조건부 요청 응답 캐시를 사용합니다.
+ */
+public abstract class HttpPlatformProbe implements PlatformProbe {
+    protected final ProbeHttpClient httpClient;
+    protected final ProbeResponseCache responseCache;
+
+    protected HttpPlatformProbe(ProbeHttpClient httpClient, ProbeResponseCache responseCache) {
+        this.httpClient = httpClient;
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * 저장된 ETag/Last-Modified 값으로 조건부 GET 요청
+     */
+    protected ProbeHttpClient.Response conditionalGet(String url) throws IOException {
+        return httpClient.get(url, responseCache.conditionalHeaders(url));
+    }
+
+    /**
+     * 304 응답이면 이전 판정 결과를 반환합니다 (본문을 읽거나 분석하지 않음).
+     *
+     * @return 304 응답이 아니면 null
+     */
+    protected Result notModified(String url, ProbeHttpClient.Response response) {
+        if (response.getStatusCode() != 304) {
+            return null;
+        }
+        ProbeResponseCache.Entry cached = responseCache.onNotModified(url);
+        return cached != null ? Result.of(cached.getStatus(), cached.getTitle()) : Result.UNCHANGED;
+    }
+
+    /**
+     * 전체 응답으로 판정한 결과를 캐시에 저장합니다.
+     */
+    protected Result remember(String url, ProbeHttpClient.Response response, Result result, long bodyBytes) {
+        responseCache.store(url, response.getHeaders(), result.getStatus(), result.getTitle(), bodyBytes);
+        return result;
+    }
+
+    /**
+     * URL에서 주어진 표시 문자열 다음의 첫 경로 조각 추출 (/ 또는 ? 앞까지)
+     */
+    protected static String pathSegmentAfter(String url, String marker) {
+        int start = url.indexOf(marker);
+        if (start < 0) {
+            return null;
+        }
+        start += marker.length();
+        int end = start;
+        while (end < url.length() && url.charAt(end) != '/' && url.charAt(end) != '?' && url.charAt(end) != '#') {
+            end++;
+        }
+        return end > start ? url.substring(start, end) : null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.srt;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * 공용 JSON 처리기
+ * 설정을 마친 ObjectMapper 하나를 모든 곳에서 함께 사용합니다 (스레드 안전, 호출마다 새로 만들지 않음).
+ * 필요한 필드가 몇 개뿐인 응답은 JsonParser로 앞에서부터 읽으며 나머지는 객체를 만들지 않고 건너뜁니다.
+ */
+public final class JsonCodec {
+    /**
+     * 공용 매퍼 - 응답에 모르는 필드가 있어도 무시합니다.
+     */
+    public static final ObjectMapper MAPPER = JsonMapper.builder()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .build();
+
+    /**
+     * 사람이 읽는 파일(설정, 작업 기록)을 쓸 때 사용하는 들여쓰기 출력기
+     */
+    public static final ObjectWriter PRETTY_WRITER = MAPPER.writerWithDefaultPrettyPrinter();
+
+    private JsonCodec() {
+    }
+
+    /**
+     * 스트리밍 파서를 만드는 공용 팩토리
+     */
+    public static JsonFactory factory() {
+        return MAPPER.getFactory();
+    }
+
+    /**
+     * 현재 값이 문자열이면 그 값을, 아니면 값을 건너뛰고 null을 반환합니다.
+     */
+    public static String textOrNull(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * 현재 값이 비어 있지 않은 객체인지 확인하고 값 전체를 건너뜁니다.
+     */
+    public static boolean isNonEmptyObject(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return false;
+        }
+        if (parser.nextToken() == JsonToken.END_OBJECT) {
+            return false;
+        }
+        // 첫 필드의 값부터 객체 끝까지 건너뜀
+        do {
+            parser.nextToken();
+            parser.skipChildren();
+        } while (parser.nextToken() == JsonToken.FIELD_NAME);
+        return true;
+    }
+}
@@ -0,0 +1,321 @@
+package com.srt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 응답 본문 스트리밍 검색 클래스
+ * 여러 표시 문자열(예: "isLiveNow":true)을 Aho-Corasick 오토마톤으로 UTF-8 바이트 스트림에서 한 번에 찾습니다.
+ * 제목처럼 표시 문자열 뒤에 오는 값을 함께 추출할 수 있고, 판정에 필요한 정보가 모이면 바로 읽기를 멈출 수 있습니다.
+ * 오토마톤은 불변이라 여러 스레드에서 공유하고, 검색 상태는 Scan 객체마다 따로 가집니다.
+ */
+public final class MarkerScanner {
+    /** 추출 없음 */
+    public static final int CAPTURE_NONE = 0;
+    /** JSON 문자열 값 추출 (이스케이프되지 않은 " 까지) */
+    public static final int CAPTURE_JSON_STRING = 1;
+    /** HTML 태그 내용 추출 (다음 < 까지) */
+    public static final int CAPTURE_UNTIL_TAG = 2;
+
+    private static final int ALPHABET = 128; // 표시 문자열은 ASCII만 사용
+    private static final int MAX_PATTERNS = 32;
+
+    private final int[][] delta;
+    private final int[] output;
+    private final int[] captureModes;
+    private final int maxCaptureBytes;
+
+    /**
+     * 검색기 생성기
+     */
+    public static final class Builder {
+        private final List<String> patterns = new ArrayList<>();
+        private final List<Integer> modes = new ArrayList<>();
+        private int maxCaptureBytes = 1024;
+
+        /**
+         * 찾을 표시 문자열 추가
+         *
+         * @return 표시 문자열 번호
+         */
+        public int marker(String pattern) {
+            return add(pattern, CAPTURE_NONE);
+        }
+
+        /**
+         * 뒤따르는 값을 추출할 표시 문자열 추가
+         *
+         * @return 표시 문자열 번호
+         */
+        public int capture(String prefix, int mode) {
+            return add(prefix, mode);
+        }
+
+        public Builder maxCaptureBytes(int maxCaptureBytes) {
+            this.maxCaptureBytes = maxCaptureBytes;
+            return this;
+        }
+
+        private int add(String pattern, int mode) {
+            for (int i = 0; i < pattern.length(); i++) {
+                if (pattern.charAt(i) >= ALPHABET) {
+                    throw new IllegalArgumentException("ASCII 표시 문자열만 지원합니다: " + pattern);
+                }
+            }
+            if (pattern.isEmpty() || patterns.size() >= MAX_PATTERNS) {
+                throw new IllegalArgumentException("잘못된 표시 문자열: " + pattern);
+            }
+            patterns.add(pattern);
+            modes.add(mode);
+            return patterns.size() - 1;
+        }
+
+        public MarkerScanner build() {
+            return new MarkerScanner(patterns, modes, maxCaptureBytes);
+        }
+    }
+
+    private MarkerScanner(List<String> patterns, List<Integer> modes, int maxCaptureBytes) {
+        this.maxCaptureBytes = maxCaptureBytes;
+        this.captureModes = new int[patterns.size()];
+        for (int i = 0; i < captureModes.length; i++) {
+            captureModes[i] = modes.get(i);
+        }
+
+        // 트라이 구성
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        trie.add(newRow());
+        outputs.add(0);
+        for (int id = 0; id < patterns.size(); id++) {
+            int state = 0;
+            for (char c : patterns.get(id).toCharArray()) {
+                if (trie.get(state)[c] < 0) {
+                    trie.get(state)[c] = trie.size();
+                    trie.add(newRow());
+                    outputs.add(0);
+                }
+                state = trie.get(state)[c];
+            }
+            outputs.set(state, outputs.get(state) | (1 << id));
+        }
+
+        // 실패 링크를 따라 전이 테이블 완성 (BFS)
+        int states = trie.size();
+        delta = new int[states][];
+        output = new int[states];
+        int[] fail = new int[states];
+        for (int s = 0; s < states; s++) {
+            delta[s] = trie.get(s);
+            output[s] = outputs.get(s);
+        }
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            int next = delta[0][c];
+            if (next < 0) {
+                delta[0][c] = 0;
+            } else {
+                fail[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            output[s] |= output[fail[s]];
+            for (int c = 0; c < ALPHABET; c++) {
+                int next = delta[s][c];
+                if (next < 0) {
+                    delta[s][c] = delta[fail[s]][c];
+                } else {
+                    fail[next] = delta[fail[s]][c];
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    private static int[] newRow() {
+        int[] row = new int[ALPHABET];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    /**
+     * 새 검색 상태 생성
+     */
+    public Scan newScan() {
+        return new Scan();
+    }
+
+    /**
+     * 입력 스트림을 읽으며 검색합니다. done 조건을 만족하거나 maxBytes를 읽으면 멈춥니다.
+     * 스트림은 닫지 않으므로 호출한 쪽에서 닫아야 합니다.
+     */
+    public Scan scan(InputStream in, int maxBytes, Predicate<Scan> done) throws IOException {
+        Scan scan = new Scan();
+        byte[] buffer = new byte[8192];
+        while (scan.bytesScanned < maxBytes) {
+            int n = in.read(buffer, 0, (int) Math.min(buffer.length, maxBytes - scan.bytesScanned));
+            if (n < 0) {
+                break;
+            }
+            scan.feed(buffer, 0, n);
+            if (done != null && done.test(scan)) {
+                scan.stoppedEarly = true;
+                break;
+            }
+        }
+        return scan;
+    }
+
+    /**
+     * 검색 진행 상태
+     */
+    public final class Scan {
+        private int state;
+        private int foundMask;
+        private final String[] captures = new String[captureModes.length];
+        private long bytesScanned;
+        private boolean stoppedEarly;
+
+        private int capturingId = -1;
+        private final ByteArrayOutputStream captureBuffer = new ByteArrayOutputStream();
+        private boolean escaped;
+
+        /**
+         * 바이트 조각을 검색합니다.
+         */
+        public void feed(byte[] bytes, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                int b = bytes[i] & 0xff;
+
+                if (capturingId >= 0) {
+                    captureByte(b);
+                }
+
+                state = b < ALPHABET ? delta[state][b] : 0;
+                int matched = output[state];
+                if (matched != 0) {
+                    foundMask |= matched;
+                    if (capturingId < 0) {
+                        startCapture(matched);
+                    }
+                }
+            }
+            bytesScanned += len;
+        }
+
+        private void startCapture(int matched) {
+            for (int id = 0; id < captureModes.length; id++) {
+                if ((matched & (1 << id)) != 0 && captureModes[id] != CAPTURE_NONE && captures[id] == null) {
+                    capturingId = id;
+                    captureBuffer.reset();
+                    escaped = false;
+                    return;
+                }
+            }
+        }
+
+        private void captureByte(int b) {
+            int mode = captureModes[capturingId];
+            boolean end;
+            if (mode == CAPTURE_JSON_STRING) {
+                if (escaped) {
+                    escaped = false;
+                    end = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                    end = false;
+                } else {
+                    end = b == '"';
+                }
+            } else {
+                end = b == '<';
+            }
+
+            if (end || captureBuffer.size() >= maxCaptureBytes) {
+                String raw = captureBuffer.toString(StandardCharsets.UTF_8);
+                captures[capturingId] = mode == CAPTURE_JSON_STRING ? unescapeJson(raw) : raw;
+                capturingId = -1;
+            } else {
+                captureBuffer.write(b);
+            }
+        }
+
+        /**
+         * 표시 문자열을 찾았는지 여부
+         */
+        public boolean found(int id) {
+            return (foundMask & (1 << id)) != 0;
+        }
+
+        /**
+         * 추출한 값 (아직 없으면 null)
+         */
+        public String captured(int id) {
+            return captures[id];
+        }
+
+        /**
+         * 지금까지 검색한 바이트 수
+         */
+        public long getBytesScanned() {
+            return bytesScanned;
+        }
+
+        /**
+         * 조건을 만족해 끝까지 읽지 않고 멈췄는지 여부
+         */
+        public boolean isStoppedEarly() {
+            return stoppedEarly;
+        }
+    }
+
+    /**
+     * JSON 문자열 이스케이프 해제
+     */
+    static String unescapeJson(String raw) {
+        if (raw.indexOf('\\') < 0) {
+            return raw;
+        }
+        StringBuilder sb = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c != '\\' || i + 1 >= raw.length()) {
+                sb.append(c);
+                continue;
+            }
+            char next = raw.charAt(++i);
+            switch (next) {
+                case 'n': sb.append('\n'); break;
+                case 't': sb.append('\t'); break;
+                case 'r': sb.append('\r'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'u':
+                    if (i + 4 < raw.length()) {
+                        try {
+                            sb.append((char) Integer.parseInt(raw.substring(i + 1, i + 5), 16));
+                            i += 4;
+                            break;
+                        } catch (NumberFormatException e) {
+                            // 잘못된 이스케이프는 그대로 둡니다
+                        }
+                    }
+                    sb.append('\\').append(next);
+                    break;
+                default:
+                    sb.append(next); // \" \\ \/
+            }
+        }
+        return sb.toString();
+    }
+}
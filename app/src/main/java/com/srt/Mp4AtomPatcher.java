@@ -0,0 +1,488 @@
+package com.srt;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MP4 재생 시간 메타데이터 보정 클래스
+ * 파일 전체를 다시 쓰지 않고, 샘플 정보(stts, 조각 MP4의 trun)로 실제 길이를 계산해
+ * mvhd/tkhd/mdhd/mehd 박스의 duration(과 0으로 기록된 timescale) 필드만 그 자리에서 수정합니다.
+ * 박스 구조가 깨졌거나 제자리 수정이 불가능하면 NEEDS_REMUX를 반환합니다 (ffmpeg 재묶기 필요).
+ */
+public final class Mp4AtomPatcher {
+    /**
+     * 보정 결과 상태
+     */
+    public enum Status {
+        PATCHED,     // 필드를 수정함
+        UNCHANGED,   // 이미 올바른 값
+        NEEDS_REMUX  // 구조가 깨졌거나 제자리 수정 불가
+    }
+
+    /**
+     * 보정 결과
+     */
+    public static final class Result {
+        private final Status status;
+        private final String message;
+        private final long durationMillis;
+
+        Result(Status status, String message, long durationMillis) {
+            this.status = status;
+            this.message = message;
+            this.durationMillis = durationMillis;
+        }
+
+        public Status getStatus() { return status; }
+        public String getMessage() { return message; }
+
+        /**
+         * 계산한 전체 재생 시간 (밀리초, 알 수 없으면 -1)
+         */
+        public long getDurationMillis() { return durationMillis; }
+
+        @Override
+        public String toString() {
+            return status + " (" + message + ")";
+        }
+    }
+
+    private static final int HEADER_SIZE = 8;
+    private static final long MAX_MOOV_BYTES = 256L * 1024 * 1024; // 메모리에 읽을 moov 최대 크기
+    private static final long MAX_MOOF_BYTES = 16L * 1024 * 1024;
+    private static final long DEFAULT_MOVIE_TIMESCALE = 1000;
+    private static final long UINT32_MAX = 0xFFFFFFFFL;
+
+    // 최상위에 올 수 있는 박스 (처음 만난 박스가 이 중 하나가 아니면 MP4가 아닌 것으로 봄)
+    private static final Set<String> TOP_LEVEL_TYPES = Set.of(
+        "ftyp", "styp", "moov", "moof", "mdat", "free", "skip", "wide", "uuid", "sidx", "mfra", "meta", "pdin", "prft", "emsg");
+
+    /**
+     * 트랙별 필드 위치와 계산 값
+     */
+    private static final class Track {
+        int id;
+        long tkhdDurationPos = -1;
+        boolean tkhdVersion1;
+        long tkhdDuration;
+        long mdhdDurationPos = -1;
+        boolean mdhdVersion1;
+        long mdhdTimescale;
+        long mdhdDuration;
+        long sampleDuration;   // stts 합계
+        long fragmentDuration; // moof/trun 합계
+    }
+
+    private final FileChannel channel;
+    private final Map<Integer, Track> tracks = new LinkedHashMap<>();
+    private final Map<Integer, Long> trexDefaultDurations = new HashMap<>();
+    private long mvhdTimescalePos = -1;
+    private long mvhdDurationPos = -1;
+    private boolean mvhdVersion1;
+    private long mvhdTimescale;
+    private long mvhdDuration;
+    private long mehdDurationPos = -1;
+    private boolean mehdVersion1;
+    private long mehdDuration;
+
+    private Mp4AtomPatcher(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * 파일의 재생 시간 필드를 제자리에서 보정합니다.
+     */
+    public static Result patch(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new Mp4AtomPatcher(channel).run();
+        }
+    }
+
+    private Result run() throws IOException {
+        long fileSize = channel.size();
+        long moovOffset = -1;
+        long moovSize = 0;
+        List<long[]> moofs = new ArrayList<>();
+
+        // 최상위 박스 목록 확인
+        long pos = 0;
+        boolean first = true;
+        while (pos + HEADER_SIZE <= fileSize) {
+            ByteBuffer header = read(pos, 16 <= fileSize - pos ? 16 : HEADER_SIZE);
+            long size = header.getInt() & UINT32_MAX;
+            String type = fourCC(header);
+            int headerSize = HEADER_SIZE;
+            if (size == 1) {
+                if (header.remaining() < 8) {
+                    return broken("박스 크기 정보가 잘림: " + type);
+                }
+                size = header.getLong();
+                headerSize = 16;
+            } else if (size == 0) {
+                size = fileSize - pos; // 파일 끝까지
+            }
+
+            if (first && !TOP_LEVEL_TYPES.contains(type)) {
+                return broken("MP4 박스 구조가 아님");
+            }
+            first = false;
+
+            if (size < headerSize) {
+                return broken("잘못된 박스 크기: " + type);
+            }
+            if (pos + size > fileSize) {
+                // 녹화 중단으로 마지막 mdat/moof가 잘린 경우는 그 앞까지만 사용
+                if ("mdat".equals(type) || "moof".equals(type) || "free".equals(type)) {
+                    break;
+                }
+                return broken("박스가 파일 끝을 넘음: " + type);
+            }
+
+            if ("moov".equals(type)) {
+                moovOffset = pos + headerSize;
+                moovSize = size - headerSize;
+            } else if ("moof".equals(type)) {
+                moofs.add(new long[] { pos + headerSize, size - headerSize });
+            }
+            pos += size;
+        }
+
+        if (moovOffset < 0) {
+            return broken("moov 박스 없음");
+        }
+        if (moovSize > MAX_MOOV_BYTES) {
+            return broken("moov 박스가 너무 큼");
+        }
+
+        // moov 분석
+        ByteBuffer moov = read(moovOffset, (int) moovSize);
+        parseContainer(moov, moovOffset, null);
+        if (mvhdDurationPos < 0) {
+            return broken("mvhd 박스 없음");
+        }
+        if (tracks.isEmpty()) {
+            return broken("트랙 정보 없음");
+        }
+
+        // 조각 MP4이면 moof의 샘플 길이 합산
+        for (long[] moof : moofs) {
+            if (moof[1] > MAX_MOOF_BYTES) {
+                return broken("moof 박스가 너무 큼");
+            }
+            parseContainer(read(moof[0], (int) moof[1]), moof[0], null);
+        }
+
+        return apply();
+    }
+
+    /**
+     * 계산한 값과 현재 값을 비교해 다른 필드만 기록합니다.
+     */
+    private Result apply() throws IOException {
+        long movieTimescale = mvhdTimescale > 0 ? mvhdTimescale : DEFAULT_MOVIE_TIMESCALE;
+        long movieDuration = 0;
+        List<long[]> writes = new ArrayList<>(); // {위치, 값, 64비트 여부}
+
+        for (Track track : tracks.values()) {
+            if (track.mdhdDurationPos < 0 || track.mdhdTimescale <= 0) {
+                return broken("트랙 " + track.id + "의 mdhd 정보가 올바르지 않음");
+            }
+            long mediaDuration = track.sampleDuration + track.fragmentDuration;
+            if (mediaDuration <= 0) {
+                continue; // 샘플이 없는 트랙
+            }
+            long trackDuration = scale(mediaDuration, track.mdhdTimescale, movieTimescale);
+            movieDuration = Math.max(movieDuration, trackDuration);
+
+            if (track.mdhdDuration != mediaDuration) {
+                writes.add(new long[] { track.mdhdDurationPos, mediaDuration, track.mdhdVersion1 ? 1 : 0 });
+            }
+            if (track.tkhdDurationPos >= 0 && track.tkhdDuration != trackDuration) {
+                writes.add(new long[] { track.tkhdDurationPos, trackDuration, track.tkhdVersion1 ? 1 : 0 });
+            }
+        }
+
+        if (movieDuration <= 0) {
+            return broken("샘플 정보가 없어 길이를 계산할 수 없음");
+        }
+        if (mvhdTimescale != movieTimescale) {
+            writes.add(new long[] { mvhdTimescalePos, movieTimescale, 0 });
+        }
+        if (mvhdDuration != movieDuration) {
+            writes.add(new long[] { mvhdDurationPos, movieDuration, mvhdVersion1 ? 1 : 0 });
+        }
+        if (mehdDurationPos >= 0 && mehdDuration != movieDuration) {
+            writes.add(new long[] { mehdDurationPos, movieDuration, mehdVersion1 ? 1 : 0 });
+        }
+
+        long durationMillis = scale(movieDuration, movieTimescale, 1000);
+        if (writes.isEmpty()) {
+            return new Result(Status.UNCHANGED, "이미 올바른 길이", durationMillis);
+        }
+
+        // 32비트 필드에 담을 수 없는 값이 있으면 기록 전에 중단
+        for (long[] write : writes) {
+            if (write[2] == 0 && write[1] > UINT32_MAX) {
+                return new Result(Status.NEEDS_REMUX, "32비트 duration 필드 범위 초과", durationMillis);
+            }
+        }
+        for (long[] write : writes) {
+            ByteBuffer value = ByteBuffer.allocate(write[2] == 1 ? 8 : 4);
+            if (write[2] == 1) {
+                value.putLong(write[1]);
+            } else {
+                value.putInt((int) write[1]);
+            }
+            value.flip();
+            while (value.hasRemaining()) {
+                channel.write(value, write[0] + value.position());
+            }
+        }
+        channel.force(false);
+        return new Result(Status.PATCHED, writes.size() + "개 필드 수정", durationMillis);
+    }
+
+    /**
+     * 컨테이너 박스의 자식 박스들을 분석합니다.
+     *
+     * @param base buf 시작 위치의 파일 내 오프셋
+     */
+    private void parseContainer(ByteBuffer buf, long base, Track track) {
+        while (buf.remaining() >= HEADER_SIZE) {
+            int start = buf.position();
+            long size = buf.getInt() & UINT32_MAX;
+            String type = fourCC(buf);
+            int headerSize = HEADER_SIZE;
+            if (size == 1) {
+                if (buf.remaining() < 8) {
+                    return;
+                }
+                size = buf.getLong();
+                headerSize = 16;
+            } else if (size == 0) {
+                size = buf.limit() - start;
+            }
+            if (size < headerSize || start + size > buf.limit()) {
+                return; // 잘린 하위 박스는 무시
+            }
+
+            ByteBuffer body = buf.duplicate();
+            body.position(start + headerSize).limit((int) (start + size));
+            long bodyOffset = base + start + headerSize;
+            ByteBuffer child = body.slice();
+
+            switch (type) {
+                case "trak": {
+                    Track newTrack = new Track();
+                    parseContainer(child, bodyOffset, newTrack);
+                    if (newTrack.id != 0) {
+                        tracks.put(newTrack.id, newTrack);
+                    }
+                    break;
+                }
+                case "mdia":
+                case "minf":
+                case "stbl":
+                case "mvex":
+                    parseContainer(child, bodyOffset, track);
+                    break;
+                case "mvhd":
+                    parseMvhd(child, bodyOffset);
+                    break;
+                case "tkhd":
+                    if (track != null) {
+                        parseTkhd(child, bodyOffset, track);
+                    }
+                    break;
+                case "mdhd":
+                    if (track != null) {
+                        parseMdhd(child, bodyOffset, track);
+                    }
+                    break;
+                case "stts":
+                    if (track != null) {
+                        track.sampleDuration = parseStts(child);
+                    }
+                    break;
+                case "mehd":
+                    parseMehd(child, bodyOffset);
+                    break;
+                case "trex":
+                    parseTrex(child);
+                    break;
+                case "traf":
+                    parseTraf(child);
+                    break;
+                default:
+                    break;
+            }
+            buf.position((int) (start + size));
+        }
+    }
+
+    private void parseMvhd(ByteBuffer box, long offset) {
+        if (box.remaining() < 20) {
+            return;
+        }
+        mvhdVersion1 = box.get(0) == 1;
+        int timescalePos = mvhdVersion1 ? 4 + 16 : 4 + 8;
+        if (box.remaining() < timescalePos + 4 + (mvhdVersion1 ? 8 : 4)) {
+            return;
+        }
+        mvhdTimescalePos = offset + timescalePos;
+        mvhdTimescale = box.getInt(timescalePos) & UINT32_MAX;
+        mvhdDurationPos = offset + timescalePos + 4;
+        mvhdDuration = mvhdVersion1 ? box.getLong(timescalePos + 4) : box.getInt(timescalePos + 4) & UINT32_MAX;
+    }
+
+    private static void parseTkhd(ByteBuffer box, long offset, Track track) {
+        boolean version1 = box.remaining() > 0 && box.get(0) == 1;
+        int idPos = version1 ? 4 + 16 : 4 + 8;
+        int durationPos = idPos + 8; // track_ID + reserved
+        if (box.remaining() < durationPos + (version1 ? 8 : 4)) {
+            return;
+        }
+        track.id = box.getInt(idPos);
+        track.tkhdVersion1 = version1;
+        track.tkhdDurationPos = offset + durationPos;
+        track.tkhdDuration = version1 ? box.getLong(durationPos) : box.getInt(durationPos) & UINT32_MAX;
+    }
+
+    private static void parseMdhd(ByteBuffer box, long offset, Track track) {
+        boolean version1 = box.remaining() > 0 && box.get(0) == 1;
+        int timescalePos = version1 ? 4 + 16 : 4 + 8;
+        if (box.remaining() < timescalePos + 4 + (version1 ? 8 : 4)) {
+            return;
+        }
+        track.mdhdVersion1 = version1;
+        track.mdhdTimescale = box.getInt(timescalePos) & UINT32_MAX;
+        track.mdhdDurationPos = offset + timescalePos + 4;
+        track.mdhdDuration = version1 ? box.getLong(timescalePos + 4) : box.getInt(timescalePos + 4) & UINT32_MAX;
+    }
+
+    private static long parseStts(ByteBuffer box) {
+        if (box.remaining() < 8) {
+            return 0;
+        }
+        long entries = box.getInt(4) & UINT32_MAX;
+        long total = 0;
+        int pos = 8;
+        for (long i = 0; i < entries && pos + 8 <= box.limit(); i++, pos += 8) {
+            total += (box.getInt(pos) & UINT32_MAX) * (box.getInt(pos + 4) & UINT32_MAX);
+        }
+        return total;
+    }
+
+    private void parseMehd(ByteBuffer box, long offset) {
+        boolean version1 = box.remaining() > 0 && box.get(0) == 1;
+        if (box.remaining() < 4 + (version1 ? 8 : 4)) {
+            return;
+        }
+        mehdVersion1 = version1;
+        mehdDurationPos = offset + 4;
+        mehdDuration = version1 ? box.getLong(4) : box.getInt(4) & UINT32_MAX;
+    }
+
+    private void parseTrex(ByteBuffer box) {
+        if (box.remaining() < 16) {
+            return;
+        }
+        trexDefaultDurations.put(box.getInt(4), box.getInt(12) & UINT32_MAX);
+    }
+
+    /**
+     * 조각 MP4의 traf 박스 (tfhd + trun)에서 샘플 길이를 합산합니다.
+     */
+    private void parseTraf(ByteBuffer traf) {
+        Track track = null;
+        long defaultDuration = 0;
+        while (traf.remaining() >= HEADER_SIZE) {
+            int start = traf.position();
+            long size = traf.getInt() & UINT32_MAX;
+            String type = fourCC(traf);
+            if (size < HEADER_SIZE || start + size > traf.limit()) {
+                return;
+            }
+            ByteBuffer box = traf.duplicate();
+            box.position(start + HEADER_SIZE).limit((int) (start + size));
+            box = box.slice();
+
+            if ("tfhd".equals(type) && box.remaining() >= 8) {
+                int flags = box.getInt(0) & 0xFFFFFF;
+                int trackId = box.getInt(4);
+                track = tracks.get(trackId);
+                defaultDuration = trexDefaultDurations.getOrDefault(trackId, 0L);
+                int pos = 8;
+                if ((flags & 0x01) != 0) {
+                    pos += 8; // base_data_offset
+                }
+                if ((flags & 0x02) != 0) {
+                    pos += 4; // sample_description_index
+                }
+                if ((flags & 0x08) != 0 && pos + 4 <= box.limit()) {
+                    defaultDuration = box.getInt(pos) & UINT32_MAX;
+                }
+            } else if ("trun".equals(type) && track != null && box.remaining() >= 8) {
+                track.fragmentDuration += trunDuration(box, defaultDuration);
+            }
+            traf.position((int) (start + size));
+        }
+    }
+
+    private static long trunDuration(ByteBuffer box, long defaultDuration) {
+        int flags = box.getInt(0) & 0xFFFFFF;
+        long sampleCount = box.getInt(4) & UINT32_MAX;
+        if ((flags & 0x100) == 0) {
+            return sampleCount * defaultDuration;
+        }
+
+        int pos = 8;
+        if ((flags & 0x01) != 0) {
+            pos += 4; // data_offset
+        }
+        if ((flags & 0x04) != 0) {
+            pos += 4; // first_sample_flags
+        }
+        int sampleSize = 4 * Integer.bitCount(flags & 0xF00);
+        long total = 0;
+        for (long i = 0; i < sampleCount && pos + 4 <= box.limit(); i++, pos += sampleSize) {
+            total += box.getInt(pos) & UINT32_MAX;
+        }
+        return total;
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(length);
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, position + buf.position()) < 0) {
+                break;
+            }
+        }
+        buf.flip();
+        return buf;
+    }
+
+    private static String fourCC(ByteBuffer buf) {
+        byte[] type = new byte[4];
+        buf.get(type);
+        return new String(type, StandardCharsets.ISO_8859_1);
+    }
+
+    private static long scale(long value, long fromTimescale, long toTimescale) {
+        return fromTimescale == toTimescale ? value : Math.round((double) value * toTimescale / fromTimescale);
+    }
+
+    private static Result broken(String message) {
+        return new Result(Status.NEEDS_REMUX, message, -1);
+    }
+}
@@ -0,0 +1,108 @@
+package com.srt;
+
+/**
+ * 플랫폼별 상태 확인 인터페이스
+ * URL 해석, 방송 여부 및 제목 확인, 녹화 프로그램에 전달할 설정(헤더 등)을 한곳에서 제공합니다.
+ * 구현체는 PlatformProbeRegistry에 호스트 이름으로 등록하며, 스트리머마다 한 번만 찾아 채널 ID와 함께 저장해 둡니다.
+ */
+public interface PlatformProbe {
+
+    /**
+     * 상태 확인 결과
+     */
+    final class Result {
+        /** 이전 결과를 그대로 유지 (304 응답 등) */
+        public static final Result UNCHANGED = new Result(null, null, null);
+
+        private final String status;
+        private final String title;
+        private final String playbackUrl;
+
+        private Result(String status, String title, String playbackUrl) {
+            this.status = status;
+            this.title = title;
+            this.playbackUrl = playbackUrl;
+        }
+
+        public static Result online(String title) {
+            return new Result("online", title, null);
+        }
+
+        /**
+         * 재생 주소(HLS 등)를 함께 알아낸 경우
+         */
+        public static Result online(String title, String playbackUrl) {
+            return new Result("online", title, playbackUrl);
+        }
+
+        public static Result offline() {
+            return new Result("offline", null, null);
+        }
+
+        public static Result error() {
+            return new Result("error", null, null);
+        }
+
+        /**
+         * 저장된 상태와 제목으로 결과 생성
+         */
+        public static Result of(String status, String title) {
+            return new Result(status, title, null);
+        }
+
+        /**
+         * 상태 (UNCHANGED인 경우 null)
+         */
+        public String getStatus() { return status; }
+
+        /**
+         * 방송 제목 (알 수 없으면 null)
+         */
+        public String getTitle() { return title; }
+
+        /**
+         * 재생 주소 (알 수 없으면 null)
+         */
+        public String getPlaybackUrl() { return playbackUrl; }
+    }
+
+    /**
+     * 플랫폼 이름 (로그 표시용)
+     */
+    String getPlatformName();
+
+    /**
+     * 이 확인기가 처리하는 호스트 이름 (하위 도메인 포함)
+     */
+    String[] getHostSuffixes();
+
+    /**
+     * URL에서 채널(또는 비디오) ID 추출
+     *
+     * @return 채널 ID (추출할 수 없으면 null)
+     */
+    String parseChannelId(String url);
+
+    /**
+     * 방송 여부와 제목 확인
+     *
+     * @param channelId parseChannelId로 추출한 ID (null일 수 있음)
+     * @param url 스트리머 URL
+     */
+    Result probe(String channelId, String url);
+
+    /**
+     * 플랫폼 API로 직접 확인하는 확인기인지 여부
+     * true이면 streamlink가 설치되어 있어도 이 확인기를 사용합니다.
+     */
+    default boolean isNative() {
+        return false;
+    }
+
+    /**
+     * 녹화 프로그램에 전달할 설정
+     */
+    default RecorderHints getRecorderHints() {
+        return RecorderHints.NONE;
+    }
+}
@@ -0,0 +1,76 @@
+package com.srt;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 호스트 이름별 상태 확인기 레지스트리
+ * URL의 호스트에서 가장 긴 일치 항목을 찾아 확인기를 반환합니다 (예: www.twitch.tv → twitch.tv).
+ * 일치하는 확인기가 없으면 기본 확인기를 사용합니다.
+ */
+public class PlatformProbeRegistry {
+    private final Map<String, PlatformProbe> byHost = new ConcurrentHashMap<>();
+    private final List<PlatformProbe> probes = new CopyOnWriteArrayList<>();
+    private final PlatformProbe fallback;
+
+    public PlatformProbeRegistry(PlatformProbe fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * 확인기 등록 (같은 호스트가 이미 있으면 새 확인기로 교체)
+     */
+    public void register(PlatformProbe probe) {
+        for (String suffix : probe.getHostSuffixes()) {
+            byHost.put(suffix.toLowerCase(Locale.ROOT), probe);
+        }
+        probes.add(probe);
+    }
+
+    /**
+     * URL을 처리할 확인기 찾기
+     */
+    public PlatformProbe lookup(String url) {
+        String host = hostOf(url);
+        while (host != null && !host.isEmpty()) {
+            PlatformProbe probe = byHost.get(host);
+            if (probe != null) {
+                return probe;
+            }
+            int dot = host.indexOf('.');
+            host = dot < 0 ? null : host.substring(dot + 1);
+        }
+        return fallback;
+    }
+
+    /**
+     * 등록된 확인기 목록
+     */
+    public List<PlatformProbe> getProbes() {
+        return new ArrayList<>(probes);
+    }
+
+    /**
+     * URL의 호스트 이름 (소문자, 해석할 수 없으면 null)
+     */
+    static String hostOf(String url) {
+        if (url == null) {
+            return null;
+        }
+        String trimmed = url.trim();
+        if (!trimmed.contains("://")) {
+            trimmed = "https://" + trimmed; // 스킴 없이 입력된 URL
+        }
+        try {
+            String host = URI.create(trimmed).getHost();
+            return host != null ? host.toLowerCase(Locale.ROOT) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
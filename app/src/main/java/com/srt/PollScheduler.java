@@ -0,0 +1,178 @@
+package com.srt;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스트리머별 상태 확인 일정 관리 클래스
+ * 스트리머마다 다음 확인 시각을 두고, 오프라인이 길어질수록 확인 간격을 지수적으로 늘립니다.
+ * 방송이 막 끝난 스트리머는 재시작에 대비해 한동안 기본 간격으로 확인합니다.
+ */
+public class PollScheduler {
+    /**
+     * 확인 빈도 등급
+     */
+    public enum Tier {
+        HOT(10, 30),      // 자주 확인 (놓치면 안 되는 채널)
+        NORMAL(10, 180),  // 기본
+        COLD(30, 900);    // 드물게 방송하는 채널
+
+        private final long baseMillis;
+        private final long maxMillis;
+
+        Tier(long baseSeconds, long maxSeconds) {
+            this.baseMillis = TimeUnit.SECONDS.toMillis(baseSeconds);
+            this.maxMillis = TimeUnit.SECONDS.toMillis(maxSeconds);
+        }
+
+        public long getBaseMillis() { return baseMillis; }
+        public long getMaxMillis() { return maxMillis; }
+
+        /**
+         * 문자열을 등급으로 변환 (알 수 없는 값은 NORMAL)
+         */
+        public static Tier fromString(String value) {
+            if (value != null) {
+                try {
+                    return Tier.valueOf(value.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    // 기본값 사용
+                }
+            }
+            return NORMAL;
+        }
+    }
+
+    // 방송 종료 직후 기본 간격으로 확인하는 시간
+    private static final long POST_STREAM_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final class Entry {
+        final String name;
+        long dueAt;
+        int offlineStreak;
+        long endedAt;
+        boolean inFlight;
+
+        Entry(String name, long dueAt) {
+            this.name = name;
+            this.dueAt = dueAt;
+        }
+    }
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>((a, b) -> Long.compare(a.dueAt, b.dueAt));
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * 스트리머 등록 (즉시 확인 예정)
+     */
+    public synchronized void register(String name) {
+        if (entries.containsKey(name)) {
+            return;
+        }
+        Entry entry = new Entry(name, System.currentTimeMillis());
+        entries.put(name, entry);
+        queue.add(entry);
+    }
+
+    /**
+     * 스트리머 제거
+     */
+    public synchronized void remove(String name) {
+        Entry entry = entries.remove(name);
+        if (entry != null) {
+            queue.remove(entry);
+        }
+    }
+
+    /**
+     * 확인 시각이 된 스트리머가 있는지 확인합니다 (꺼내지 않음).
+     */
+    public synchronized boolean hasDue(long now) {
+        return !queue.isEmpty() && queue.peek().dueAt <= now;
+    }
+
+    /**
+     * 확인 시각이 된 스트리머를 꺼냅니다. 꺼낸 스트리머는 reschedule 전까지 다시 반환되지 않습니다.
+     */
+    public synchronized List<String> pollDue(long now) {
+        List<String> due = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().dueAt <= now) {
+            Entry entry = queue.poll();
+            entry.inFlight = true;
+            due.add(entry.name);
+        }
+        return due;
+    }
+
+    /**
+     * 상태 확인 결과에 따라 다음 확인 시각을 정합니다.
+     *
+     * @param wasOnline 확인 전 온라인(또는 녹화 중) 상태였는지 여부
+     * @param isOnline 확인 후 온라인(또는 녹화 중) 상태인지 여부
+     * @return 다음 확인까지 남은 시간 (밀리초)
+     */
+    public synchronized long reschedule(String name, Tier tier, boolean wasOnline, boolean isOnline) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            return -1;
+        }
+        long now = System.currentTimeMillis();
+
+        long interval;
+        if (isOnline) {
+            entry.offlineStreak = 0;
+            interval = tier.getBaseMillis();
+        } else {
+            if (wasOnline) {
+                entry.endedAt = now;
+                entry.offlineStreak = 0;
+            }
+            entry.offlineStreak++;
+            if (entry.endedAt > 0 && now - entry.endedAt < POST_STREAM_WINDOW_MILLIS) {
+                interval = tier.getBaseMillis();
+            } else {
+                int shift = Math.min(entry.offlineStreak - 1, 20);
+                interval = Math.min(tier.getBaseMillis() << shift, tier.getMaxMillis());
+            }
+        }
+
+        // 확인 시각이 한꺼번에 몰리지 않도록 최대 10% 무작위 분산
+        interval += ThreadLocalRandom.current().nextLong(interval / 10 + 1);
+
+        if (!entry.inFlight) {
+            queue.remove(entry);
+        }
+        entry.inFlight = false;
+        entry.dueAt = now + interval;
+        queue.add(entry);
+        return interval;
+    }
+
+    /**
+     * 다음 확인을 즉시 하도록 예약합니다 (등급 변경, URL 변경 등).
+     */
+    public synchronized void scheduleNow(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null || entry.inFlight) {
+            return;
+        }
+        queue.remove(entry);
+        entry.dueAt = System.currentTimeMillis();
+        entry.offlineStreak = 0;
+        queue.add(entry);
+    }
+
+    /**
+     * 다음 확인 예정 시각 (등록되지 않은 경우 -1)
+     */
+    public synchronized long getNextCheckAt(String name) {
+        Entry entry = entries.get(name);
+        return entry != null ? entry.dueAt : -1;
+    }
+}
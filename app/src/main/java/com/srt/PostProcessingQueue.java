@@ -0,0 +1,456 @@
+package com.srt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 녹화 후처리 작업 대기열
+ * 녹화 종료 처리 스레드 대신 전용 작업자 스레드에서 후처리를 실행하고, 동시에 실행되는 작업 수를 제한합니다.
+ * 끝나지 않은 작업은 작업 기록 파일에 저장해 프로그램을 다시 시작해도 이어서 처리합니다.
+ * 디스크 부하가 큰 작업(ffmpeg 재묶기)은 따로 동시 실행 수를 더 작게 제한합니다.
+ */
+public class PostProcessingQueue {
+    public static final String TYPE_FIX_METADATA = "fix-metadata"; // MP4 재생 시간 보정
+
+    private static final int MAX_ATTEMPTS = 3;       // 재시작 후 다시 시도하는 최대 횟수
+    private static final int MAX_RECENT_JOBS = 50;   // 완료 작업 보관 수 (조회용)
+
+    /**
+     * 작업 상태
+     */
+    public enum State {
+        PENDING, RUNNING, DONE, FAILED
+    }
+
+    /**
+     * 후처리 작업 1건
+     */
+    public static final class Job {
+        private final String id;
+        private final String type;
+        private final File file;
+        private final String streamerName;
+        private final long createdAt;
+        private final int attempts;
+        private volatile State state = State.PENDING;
+        private volatile int progress;
+        private volatile String message = "대기 중";
+        private volatile long startedAt;
+        private volatile long finishedAt;
+        private volatile Process process; // 실행 중인 외부 프로세스 (종료 시 정리용)
+
+        Job(String id, String type, File file, String streamerName, long createdAt, int attempts) {
+            this.id = id;
+            this.type = type;
+            this.file = file;
+            this.streamerName = streamerName;
+            this.createdAt = createdAt;
+            this.attempts = attempts;
+        }
+
+        public String getId() { return id; }
+        public String getType() { return type; }
+        public File getFile() { return file; }
+        public String getStreamerName() { return streamerName; }
+        public long getCreatedAt() { return createdAt; }
+        public int getAttempts() { return attempts; }
+        public State getState() { return state; }
+
+        /**
+         * 진행률 (0~100)
+         */
+        public int getProgress() { return progress; }
+        public String getMessage() { return message; }
+        public long getStartedAt() { return startedAt; }
+        public long getFinishedAt() { return finishedAt; }
+
+        void update(int progress, String message) {
+            this.progress = Math.max(0, Math.min(100, progress));
+            this.message = message;
+        }
+    }
+
+    private final Supplier<String> ffmpegCommand;
+    private final File journalFile;
+    private final LinkedBlockingQueue<Job> pending = new LinkedBlockingQueue<>();
+    private final Map<String, Job> active = new ConcurrentHashMap<>(); // 대기 및 실행 중인 작업
+    private final Deque<Job> recent = new ArrayDeque<>();
+    private final Semaphore heavyPermits;
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean running;
+    private volatile Consumer<Job> finishListener; // 작업이 끝날 때(완료, 실패) 호출
+
+    // 처리 통계
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong patchedInPlace = new AtomicLong();
+    private final AtomicLong remuxed = new AtomicLong();
+
+    /**
+     * @param ffmpegCommand ffmpeg 실행 명령 (설치 경로 변경을 반영하도록 매번 조회)
+     * @param journalFile 끝나지 않은 작업을 저장할 파일
+     * @param workerCount 동시에 실행할 작업 수
+     * @param maxHeavyJobs 동시에 실행할 디스크 부하가 큰 작업 수
+     */
+    public PostProcessingQueue(Supplier<String> ffmpegCommand, File journalFile, int workerCount, int maxHeavyJobs) {
+        this.ffmpegCommand = ffmpegCommand;
+        this.journalFile = journalFile;
+        this.heavyPermits = new Semaphore(Math.max(1, maxHeavyJobs));
+        for (int i = 0; i < Math.max(1, workerCount); i++) {
+            Thread worker = new Thread(this::workerLoop, "post-processing-" + (i + 1));
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * 작업이 끝날 때(완료 또는 실패) 작업자 스레드에서 호출할 함수 설정
+     */
+    public void setFinishListener(Consumer<Job> finishListener) {
+        this.finishListener = finishListener;
+    }
+
+    /**
+     * 작업 기록 파일의 남은 작업을 불러오고 작업자 스레드를 시작합니다.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        restoreJournal();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * 후처리 작업 추가 (바로 반환)
+     */
+    public Job submit(String type, File file, String streamerName) {
+        Job job = new Job(System.currentTimeMillis() + "-" + sequence.incrementAndGet(), type, file, streamerName,
+            System.currentTimeMillis(), 1);
+        enqueue(job);
+        System.out.println("후처리 작업 추가: " + file.getName() + " (" + type + ", 대기 " + pending.size() + "건)");
+        return job;
+    }
+
+    private void enqueue(Job job) {
+        active.put(job.getId(), job);
+        persistJournal();
+        pending.add(job);
+    }
+
+    private void workerLoop() {
+        while (running) {
+            Job job;
+            try {
+                job = pending.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            execute(job);
+        }
+    }
+
+    private void execute(Job job) {
+        job.state = State.RUNNING;
+        job.startedAt = System.currentTimeMillis();
+        job.update(0, "시작");
+        persistJournal();
+
+        boolean interrupted = false;
+        try {
+            if (TYPE_FIX_METADATA.equals(job.getType())) {
+                fixMetadata(job);
+            } else {
+                throw new IOException("알 수 없는 후처리 작업: " + job.getType());
+            }
+            job.state = State.DONE;
+            job.update(100, job.getMessage());
+            completed.incrementAndGet();
+        } catch (InterruptedException e) {
+            // 프로그램 종료 - 작업 기록에 남겨 다음 실행 때 다시 처리
+            interrupted = true;
+            job.state = State.PENDING;
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            if (!running || Thread.currentThread().isInterrupted()) {
+                // 종료로 인해 실패한 경우 (ffmpeg 강제 종료, 중단된 파일 채널 등) - 다음 실행 때 다시 처리
+                interrupted = true;
+                job.state = State.PENDING;
+                job.update(job.getProgress(), "종료로 중단됨");
+                return;
+            }
+            job.state = State.FAILED;
+            job.update(job.getProgress(), "실패: " + e.getMessage());
+            failed.incrementAndGet();
+            System.err.println("후처리 작업 실패: " + job.getFile().getName() + " - " + e.getMessage());
+        } finally {
+            job.process = null;
+            if (!interrupted) {
+                job.finishedAt = System.currentTimeMillis();
+                active.remove(job.getId());
+                synchronized (recent) {
+                    recent.addFirst(job);
+                    while (recent.size() > MAX_RECENT_JOBS) {
+                        recent.removeLast();
+                    }
+                }
+                System.out.println("후처리 작업 " + (job.getState() == State.DONE ? "완료" : "종료") + ": " + job.getFile().getName()
+                    + " (" + (job.getFinishedAt() - job.getStartedAt()) + "ms, " + job.getMessage() + ")");
+            }
+            persistJournal();
+            Consumer<Job> listener = finishListener;
+            if (!interrupted && listener != null) {
+                listener.accept(job);
+            }
+        }
+    }
+
+    /**
+     * MP4 재생 시간 보정 - 제자리 수정을 먼저 시도하고, 불가능하면 ffmpeg로 재묶기
+     */
+    private void fixMetadata(Job job) throws IOException, InterruptedException {
+        File videoFile = job.getFile();
+        if (!videoFile.exists() || videoFile.length() == 0) {
+            job.update(100, "파일이 없거나 비어 있어 건너뜀");
+            return;
+        }
+
+        System.out.println("녹화 파일 메타데이터 수정 시작: " + videoFile.getName());
+
+        // 박스 구조가 정상이면 재생 시간 필드만 제자리에서 수정 (파일 전체를 다시 쓰지 않음)
+        long patchStart = System.nanoTime();
+        Mp4AtomPatcher.Result patch = Mp4AtomPatcher.patch(videoFile);
+        long patchMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - patchStart);
+        if (patch.getStatus() != Mp4AtomPatcher.Status.NEEDS_REMUX) {
+            patchedInPlace.incrementAndGet();
+            job.update(100, "제자리 수정 " + patchMillis + "ms - " + patch.getMessage());
+            return;
+        }
+        System.out.println("제자리 수정 불가 (" + patch.getMessage() + "), FFmpeg 재묶기로 대체합니다: " + videoFile.getName());
+
+        // 재묶기는 파일 전체를 다시 쓰므로 동시 실행 수를 따로 제한
+        job.update(1, "재묶기 대기");
+        heavyPermits.acquire();
+        try {
+            remux(job, videoFile);
+            remuxed.incrementAndGet();
+        } finally {
+            heavyPermits.release();
+        }
+    }
+
+    private void remux(Job job, File videoFile) throws IOException, InterruptedException {
+        // 원본 파일과 임시 파일 경로
+        String originalPath = videoFile.getAbsolutePath();
+        File tempFile = new File(originalPath + ".fixed.mp4");
+        long sourceSize = Math.max(1, videoFile.length());
+
+        // FFmpeg를 사용하여 단순히 파일을 재묶기 (remux)
+        List<String> command = new ArrayList<>();
+        command.add(ffmpegCommand.get());
+        command.add("-i");
+        command.add(originalPath);
+
+        // 코덱 복사 (재인코딩 없음)
+        command.add("-c");
+        command.add("copy");
+
+        // MP4 메타데이터 수정 옵션
+        command.add("-fflags");
+        command.add("+genpts");                  // 타임스탬프 생성
+        command.add("-movflags");
+        command.add("faststart+empty_moov");     // MP4 최적화
+        command.add("-map_metadata");
+        command.add("-1");                       // 모든 메타데이터 제거
+
+        // 덮어쓰기 및 출력
+        command.add("-y");
+        command.add(tempFile.getAbsolutePath());
+
+        System.out.println("메타데이터 수정 명령어: " + String.join(" ", command));
+
+        ProcessBuilder pb = new ProcessBuilder(command);
+        pb.redirectErrorStream(true);
+
+        Process process = pb.start();
+        job.process = process;
+        job.update(2, "재묶기 중");
+
+        // 출력 로그를 읽으며 임시 파일 크기로 진행률 계산 (코덱 복사이므로 크기가 거의 같음)
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                System.out.println("FFmpeg: " + line);
+                int percent = (int) Math.min(99, tempFile.length() * 100 / sourceSize);
+                job.update(Math.max(2, percent), "재묶기 중");
+            }
+        }
+
+        int exitCode = process.waitFor();
+        System.out.println("메타데이터 수정 작업 완료. 종료 코드: " + exitCode);
+        if (Thread.currentThread().isInterrupted() || !running) {
+            tempFile.delete();
+            throw new InterruptedException("후처리 중단");
+        }
+
+        // 파일 교체
+        if (exitCode == 0 && tempFile.exists() && tempFile.length() > 0) {
+            // 원본 파일 백업
+            File backupFile = new File(originalPath + ".bak");
+            if (videoFile.renameTo(backupFile)) {
+                // 새 파일을 원본 이름으로 변경
+                if (tempFile.renameTo(videoFile)) {
+                    // 백업 파일 삭제
+                    backupFile.delete();
+                    job.update(100, "재묶기 완료");
+                } else {
+                    backupFile.renameTo(videoFile);
+                    throw new IOException("임시 파일 이름 변경 실패, 백업에서 복원함");
+                }
+            } else {
+                tempFile.delete();
+                throw new IOException("원본 파일 백업 실패");
+            }
+        } else {
+            if (tempFile.exists()) {
+                tempFile.delete();
+            }
+            throw new IOException("FFmpeg 종료 코드 " + exitCode);
+        }
+    }
+
+    /**
+     * 끝나지 않은 작업을 작업 기록 파일에 저장합니다.
+     */
+    private synchronized void persistJournal() {
+        try {
+            ObjectNode root = JsonCodec.MAPPER.createObjectNode();
+            ArrayNode jobs = root.putArray("jobs");
+            for (Job job : active.values()) {
+                ObjectNode node = jobs.addObject();
+                node.put("id", job.getId());
+                node.put("type", job.getType());
+                node.put("file", job.getFile().getAbsolutePath());
+                node.put("streamer", job.getStreamerName());
+                node.put("createdAt", job.getCreatedAt());
+                node.put("attempts", job.getAttempts());
+                node.put("state", job.getState().name());
+            }
+            File temp = new File(journalFile.getAbsolutePath() + ".tmp");
+            JsonCodec.PRETTY_WRITER.writeValue(temp, root);
+            if (!temp.renameTo(journalFile)) {
+                journalFile.delete();
+                temp.renameTo(journalFile);
+            }
+        } catch (IOException e) {
+            System.err.println("후처리 작업 기록 저장 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 이전 실행에서 끝나지 않은 작업 복원
+     */
+    private void restoreJournal() {
+        if (!journalFile.exists()) {
+            return;
+        }
+        try {
+            JsonNode jobs = JsonCodec.MAPPER.readTree(journalFile).path("jobs");
+            int restored = 0;
+            for (JsonNode node : jobs) {
+                File file = new File(node.path("file").asText());
+                int attempts = node.path("attempts").asInt(1);
+                // 실행 중에 종료된 작업은 한 번 더 시도한 것으로 계산
+                if (State.RUNNING.name().equals(node.path("state").asText())) {
+                    attempts++;
+                }
+                if (attempts > MAX_ATTEMPTS || !file.exists()) {
+                    System.err.println("후처리 작업을 복원하지 않음: " + file.getName()
+                        + (file.exists() ? " (시도 횟수 초과)" : " (파일 없음)"));
+                    continue;
+                }
+                Job job = new Job(node.path("id").asText(), node.path("type").asText(TYPE_FIX_METADATA), file,
+                    node.path("streamer").asText(""), node.path("createdAt").asLong(), attempts);
+                active.put(job.getId(), job);
+                pending.add(job);
+                restored++;
+            }
+            persistJournal();
+            if (restored > 0) {
+                System.out.println("이전 실행에서 끝나지 않은 후처리 작업 " + restored + "건을 다시 처리합니다.");
+            }
+        } catch (IOException e) {
+            System.err.println("후처리 작업 기록 읽기 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 작업자 종료 (실행 중인 작업은 작업 기록에 남아 다음 실행 때 다시 처리)
+     */
+    public void shutdown() {
+        running = false;
+        // 작업자를 먼저 중단해야 ffmpeg 종료를 작업 실패로 오인하지 않음
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Job job : active.values()) {
+            Process process = job.process;
+            if (process != null) {
+                process.descendants().forEach(ProcessHandle::destroy);
+                process.destroy();
+            }
+        }
+        persistJournal();
+    }
+
+    /**
+     * 대기 및 실행 중인 작업 목록
+     */
+    public List<Job> getActiveJobs() {
+        List<Job> jobs = new ArrayList<>(active.values());
+        jobs.sort((a, b) -> Long.compare(a.getCreatedAt(), b.getCreatedAt()));
+        return jobs;
+    }
+
+    /**
+     * 최근 끝난 작업 목록 (최신순)
+     */
+    public List<Job> getRecentJobs() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    public int getPendingCount() { return pending.size(); }
+
+    /**
+     * 통계 요약 문자열
+     */
+    public String getStatsSummary() {
+        return String.format("대기 %d건, 진행 %d건, 완료 %d건 (제자리 수정 %d, 재묶기 %d), 실패 %d건",
+            pending.size(), active.size() - pending.size(), completed.get(), patchedInPlace.get(), remuxed.get(), failed.get());
+    }
+}
@@ -0,0 +1,387 @@
+package com.srt;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import javax.net.ssl.SSLSession;
+
+/**
+ * 상태 확인용 공유 HTTP 클라이언트
+ * 모든 플랫폼 확인 요청이 하나의 HttpClient를 사용해 연결을 재사용하고(HTTP/2 다중화 포함),
+ * gzip 압축 응답을 스트리밍으로 해제합니다. 쿠키 저장소도 모든 요청이 함께 사용합니다.
+ * 응답 제한 시간은 응답 헤더를 기다리는 시간과, 본문을 읽을 때 데이터가 오지 않는 시간에 모두 적용됩니다.
+ */
+public class ProbeHttpClient {
+    public static final String DEFAULT_USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+
+    /**
+     * 응답 본문 스트림을 가진 HTTP 응답
+     * 본문을 끝까지 읽지 않고 닫으면 남은 전송이 취소됩니다.
+     */
+    public static final class Response implements Closeable {
+        private final int statusCode;
+        private final HttpHeaders headers;
+        private final InputStream body;
+
+        Response(int statusCode, HttpHeaders headers, InputStream body) {
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public int getStatusCode() { return statusCode; }
+        public HttpHeaders getHeaders() { return headers; }
+
+        /**
+         * 압축이 해제된 본문 스트림
+         */
+        public InputStream getBody() { return body; }
+
+        /**
+         * 본문 전체를 UTF-8 문자열로 읽습니다.
+         */
+        public String readText() throws IOException {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() throws IOException {
+            body.close();
+        }
+    }
+
+    // 본문 읽기가 제한 시간 동안 멈추면 스트림을 닫아 읽기를 깨우는 감시 스레드
+    private static final ScheduledExecutorService READ_WATCHDOG = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "http-read-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile HttpClient client;
+    private final CookieManager cookieManager = new CookieManager(null, CookiePolicy.ACCEPT_ORIGINAL_SERVER);
+    private volatile Duration connectTimeout;
+    private volatile Duration readTimeout;
+
+    // 전송량 및 연결 재사용 통계
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong http2Responses = new AtomicLong();
+    private final AtomicLong newConnections = new AtomicLong();
+    private final AtomicLong reusedConnections = new AtomicLong();
+    private final AtomicLong compressedResponses = new AtomicLong();
+    private final AtomicLong wireBytes = new AtomicLong();
+    private final AtomicLong decodedBytes = new AtomicLong();
+    private final Set<SSLSession> knownSessions = Collections.synchronizedSet(
+        Collections.newSetFromMap(new WeakHashMap<>()));
+
+    public ProbeHttpClient(Duration connectTimeout, Duration readTimeout) {
+        this.readTimeout = readTimeout;
+        this.connectTimeout = connectTimeout;
+        this.client = buildClient(connectTimeout);
+    }
+
+    /**
+     * 연결/응답 제한 시간 변경 (연결 제한 시간이 바뀌면 클라이언트를 새로 만듭니다)
+     */
+    public void setTimeouts(Duration connectTimeout, Duration readTimeout) {
+        this.readTimeout = readTimeout;
+        if (!connectTimeout.equals(this.connectTimeout)) {
+            this.connectTimeout = connectTimeout;
+            this.client = buildClient(connectTimeout);
+        }
+    }
+
+    private HttpClient.Builder clientBuilder(Duration connectTimeout) {
+        return HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .cookieHandler(cookieManager)
+            .connectTimeout(connectTimeout);
+    }
+
+    /**
+     * 지정한 서버로 보낼 쿠키 설정 (값이 비어 있으면 삭제)
+     *
+     * @param origin 쿠키를 보낼 서버 주소 (호스트 기준으로 적용)
+     */
+    public void setCookie(URI origin, String name, String value) {
+        for (HttpCookie cookie : cookieManager.getCookieStore().get(origin)) {
+            if (cookie.getName().equals(name)) {
+                cookieManager.getCookieStore().remove(origin, cookie);
+            }
+        }
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        HttpCookie cookie = new HttpCookie(name, value);
+        cookie.setPath("/");
+        cookie.setVersion(0);
+        cookieManager.getCookieStore().add(origin, cookie);
+    }
+
+    private HttpClient buildClient(Duration connectTimeout) {
+        return clientBuilder(connectTimeout).build();
+    }
+
+    /**
+     * GET 요청
+     */
+    public Response get(String url, Map<String, String> headers) throws IOException {
+        HttpRequest.Builder builder = newRequest(url, headers).GET();
+        return send(builder);
+    }
+
+    /**
+     * JSON 본문을 가진 POST 요청
+     */
+    public Response postJson(String url, byte[] body, Map<String, String> headers) throws IOException {
+        HttpRequest.Builder builder = newRequest(url, headers)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        return send(builder);
+    }
+
+    private HttpRequest.Builder newRequest(String url, Map<String, String> headers) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+            .timeout(readTimeout)
+            .header("Accept-Encoding", "gzip")
+            .header("User-Agent", DEFAULT_USER_AGENT);
+        if (headers != null) {
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                builder.setHeader(header.getKey(), header.getValue());
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * 요청 전송 후 응답 헤더까지 받은 상태의 응답을 반환합니다.
+     */
+    public Response send(HttpRequest.Builder builder) throws IOException {
+        requestCount.incrementAndGet();
+        HttpResponse<InputStream> response;
+        try {
+            response = client.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("HTTP 요청이 중단되었습니다.", e);
+        }
+
+        recordConnection(response);
+
+        InputStream body = new TimedInputStream(response.body(), readTimeout);
+        body = new CountingInputStream(body, wireBytes);
+        int status = response.statusCode();
+        boolean gzip = response.headers().firstValue("Content-Encoding")
+            .map(v -> v.equalsIgnoreCase("gzip"))
+            .orElse(false);
+        if (gzip && status != 204 && status != 304) {
+            // 본문이 비어 있을 수 있으므로 gzip 헤더는 처음 읽을 때 확인
+            compressedResponses.incrementAndGet();
+            body = new LazyGzipInputStream(body);
+        }
+        body = new CountingInputStream(body, decodedBytes);
+        return new Response(response.statusCode(), response.headers(), body);
+    }
+
+    /**
+     * TLS 세션으로 새 연결과 재사용된 연결을 구분합니다.
+     */
+    private void recordConnection(HttpResponse<?> response) {
+        if (response.version() == HttpClient.Version.HTTP_2) {
+            http2Responses.incrementAndGet();
+        }
+        SSLSession session = response.sslSession().orElse(null);
+        if (session == null) {
+            return;
+        }
+        if (knownSessions.add(session)) {
+            newConnections.incrementAndGet();
+        } else {
+            reusedConnections.incrementAndGet();
+        }
+    }
+
+    public long getRequestCount() { return requestCount.get(); }
+    public long getHttp2ResponseCount() { return http2Responses.get(); }
+    public long getNewConnectionCount() { return newConnections.get(); }
+    public long getReusedConnectionCount() { return reusedConnections.get(); }
+    public long getCompressedResponseCount() { return compressedResponses.get(); }
+
+    /**
+     * 네트워크로 받은 본문 바이트 수 (압축 상태)
+     */
+    public long getWireBytes() { return wireBytes.get(); }
+
+    /**
+     * 압축 해제 후 읽은 본문 바이트 수
+     */
+    public long getDecodedBytes() { return decodedBytes.get(); }
+
+    /**
+     * 통계 요약 문자열
+     */
+    public String getStatsSummary() {
+        return String.format("요청 %d회, 새 연결 %d, 재사용 %d, HTTP/2 %d, gzip %d, 수신 %d KB (해제 후 %d KB)",
+            getRequestCount(), getNewConnectionCount(), getReusedConnectionCount(), getHttp2ResponseCount(),
+            getCompressedResponseCount(), getWireBytes() / 1024, getDecodedBytes() / 1024);
+    }
+
+    /**
+     * 읽기 한 번이 제한 시간 안에 끝나지 않으면 스트림을 닫고 HttpTimeoutException을 던지는 입력 스트림
+     * (HttpRequest.timeout은 응답 헤더까지만 적용되므로 본문 읽기는 여기서 제한)
+     */
+    private static final class TimedInputStream extends FilterInputStream {
+        private final long timeoutMillis;
+        private volatile boolean timedOut;
+
+        TimedInputStream(InputStream in, Duration timeout) {
+            super(in);
+            this.timeoutMillis = Math.max(1, timeout.toMillis());
+        }
+
+        @Override
+        public int read() throws IOException {
+            ScheduledFuture<?> watchdog = arm();
+            try {
+                return super.read();
+            } catch (IOException e) {
+                throw timedOut ? timeout(e) : e;
+            } finally {
+                watchdog.cancel(false);
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            ScheduledFuture<?> watchdog = arm();
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                throw timedOut ? timeout(e) : e;
+            } finally {
+                watchdog.cancel(false);
+            }
+        }
+
+        private ScheduledFuture<?> arm() {
+            return READ_WATCHDOG.schedule(() -> {
+                timedOut = true;
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                    // 닫는 중 오류는 무시 (읽는 쪽에서 시간 초과로 처리)
+                }
+            }, timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private HttpTimeoutException timeout(IOException cause) {
+            HttpTimeoutException e = new HttpTimeoutException("응답 본문 읽기 제한 시간 초과 (" + timeoutMillis + "ms)");
+            e.initCause(cause);
+            return e;
+        }
+    }
+
+    /**
+     * 처음 읽을 때 gzip 헤더를 확인하는 입력 스트림 (본문이 비어 있으면 바로 끝)
+     */
+    private static final class LazyGzipInputStream extends InputStream {
+        private final InputStream raw;
+        private InputStream decoded;
+
+        LazyGzipInputStream(InputStream raw) {
+            this.raw = raw;
+        }
+
+        private InputStream decoded() throws IOException {
+            if (decoded == null) {
+                PushbackInputStream source = new PushbackInputStream(raw, 1);
+                int first = source.read();
+                if (first < 0) {
+                    decoded = InputStream.nullInputStream();
+                } else {
+                    source.unread(first);
+                    decoded = new GZIPInputStream(source, 8192);
+                }
+            }
+            return decoded;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return decoded().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return decoded().read(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            raw.close();
+        }
+    }
+
+    /**
+     * 읽은 바이트 수를 세는 입력 스트림
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private final AtomicLong counter;
+
+        CountingInputStream(InputStream in, AtomicLong counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                counter.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                counter.addAndGet(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            if (skipped > 0) {
+                counter.addAndGet(skipped);
+            }
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.srt;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상태 확인용 외부 프로세스(streamlink --json 등) 실행 관리 클래스
+ * 동시에 실행되는 프로세스 수를 제한하고, 제한 시간을 넘긴 프로세스는 강제 종료합니다.
+ * 같은 키(URL)로 이미 실행 중인 확인이 있으면 새로 실행하지 않고 그 결과를 함께 받습니다.
+ */
+public class ProbeProcessGovernor {
+    private static final long KILL_WAIT_MILLIS = 2000;   // 강제 종료 후 대기 시간
+    private static final long OUTPUT_WAIT_MILLIS = 1000; // 종료 후 출력 읽기 대기 시간
+
+    /**
+     * 프로세스 실행 결과
+     */
+    public static final class Outcome {
+        private final int exitCode;
+        private final String output;
+        private final boolean killed;
+
+        Outcome(int exitCode, String output, boolean killed) {
+            this.exitCode = exitCode;
+            this.output = output;
+            this.killed = killed;
+        }
+
+        /**
+         * 종료 코드 (강제 종료된 경우 -1)
+         */
+        public int getExitCode() { return exitCode; }
+
+        /**
+         * 표준 출력 내용 (UTF-8)
+         */
+        public String getOutput() { return output; }
+
+        /**
+         * 제한 시간 초과로 강제 종료되었는지 여부
+         */
+        public boolean isKilled() { return killed; }
+    }
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long deadlineMillis;
+    private final Map<String, CompletableFuture<Outcome>> inFlight = new ConcurrentHashMap<>();
+
+    // 실행 통계
+    private final AtomicLong spawned = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong killed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong spawnNanos = new AtomicLong();
+    private final AtomicLong runNanos = new AtomicLong();
+    private final AtomicLong killNanos = new AtomicLong();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+
+    /**
+     * @param maxConcurrent 동시에 실행할 수 있는 프로세스 수
+     * @param deadlineMillis 실행 대기 시간을 포함한 확인 1회의 제한 시간
+     */
+    public ProbeProcessGovernor(int maxConcurrent, long deadlineMillis) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.permits = new Semaphore(this.maxConcurrent);
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    /**
+     * 프로세스를 실행하고 결과를 기다립니다. 같은 키로 실행 중인 확인이 있으면 그 결과를 함께 사용합니다.
+     *
+     * @param key 중복 실행을 합칠 기준 (보통 URL)
+     */
+    public Outcome run(String key, List<String> command, Map<String, String> env) throws IOException, InterruptedException {
+        CompletableFuture<Outcome> mine = new CompletableFuture<>();
+        CompletableFuture<Outcome> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return await(existing);
+        }
+
+        try {
+            Outcome outcome = execute(command, env);
+            mine.complete(outcome);
+            return outcome;
+        } catch (Throwable t) {
+            mine.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Outcome await(CompletableFuture<Outcome> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("함께 기다리던 확인 프로세스 실패: " + cause, cause);
+        }
+    }
+
+    private Outcome execute(List<String> command, Map<String, String> env) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+
+        if (!permits.tryAcquire(deadlineMillis, TimeUnit.MILLISECONDS)) {
+            rejected.incrementAndGet();
+            throw new IOException("확인 프로세스 실행 대기 시간 초과 (동시 실행 " + maxConcurrent + "개 제한)");
+        }
+
+        Process process = null;
+        try {
+            ProcessBuilder pb = new ProcessBuilder(command);
+            if (env != null) {
+                pb.environment().putAll(env);
+            }
+            pb.redirectError(ProcessBuilder.Redirect.DISCARD); // 읽지 않는 stderr로 인한 멈춤 방지
+
+            long spawnStart = System.nanoTime();
+            process = pb.start();
+            long spawnEnd = System.nanoTime();
+            spawned.incrementAndGet();
+            spawnNanos.addAndGet(spawnEnd - spawnStart);
+
+            // 출력은 가상 스레드에서 읽고, 이 스레드는 제한 시간까지만 종료를 기다립니다.
+            Process running = process;
+            FutureTask<byte[]> reader = new FutureTask<>(() -> running.getInputStream().readAllBytes());
+            Thread.ofVirtual().name("probe-output-reader").start(reader);
+
+            boolean exited = process.waitFor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            long runEnd = System.nanoTime();
+            runNanos.addAndGet(runEnd - spawnEnd);
+            maxRunNanos.accumulateAndGet(runEnd - spawnEnd, Math::max);
+
+            if (!exited) {
+                forceKill(process);
+                long killEnd = System.nanoTime();
+                killNanos.addAndGet(killEnd - runEnd);
+                killed.incrementAndGet();
+                reader.cancel(true);
+                System.err.println("확인 프로세스 제한 시간 초과로 강제 종료: " + String.join(" ", command)
+                    + " (" + TimeUnit.NANOSECONDS.toMillis(killEnd - runEnd) + "ms)");
+                return new Outcome(-1, "", true);
+            }
+
+            return new Outcome(process.exitValue(), new String(readOutput(reader), StandardCharsets.UTF_8), false);
+        } finally {
+            // 호출한 쪽이 중단된 경우에도 프로세스를 남기지 않습니다.
+            try {
+                if (process != null && process.isAlive()) {
+                    forceKill(process);
+                }
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private static byte[] readOutput(FutureTask<byte[]> reader) throws IOException, InterruptedException {
+        try {
+            return reader.get(OUTPUT_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 하위 프로세스가 출력 파이프를 계속 잡고 있는 경우
+            reader.cancel(true);
+            return new byte[0];
+        } catch (ExecutionException e) {
+            throw new IOException("확인 프로세스 출력 읽기 실패", e.getCause());
+        }
+    }
+
+    private static void forceKill(Process process) throws InterruptedException {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+        process.waitFor(KILL_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public long getSpawnedCount() { return spawned.get(); }
+    public long getCoalescedCount() { return coalesced.get(); }
+    public long getKilledCount() { return killed.get(); }
+    public long getRejectedCount() { return rejected.get(); }
+
+    /**
+     * 현재 실행 중인 확인 수
+     */
+    public int getActiveCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * 통계 요약 문자열
+     */
+    public String getStatsSummary() {
+        long count = Math.max(1, spawned.get());
+        long kills = Math.max(1, killed.get());
+        return String.format("실행 %d회 (평균 시작 %dms, 평균 실행 %dms, 최대 %dms), 합침 %d, 강제 종료 %d (평균 %dms), 대기 초과 %d",
+            spawned.get(), TimeUnit.NANOSECONDS.toMillis(spawnNanos.get() / count),
+            TimeUnit.NANOSECONDS.toMillis(runNanos.get() / count), TimeUnit.NANOSECONDS.toMillis(maxRunNanos.get()),
+            coalesced.get(), killed.get(), TimeUnit.NANOSECONDS.toMillis(killNanos.get() / kills), rejected.get());
+    }
+}
@@ -0,0 +1,152 @@
+package com.srt;
+
+import java.net.http.HttpHeaders;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상태 확인 응답 캐시
+ * URL별 ETag/Last-Modified 값과 마지막 판정 결과(상태, 제목)를 저장해 두고 조건부 요청에 사용합니다.
+ * 서버가 304로 응답하면 본문을 다시 받거나 분석하지 않고 저장된 결과를 그대로 사용합니다.
+ * 저장량이 한도를 넘으면 가장 오래 사용하지 않은 항목부터 제거합니다 (LRU).
+ */
+public class ProbeResponseCache {
+    private static final int DEFAULT_MAX_BYTES = 512 * 1024;
+
+    /**
+     * 캐시 항목
+     */
+    public static final class Entry {
+        private final String etag;
+        private final String lastModified;
+        private final String status;
+        private final String title;
+        private final long bodyBytes;
+
+        Entry(String etag, String lastModified, String status, String title, long bodyBytes) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.status = status;
+            this.title = title;
+            this.bodyBytes = bodyBytes;
+        }
+
+        public String getStatus() { return status; }
+        public String getTitle() { return title; }
+
+        /**
+         * 대략적인 메모리 사용량 (바이트)
+         */
+        int estimateSize(String url) {
+            return 64 + 2 * (url.length() + length(etag) + length(lastModified) + length(status) + length(title));
+        }
+
+        private static int length(String s) {
+            return s != null ? s.length() : 0;
+        }
+    }
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final int maxBytes;
+    private long usedBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong savedBytes = new AtomicLong();
+
+    public ProbeResponseCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    public ProbeResponseCache(int maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 조건부 요청 헤더 (저장된 항목이 없으면 빈 맵)
+     */
+    public synchronized Map<String, String> conditionalHeaders(String url) {
+        Map<String, String> headers = new HashMap<>();
+        Entry entry = entries.get(url);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return headers;
+        }
+        hits.incrementAndGet();
+        if (entry.etag != null) {
+            headers.put("If-None-Match", entry.etag);
+        }
+        if (entry.lastModified != null) {
+            headers.put("If-Modified-Since", entry.lastModified);
+        }
+        return headers;
+    }
+
+    /**
+     * 304 응답을 받았을 때 저장된 결과를 반환합니다.
+     */
+    public synchronized Entry onNotModified(String url) {
+        Entry entry = entries.get(url);
+        if (entry != null) {
+            notModified.incrementAndGet();
+            savedBytes.addAndGet(entry.bodyBytes);
+        }
+        return entry;
+    }
+
+    /**
+     * 전체 응답을 받은 뒤 판정 결과를 저장합니다. 검증 헤더가 없는 응답은 저장하지 않습니다.
+     */
+    public synchronized void store(String url, HttpHeaders headers, String status, String title, long bodyBytes) {
+        String etag = headers.firstValue("ETag").orElse(null);
+        String lastModified = headers.firstValue("Last-Modified").orElse(null);
+
+        Entry previous = entries.remove(url);
+        if (previous != null) {
+            usedBytes -= previous.estimateSize(url);
+        }
+        if (etag == null && lastModified == null) {
+            return;
+        }
+
+        Entry entry = new Entry(etag, lastModified, status, title, bodyBytes);
+        entries.put(url, entry);
+        usedBytes += entry.estimateSize(url);
+
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            usedBytes -= eldest.getValue().estimateSize(eldest.getKey());
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public long getHitCount() { return hits.get(); }
+    public long getMissCount() { return misses.get(); }
+    public long getNotModifiedCount() { return notModified.get(); }
+    public long getEvictionCount() { return evictions.get(); }
+
+    /**
+     * 304 응답으로 다시 받지 않은 본문 바이트 수
+     */
+    public long getSavedBytes() { return savedBytes.get(); }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 통계 요약 문자열
+     */
+    public synchronized String getStatsSummary() {
+        return String.format("항목 %d개 (%d KB), 적중 %d, 미적중 %d, 304 %d, 제거 %d, 절약 %d KB",
+            entries.size(), usedBytes / 1024, getHitCount(), getMissCount(), getNotModifiedCount(),
+            getEvictionCount(), getSavedBytes() / 1024);
+    }
+}
@@ -9,21 +9,30 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.time.Duration;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 /**
@@ -38,36 +47,64 @@ public class Recorder {
         String STATUS_RECORDING = "recording";
         String STATUS_ERROR = "error";
         String STATUS_CHECKING = "checking";
+        String STATUS_QUEUED = "queued";      // 녹화 대기열에서 빈 자리를 기다리는 중
+        String STATUS_STOPPING = "stopping";  // 중지 요청 후 녹화 프로그램 종료를 기다리는 중
         
         /**
          * 스트리머 상태 변경 시 호출되는 콜백 메서드
          * 
          * @param streamerName 상태가 변경된 스트리머 이름
-         * @param status 새로운 상태 (online, offline, recording, error, checking)
+         * @param status 새로운 상태 (online, offline, recording, queued, stopping, error, checking)
          */
         void onStatusChange(String streamerName, String status);
     }
     
     public static class StreamerInfo {
-        private String name;
-        private String url;
-        private String status;     // "online", "offline", "error", "recording"
-        private String title;
-        private String outputPath;
-        private String quality;
-        private boolean isRecording;
-        private String duration;
-        private LocalDateTime startTime;
-        private Thread recordThread;
-        private Process recordProcess;
+        /**
+         * 스트리머의 변하는 상태 (바꿀 때마다 새로 만들어 한 번에 교체하고 버전을 올림)
+         */
+        private static final class State {
+            final StreamerStatus status;
+            final StreamerStatus probed;      // 마지막 상태 확인 결과 (녹화 중에도 유지)
+            final String title;
+            final String duration;
+            final LocalDateTime startTime;
+            final long checkedAt;             // 이번 실행에서 마지막으로 상태를 확인한 시각 (0이면 저장된 상태)
+            final long version;
+            
+            State(StreamerStatus status, StreamerStatus probed, String title, String duration,
+                  LocalDateTime startTime, long checkedAt, long version) {
+                this.status = status;
+                this.probed = probed;
+                this.title = title;
+                this.duration = duration;
+                this.startTime = startTime;
+                this.checkedAt = checkedAt;
+                this.version = version;
+            }
+        }
+        
+        private volatile String name;
+        private volatile String url;
+        private volatile String outputPath;
+        private volatile String quality;
+        private final AtomicReference<State> state;
+        private volatile Process recordProcess;
+        private volatile HlsRecorder nativeRecorder; // 내장 HLS 녹화 (recorderProgram = native)
         private AtomicBoolean shouldStop;
+        private volatile String pollTier;   // 상태 확인 빈도 등급 (hot, normal, cold)
+        private volatile double bandwidthWeight; // 대역폭 제한 시 다른 녹화와 나눌 가중치 (1.0 = 기본)
+        private PlatformProbe probe;  // URL에 맞는 상태 확인기 (처음 사용할 때 결정)
+        private String channelId;     // 상태 확인기가 URL에서 추출한 채널 ID
+        private volatile String playbackUrl; // 상태 확인 시 알아낸 재생 주소 (HLS 등)
         
         public StreamerInfo() {
-            this.status = "online"; // 기본적으로 온라인으로 가정 (실제 상태는 곧 확인됨)
+            // 기본적으로 온라인으로 가정 (실제 상태는 곧 확인됨)
+            this.state = new AtomicReference<>(new State(StreamerStatus.ONLINE, StreamerStatus.ONLINE, null, "00:00:00", null, 0, 0));
             this.quality = "best";
-            this.isRecording = false;
-            this.duration = "00:00:00";
             this.shouldStop = new AtomicBoolean(false);
+            this.pollTier = "normal";
+            this.bandwidthWeight = 1.0;
         }
         
         // Getter 및 Setter 메서드
@@ -75,13 +112,27 @@ public class Recorder {
         public void setName(String name) { this.name = name; }
         
         public String getUrl() { return url; }
-        public void setUrl(String url) { this.url = url; }
+        public synchronized void setUrl(String url) {
+            this.url = url;
+            this.probe = null; // URL이 바뀌면 상태 확인기를 다시 결정
+            this.channelId = null;
+        }
         
-        public String getStatus() { return status; }
-        public void setStatus(String status) { this.status = status; }
+        public StreamerStatus getStreamerStatus() { return state.get().status; }
+        public String getStatus() { return state.get().status.getKey(); }
         
-        public String getTitle() { return title; }
-        public void setTitle(String title) { this.title = title; }
+        /**
+         * 상태가 바뀔 때마다 1씩 증가하는 버전
+         */
+        public long getVersion() { return state.get().version; }
+        
+        public String getTitle() { return state.get().title; }
+        public void setTitle(String title) {
+            State s;
+            do {
+                s = state.get();
+            } while (!state.compareAndSet(s, new State(s.status, s.probed, title, s.duration, s.startTime, s.checkedAt, s.version + 1)));
+        }
         
         public String getOutputPath() { return outputPath; }
         public void setOutputPath(String outputPath) { this.outputPath = outputPath; }
@@ -89,23 +140,198 @@ public class Recorder {
         public String getQuality() { return quality; }
         public void setQuality(String quality) { this.quality = quality; }
         
-        public boolean isRecording() { return isRecording; }
-        public void setRecording(boolean recording) { isRecording = recording; }
+        /**
+         * 녹화 중(대기중 포함) 여부 - 중지 요청 후 종료를 기다리는 중이면 false
+         */
+        public boolean isRecording() { return state.get().status.isRecording(); }
+        
+        public String getDuration() { return state.get().duration; }
+        public LocalDateTime getStartTime() { return state.get().startTime; }
         
-        public String getDuration() { return duration; }
-        public void setDuration(String duration) { this.duration = duration; }
+        /**
+         * 현재 상태가 expected일 때만 next로 바꿉니다.
+         * 녹화 단계에 들어가거나 나올 때 녹화 시간을 초기화하고, 녹화중이 되면 시작 시간을 기록합니다.
+         *
+         * @return 바꿨으면 true (다른 상태이거나 허용되지 않는 변경이면 false)
+         */
+        public boolean transition(StreamerStatus expected, StreamerStatus next) {
+            if (!expected.canTransitionTo(next)) {
+                return false;
+            }
+            State s;
+            do {
+                s = state.get();
+                if (s.status != expected) {
+                    return false;
+                }
+            } while (!state.compareAndSet(s, new State(next, s.probed, s.title,
+                next == StreamerStatus.STOPPING ? s.duration : "00:00:00",
+                next == StreamerStatus.RECORDING ? LocalDateTime.now() : s.startTime, s.checkedAt, s.version + 1)));
+            return true;
+        }
+        
+        /**
+         * 녹화 단계(대기중, 녹화중, 중지중)를 끝내고 마지막 상태 확인 결과에 따라 온라인 또는 오프라인으로 돌아갑니다.
+         *
+         * @return 바뀐 상태 (녹화 단계가 아니었으면 null)
+         */
+        public StreamerStatus leaveRecording() {
+            State s;
+            StreamerStatus next;
+            do {
+                s = state.get();
+                if (!s.status.isRecordingPhase()) {
+                    return null;
+                }
+                next = s.probed == StreamerStatus.ONLINE ? StreamerStatus.ONLINE : StreamerStatus.OFFLINE;
+            } while (!state.compareAndSet(s, new State(next, s.probed, s.title, "00:00:00", s.startTime, s.checkedAt, s.version + 1)));
+            return next;
+        }
+        
+        /**
+         * 상태 확인 결과 반영 (녹화 단계에서는 결과만 기억하고 상태는 유지)
+         *
+         * @param title 방송 제목 (null이면 유지)
+         * @return 반영 후 상태
+         */
+        public StreamerStatus applyProbeResult(StreamerStatus result, String title) {
+            State s;
+            State next;
+            do {
+                s = state.get();
+                StreamerStatus status = s.status.isRecordingPhase() ? s.status : result;
+                next = new State(status, result, title != null ? title : s.title, s.duration, s.startTime,
+                    System.currentTimeMillis(), s.version + 1);
+            } while (!state.compareAndSet(s, next));
+            return next.status;
+        }
+        
+        /**
+         * 저장해 둔 마지막 상태 확인 결과 복원 (프로그램 시작 시, 실제 확인 전까지 표시용)
+         */
+        public void restoreLastKnown(StreamerStatus status, String title) {
+            StreamerStatus restored = status.isRecordingPhase() || status == StreamerStatus.CHECKING ? StreamerStatus.OFFLINE : status;
+            State s;
+            do {
+                s = state.get();
+                if (s.checkedAt != 0 || s.status.isRecordingPhase()) {
+                    return; // 이미 이번 실행에서 확인됨
+                }
+            } while (!state.compareAndSet(s, new State(restored, restored, title != null ? title : s.title, s.duration,
+                s.startTime, 0, s.version + 1)));
+        }
+        
+        /**
+         * 마지막 상태 확인 결과 (녹화 중에도 유지되는 값)
+         */
+        public StreamerStatus getLastKnownStatus() { return state.get().probed; }
+        
+        /**
+         * 이번 실행에서 마지막으로 상태를 확인한 시각 (epoch 밀리초, 아직 확인 전이면 0)
+         */
+        public long getCheckedAt() { return state.get().checkedAt; }
         
-        public LocalDateTime getStartTime() { return startTime; }
-        public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+        /**
+         * 현재 상태가 expected일 때만 표시용 녹화 시간을 바꿉니다 (종료된 녹화의 시간이 다시 쓰이지 않도록).
+         */
+        public boolean updateDuration(StreamerStatus expected, String duration) {
+            State s;
+            do {
+                s = state.get();
+                if (s.status != expected) {
+                    return false;
+                }
+            } while (!state.compareAndSet(s, new State(s.status, s.probed, s.title, duration, s.startTime, s.checkedAt, s.version + 1)));
+            return true;
+        }
         
-        public Thread getRecordThread() { return recordThread; }
-        public void setRecordThread(Thread recordThread) { this.recordThread = recordThread; }
+        /**
+         * 현재 상태의 변경 불가능한 사본
+         */
+        public StreamerSnapshot snapshot() {
+            return new StreamerSnapshot(this, state.get());
+        }
         
         public Process getRecordProcess() { return recordProcess; }
         public void setRecordProcess(Process recordProcess) { this.recordProcess = recordProcess; }
         
+        public HlsRecorder getNativeRecorder() { return nativeRecorder; }
+        public void setNativeRecorder(HlsRecorder nativeRecorder) { this.nativeRecorder = nativeRecorder; }
+        
         public boolean getShouldStop() { return shouldStop.get(); }
         public void setShouldStop(boolean shouldStop) { this.shouldStop.set(shouldStop); }
+        
+        public double getBandwidthWeight() { return bandwidthWeight; }
+        public void setBandwidthWeight(double bandwidthWeight) { this.bandwidthWeight = bandwidthWeight > 0 ? bandwidthWeight : 1.0; }
+        
+        public String getPollTier() { return pollTier; }
+        public void setPollTier(String pollTier) { this.pollTier = PollScheduler.Tier.fromString(pollTier).name().toLowerCase(Locale.ROOT); }
+        
+        /**
+         * URL에 맞는 상태 확인기 (처음 호출할 때 찾아서 채널 ID와 함께 저장)
+         */
+        public synchronized PlatformProbe resolveProbe(PlatformProbeRegistry registry) {
+            if (probe == null && url != null) {
+                probe = registry.lookup(url);
+                channelId = probe.parseChannelId(url);
+            }
+            return probe;
+        }
+        
+        public synchronized String getChannelId() { return channelId; }
+        
+        public String getPlaybackUrl() { return playbackUrl; }
+        public void setPlaybackUrl(String playbackUrl) { this.playbackUrl = playbackUrl; }
+    }
+    
+    /**
+     * 스트리머 정보의 변경 불가능한 사본 (화면, 웹 API 표시용)
+     * 상태, 제목, 녹화 시간은 한 시점의 값이므로 서로 어긋나지 않습니다.
+     */
+    public static final class StreamerSnapshot {
+        private final String name;
+        private final String url;
+        private final String outputPath;
+        private final String quality;
+        private final String pollTier;
+        private final double bandwidthWeight;
+        private final StreamerStatus status;
+        private final String title;
+        private final String duration;
+        private final long checkedAt;
+        private final long version;
+        
+        private StreamerSnapshot(StreamerInfo info, StreamerInfo.State state) {
+            this.name = info.name;
+            this.url = info.url;
+            this.outputPath = info.outputPath;
+            this.quality = info.quality;
+            this.pollTier = info.pollTier;
+            this.bandwidthWeight = info.bandwidthWeight;
+            this.status = state.status;
+            this.title = state.title;
+            this.duration = state.duration;
+            this.checkedAt = state.checkedAt;
+            this.version = state.version;
+        }
+        
+        public String getName() { return name; }
+        public String getUrl() { return url; }
+        public String getOutputPath() { return outputPath; }
+        public String getQuality() { return quality; }
+        public String getPollTier() { return pollTier; }
+        public double getBandwidthWeight() { return bandwidthWeight; }
+        public StreamerStatus getStreamerStatus() { return status; }
+        public String getStatus() { return status.getKey(); }
+        public boolean isRecording() { return status.isRecording(); }
+        public String getTitle() { return title; }
+        public String getDuration() { return duration; }
+        public long getVersion() { return version; }
+        
+        /**
+         * 이번 실행에서 마지막으로 상태를 확인한 시각 (0이면 저장해 둔 이전 상태를 표시 중)
+         */
+        public long getCheckedAt() { return checkedAt; }
     }
     
     private Map<String, StreamerInfo> streamers;
@@ -114,13 +340,113 @@ public class Recorder {
     private int speedLimit;
     private boolean autoRecordEnabled;
     private boolean isMonitoringClipboard;
-    private RecorderCallback callback;
-    private ExecutorService executorService;
+    private final RecorderEventBus eventBus = new RecorderEventBus();
+    private RecorderEventBus.Subscription callbackSubscription; // setCallback으로 등록한 구독
     private ScheduledExecutorService statusCheckExecutor; // 상태 확인용 스케줄러
+    private ExecutorService probeExecutor; // 스트리머별 상태 확인 작업 실행기 (가상 스레드)
+    
+    // 상태 확인 주기 관련 설정
+    private static final long SWEEP_DEADLINE_MILLIS = 25000;  // 한 주기 전체 제한 시간
+    private static final long PROBE_TIMEOUT_MILLIS = 15000;   // 스트리머 1명 확인 제한 시간
+    private static final int MAX_CONCURRENT_PROBES = 32;      // 동시에 실행되는 상태 확인 수
+    private final Semaphore probePermits = new Semaphore(MAX_CONCURRENT_PROBES);
+    private final AtomicBoolean sweepInProgress = new AtomicBoolean(false);
+    private final AtomicLong skippedSweeps = new AtomicLong();
+    private volatile long lastSweepMillis;
+    private static final long STATS_LOG_INTERVAL_MILLIS = 60000; // 전체 통계 로그 간격 (주기 요약은 매번 출력)
+    private final AtomicLong lastStatsLogAt = new AtomicLong();
+    private volatile long initializedAtNanos;
+    private volatile long initialStatusMillis = -1; // 시작 후 모든 스트리머 상태를 처음 확인하기까지 걸린 시간
+    
+    // 상태 확인용 공유 HTTP 클라이언트 (연결 재사용, gzip)
+    private int httpConnectTimeout = 5;  // 초
+    private int httpReadTimeout = 10;    // 초
+    private final ProbeHttpClient httpClient = new ProbeHttpClient(
+        Duration.ofSeconds(httpConnectTimeout), Duration.ofSeconds(httpReadTimeout));
+    
+    // 스트리머별 상태 확인 일정
+    private final PollScheduler pollScheduler = new PollScheduler();
+    private final AtomicLong probeCount = new AtomicLong();
+    
+    // 트위치 채널 일괄 상태 확인
+    private final TwitchBatchProbe twitchBatchProbe = new TwitchBatchProbe(httpClient);
+    
+    // 진행 중인 녹화 세션 및 감시 스케줄러
+    private static final long STOP_GRACE_MILLIS = 5000; // 중지 요청 후 강제 종료까지 대기 시간
+    private final Map<String, RecordingSession> activeSessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService recordingSupervisor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "recording-supervisor");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ExecutorService recordingExecutor = Executors.newVirtualThreadPerTaskExecutor(); // 녹화 시작 및 종료 처리
+    
+    // 프로그램 종료 제한 시간 (녹화 수와 관계없이 전체에 적용) 및 강제 종료, 저장을 위해 남겨 둘 시간
+    private static final long SHUTDOWN_DEADLINE_MILLIS = 10000;
+    private static final long SHUTDOWN_FORCE_RESERVE_MILLIS = 3000;
+    private static final long SHUTDOWN_FLUSH_RESERVE_MILLIS = 1000;
+    private volatile boolean shuttingDown; // 종료 중에는 새 녹화를 시작하지 않음
+    
+    // 구독자별로 전달하지 못한 이벤트를 보관할 최대 개수
+    public static final int EVENT_QUEUE_CAPACITY = 256;
+    
+    // 녹화 프로그램 출력 로그 (파일당 최대 크기, 보관 개수) 및 출력이 멈춘 것으로 보는 시간
+    private static final long RECORDER_LOG_MAX_BYTES = 10L * 1024 * 1024;
+    private static final int RECORDER_LOG_BACKUPS = 2;
+    private static final long OUTPUT_STALL_MILLIS = 60000;
+    
+    // 전체 녹화 수신 대역폭 제한 (speedLimit KB/s를 녹화들이 가중치대로 나눠 사용)
+    private final BandwidthGovernor bandwidthGovernor = new BandwidthGovernor(0);
+    private static final String STREAMLINK_STDOUT = "--stdout";
+    private static final String PIPE_FORMAT = "mpegts"; // 표준 출력은 되감을 수 없으므로 스트리밍 가능한 형식으로 내보냄
+    private static final String PIPE_EXTENSION = ".ts";  // 속도 제한 중인 녹화만 사용 (그 외에는 기존처럼 .mp4로 직접 저장)
+    
+    // 동시 녹화 수 제한 및 시작 대기열 (0이면 제한 없음, 기존 설치와 같은 동작)
+    private int maxConcurrentRecordings = 0;
+    private final RecordingQueue recordingQueue = new RecordingQueue(maxConcurrentRecordings);
+    
+    // 녹화 중 끊김 자동 재연결 (_part2, _part3 ... 파일로 이어서 녹화)
+    private static final int RECONNECT_CONFIRM_ATTEMPTS = 3;          // 방송 진행 확인 시도 횟수
+    private static final long RECONNECT_CONFIRM_INTERVAL_MILLIS = 1000; // 확인 실패(오류) 시 재시도 간격
+    private static final int MAX_SHORT_RESTARTS = 3;                  // 곧바로 끊기는 재연결 허용 횟수
+    private boolean autoReconnectEnabled = true;
+    private final AtomicLong reconnectCount = new AtomicLong();
+    private final AtomicLong reconnectGapTotalMillis = new AtomicLong();
+    private final AtomicLong reconnectGapMaxMillis = new AtomicLong();
+    
+    // 녹화 파일 분할 (0이면 사용 안 함) - 다음 조각을 먼저 시작한 뒤 현재 조각을 종료
+    private int rotateMinutes = 0;
+    private int rotateSizeMb = 0;
+    
+    // 저장 공간 감시 (남은 공간이 부족하면 새 녹화 거부, 위험하면 우선순위가 낮은 녹화부터 중지)
+    private int minFreeSpaceMb = 2048;
+    private int criticalFreeSpaceMb = 512;
+    private final StorageMonitor storageMonitor = new StorageMonitor(
+        (long) minFreeSpaceMb * 1024 * 1024, (long) criticalFreeSpaceMb * 1024 * 1024);
+    private final Set<String> storageDeferred = ConcurrentHashMap.newKeySet(); // 공간 확보 후 다시 시작할 스트리머
+    
+    // 상태 확인용 외부 프로세스(streamlink) 실행 관리 (동시 실행 제한, 제한 시간 후 강제 종료)
+    private static final long PROCESS_PROBE_DEADLINE_MILLIS = 12000; // PROBE_TIMEOUT_MILLIS보다 짧게
+    private final ProbeProcessGovernor processGovernor = new ProbeProcessGovernor(
+        Math.max(2, Runtime.getRuntime().availableProcessors() / 2), PROCESS_PROBE_DEADLINE_MILLIS);
+    
+    // 조건부 요청용 응답 캐시 (ETag/Last-Modified)
+    private final ProbeResponseCache responseCache = new ProbeResponseCache();
+    
+    // 호스트별 플랫폼 상태 확인기
+    private final ChzzkProbe chzzkProbe = new ChzzkProbe(httpClient, responseCache);
+    private final PlatformProbeRegistry probeRegistry = new PlatformProbeRegistry(new GenericProbe(httpClient, responseCache));
     
     // 녹화 프로그램 선택 (streamlink, yt-dlp, ffmpeg)
     private String recorderProgram;
     
+    // 외부 도구 설치 여부 및 버전 캐시
+    private final ToolRegistry toolRegistry = new ToolRegistry();
+    
+    // 녹화 후처리 작업 대기열 (작업 2개 동시 실행, 재묶기는 1개씩)
+    private static final String POST_PROCESSING_JOURNAL = "postprocess_jobs.json";
+    private final PostProcessingQueue postProcessingQueue;
+    
     // 웹 서버 관련 설정
     private boolean webServerEnabled;
     private int webServerPort;
@@ -130,6 +456,15 @@ public class Recorder {
     private String nidAut;
     
     public Recorder() {
+        this(new File(POST_PROCESSING_JOURNAL));
+    }
+    
+    /**
+     * @param postProcessingJournal 끝나지 않은 후처리 작업을 저장할 파일
+     */
+    Recorder(File postProcessingJournal) {
+        this.postProcessingQueue = new PostProcessingQueue(
+            () -> toolRegistry.commandFor(ToolRegistry.FFMPEG), postProcessingJournal, 2, 1);
         this.streamers = new ConcurrentHashMap<>();
         this.cachePath = "cache";
         this.maxThreads = 4;
@@ -138,9 +473,20 @@ public class Recorder {
         this.isMonitoringClipboard = false;
         this.webServerEnabled = false;
         this.webServerPort = 8080;
-        this.executorService = Executors.newFixedThreadPool(maxThreads);
         this.statusCheckExecutor = Executors.newScheduledThreadPool(1);
+        this.probeExecutor = Executors.newVirtualThreadPerTaskExecutor();
         this.recorderProgram = "streamlink"; // 기본 녹화 프로그램
+        
+        // 플랫폼별 상태 확인기 등록
+        probeRegistry.register(new TwitchProbe(httpClient, responseCache, twitchBatchProbe));
+        probeRegistry.register(new YoutubeProbe(httpClient, responseCache));
+        probeRegistry.register(new AfreecaProbe(httpClient, responseCache));
+        probeRegistry.register(chzzkProbe);
+        
+        // 후처리 결과를 이벤트로 알림
+        postProcessingQueue.setFinishListener(job -> eventBus.publish(RecorderEventBus.Event.postProcessingDone(
+            job.getStreamerName(), job.getState() == PostProcessingQueue.State.DONE,
+            job.getFile().getName() + " - " + job.getMessage())));
     }
     
     /**
@@ -159,83 +505,84 @@ public class Recorder {
         return this.recorderProgram;
     }
     
+    /**
+     * 플랫폼 상태 확인기 레지스트리 가져오기
+     */
+    public PlatformProbeRegistry getProbeRegistry() {
+        return probeRegistry;
+    }
+    
+    /**
+     * 상태 확인 프로세스 실행 관리자 가져오기
+     */
+    public ProbeProcessGovernor getProcessGovernor() {
+        return processGovernor;
+    }
+    
+    /**
+     * 외부 도구 레지스트리 가져오기
+     */
+    public ToolRegistry getToolRegistry() {
+        return toolRegistry;
+    }
+    
     /**
      * 대체 녹화 프로그램 사용 가능 여부 확인
      */
     private boolean isYtDlpAvailable() {
-        try {
-            ProcessBuilder pb = new ProcessBuilder("yt-dlp", "--version");
-            Process process = pb.start();
-            int exitCode = process.waitFor();
-            
-            return exitCode == 0;
-        } catch (Exception e) {
-            System.err.println("yt-dlp 확인 실패: " + e.getMessage());
-            return false;
-        }
+        return toolRegistry.isAvailable(ToolRegistry.YT_DLP);
     }
     
     /**
      * FFmpeg 사용 가능 여부 확인
      */
     private boolean isFfmpegAvailable() {
-        try {
-            ProcessBuilder pb = new ProcessBuilder("ffmpeg", "-version");
-            Process process = pb.start();
-            int exitCode = process.waitFor();
-            
-            return exitCode == 0;
-        } catch (Exception e) {
-            System.err.println("FFmpeg 확인 실패: " + e.getMessage());
-            return false;
-        }
+        return toolRegistry.isAvailable(ToolRegistry.FFMPEG);
     }
     
     /**
      * streamlink 등 외부 도구 설치 여부 확인
      */
     private boolean checkExternalDependencies() {
-        try {
-            ProcessBuilder pb = new ProcessBuilder("streamlink", "--version");
-            Process process = pb.start();
-            int exitCode = process.waitFor();
-            
-            return exitCode == 0;
-        } catch (Exception e) {
-            System.err.println("Streamlink 확인 실패: " + e.getMessage());
-            return false;
-        }
+        return toolRegistry.isAvailable(ToolRegistry.STREAMLINK);
     }
     
     /**
      * 레코더 초기화
      */
     public boolean initialize() {
+        initializedAtNanos = System.nanoTime();
+        
         // 캐시 디렉토리 생성
         File cacheDir = new File(cachePath);
         if (!cacheDir.exists()) {
             cacheDir.mkdirs();
         }
         
-        // 설정 파일 로드
+        // 설정 파일 로드 (저장해 둔 마지막 상태로 목록을 바로 표시할 수 있음)
         boolean loaded = loadSettings();
         if (loaded) {
             System.out.println("설정 파일을 성공적으로 로드했습니다.");
-            
-            // 설정 파일 백업 생성
-            backupSettings();
         } else {
             System.out.println("설정 파일을 찾을 수 없거나 로드할 수 없습니다. 기본 설정을 사용합니다.");
         }
         
-        // 외부 의존성 확인
-        boolean dependenciesInstalled = checkExternalDependencies();
-        if (!dependenciesInstalled) {
-            System.err.println("경고: Streamlink가 설치되어 있지 않습니다. 온라인 상태 확인 및 녹화 기능이 작동하지 않을 수 있습니다.");
-        }
+        // 설정 백업과 외부 의존성 확인(프로세스 실행)은 화면 표시를 막지 않도록 백그라운드에서 진행
+        Thread.ofVirtual().name("startup-checks").start(() -> {
+            if (loaded) {
+                backupSettings();
+            }
+            if (!checkExternalDependencies()) {
+                System.err.println("경고: Streamlink가 설치되어 있지 않습니다. 온라인 상태 확인 및 녹화 기능이 작동하지 않을 수 있습니다.");
+            }
+        });
         
-        // 스트리머 상태 확인 스케줄러 시작
+        // 스트리머 상태 확인 스케줄러 시작 (첫 확인은 바로 백그라운드에서 시작)
         startStatusChecker();
+        startRecordingSupervisor();
+        
+        // 후처리 작업 시작 (이전 실행에서 남은 작업 포함)
+        postProcessingQueue.start();
         
         return true;
     }
@@ -247,8 +594,7 @@ public class Recorder {
         Path settingsPath = Paths.get("settings.json");
         if (Files.exists(settingsPath)) {
             try {
-                ObjectMapper mapper = new ObjectMapper();
-                Map<String, Object> settings = mapper.readValue(settingsPath.toFile(), Map.class);
+                Map<String, Object> settings = JsonCodec.MAPPER.readValue(settingsPath.toFile(), Map.class);
                 
                 // 설정 적용
                 if (settings.containsKey("maxThreads")) {
@@ -259,6 +605,30 @@ public class Recorder {
                     setSpeedLimit((Integer) settings.get("speedLimit"));
                 }
                 
+                if (settings.containsKey("autoReconnect")) {
+                    setAutoReconnectEnabled((Boolean) settings.get("autoReconnect"));
+                }
+                
+                if (settings.containsKey("rotateMinutes")) {
+                    setRotateMinutes((Integer) settings.get("rotateMinutes"));
+                }
+                
+                if (settings.containsKey("rotateSizeMb")) {
+                    setRotateSizeMb((Integer) settings.get("rotateSizeMb"));
+                }
+                
+                if (settings.containsKey("maxConcurrentRecordings")) {
+                    setMaxConcurrentRecordings((Integer) settings.get("maxConcurrentRecordings"));
+                }
+                
+                if (settings.containsKey("minFreeSpaceMb")) {
+                    setMinFreeSpaceMb((Integer) settings.get("minFreeSpaceMb"));
+                }
+                
+                if (settings.containsKey("criticalFreeSpaceMb")) {
+                    setCriticalFreeSpaceMb((Integer) settings.get("criticalFreeSpaceMb"));
+                }
+                
                 if (settings.containsKey("autoRecord")) {
                     setAutoRecordEnabled((Boolean) settings.get("autoRecord"));
                 }
@@ -275,6 +645,13 @@ public class Recorder {
                     setWebServerPort((Integer) settings.get("webServerPort"));
                 }
                 
+                // 상태 확인 HTTP 제한 시간
+                if (settings.containsKey("httpConnectTimeout") || settings.containsKey("httpReadTimeout")) {
+                    setHttpTimeouts(
+                        settings.containsKey("httpConnectTimeout") ? (Integer) settings.get("httpConnectTimeout") : httpConnectTimeout,
+                        settings.containsKey("httpReadTimeout") ? (Integer) settings.get("httpReadTimeout") : httpReadTimeout);
+                }
+                
                 // 녹화 프로그램 설정
                 if (settings.containsKey("recorderProgram")) {
                     setRecorderProgram((String) settings.get("recorderProgram"));
@@ -317,7 +694,21 @@ public class Recorder {
                             info.setOutputPath((String) streamerMap.get("outputPath"));
                         }
                         
+                        if (streamerMap.containsKey("pollTier")) {
+                            info.setPollTier((String) streamerMap.get("pollTier"));
+                        }
+                        
+                        if (streamerMap.get("bandwidthWeight") instanceof Number) {
+                            info.setBandwidthWeight(((Number) streamerMap.get("bandwidthWeight")).doubleValue());
+                        }
+                        
+                        if (streamerMap.containsKey("lastStatus")) {
+                            info.restoreLastKnown(StreamerStatus.fromString((String) streamerMap.get("lastStatus")),
+                                (String) streamerMap.get("lastTitle"));
+                        }
+                        
                         streamers.put(name, info);
+                        pollScheduler.register(name);
                     }
                 }
                 
@@ -336,18 +727,23 @@ public class Recorder {
      */
     public boolean saveSettings() {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.enable(SerializationFeature.INDENT_OUTPUT);
-            
-            ObjectNode rootNode = mapper.createObjectNode();
+            ObjectNode rootNode = JsonCodec.MAPPER.createObjectNode();
             
             // 기본 설정 저장
             rootNode.put("maxThreads", maxThreads);
             rootNode.put("speedLimit", speedLimit);
+            rootNode.put("maxConcurrentRecordings", maxConcurrentRecordings);
             rootNode.put("autoRecord", autoRecordEnabled);
+            rootNode.put("autoReconnect", autoReconnectEnabled);
+            rootNode.put("rotateMinutes", rotateMinutes);
+            rootNode.put("rotateSizeMb", rotateSizeMb);
+            rootNode.put("minFreeSpaceMb", minFreeSpaceMb);
+            rootNode.put("criticalFreeSpaceMb", criticalFreeSpaceMb);
             rootNode.put("cachePath", cachePath);
             rootNode.put("webServerEnabled", webServerEnabled);
             rootNode.put("webServerPort", webServerPort);
+            rootNode.put("httpConnectTimeout", httpConnectTimeout);
+            rootNode.put("httpReadTimeout", httpReadTimeout);
             rootNode.put("recorderProgram", recorderProgram);
             
             // 네이버 인증 정보 저장
@@ -369,13 +765,22 @@ public class Recorder {
                     streamerMap.put("outputPath", info.getOutputPath());
                 }
                 
+                streamerMap.put("pollTier", info.getPollTier());
+                streamerMap.put("bandwidthWeight", info.getBandwidthWeight());
+                
+                // 다음 시작 때 확인 전까지 보여줄 마지막 상태
+                streamerMap.put("lastStatus", info.getLastKnownStatus().getKey());
+                if (info.getTitle() != null) {
+                    streamerMap.put("lastTitle", info.getTitle());
+                }
+                
                 streamersList.add(streamerMap);
             }
             
             // 스트리머 목록을 rootNode에 추가
             rootNode.putPOJO("streamers", streamersList);
             
-            mapper.writeValue(new File("settings.json"), rootNode);
+            JsonCodec.PRETTY_WRITER.writeValue(new File("settings.json"), rootNode);
             
             System.out.println("설정이 성공적으로 저장되었습니다. 스트리머 수: " + streamers.size());
             return true;
@@ -446,6 +851,7 @@ public class Recorder {
         }
         
         streamers.put(name, info);
+        pollScheduler.register(name);
         return true;
     }
     
@@ -463,9 +869,54 @@ public class Recorder {
         }
         
         streamers.remove(name);
+        pollScheduler.remove(name);
+        return true;
+    }
+    
+    /**
+     * 스트리머 상태 확인 빈도 등급 설정 (hot, normal, cold)
+     */
+    public boolean setStreamerPollTier(String name, String tier) {
+        StreamerInfo info = streamers.get(name);
+        if (info == null) {
+            return false;
+        }
+        info.setPollTier(tier);
+        pollScheduler.scheduleNow(name);
+        return true;
+    }
+    
+    /**
+     * 스트리머의 대역폭 가중치 변경 (진행 중인 녹화에도 바로 적용)
+     */
+    public boolean setStreamerBandwidthWeight(String name, double weight) {
+        StreamerInfo info = streamers.get(name);
+        if (info == null || weight <= 0) {
+            return false;
+        }
+        info.setBandwidthWeight(weight);
+        RecordingSession session = activeSessions.get(name);
+        if (session != null) {
+            session.getBandwidth().setWeight(weight);
+            bandwidthGovernor.redistribute();
+        }
         return true;
     }
     
+    /**
+     * 스트리머의 다음 상태 확인 예정 시각 (epoch 밀리초, 없으면 -1)
+     */
+    public long getNextCheckAt(String name) {
+        return pollScheduler.getNextCheckAt(name);
+    }
+    
+    /**
+     * 시작 후 실행된 스트리머 상태 확인 횟수
+     */
+    public long getProbeCount() {
+        return probeCount.get();
+    }
+    
     /**
      * 스트리머 정보 가져오기
      */
@@ -474,33 +925,51 @@ public class Recorder {
     }
     
     /**
-     * 모든 스트리머 목록 가져오기
+     * 모든 스트리머 목록 가져오기 (변경 불가능한 사본)
      */
-    public List<StreamerInfo> getStreamers() {
-        return new ArrayList<>(streamers.values());
+    public List<StreamerSnapshot> getStreamers() {
+        List<StreamerSnapshot> snapshots = new ArrayList<>(streamers.size());
+        for (StreamerInfo info : streamers.values()) {
+            snapshots.add(info.snapshot());
+        }
+        return snapshots;
     }
     
     /**
      * 녹화 시작
      */
     public boolean startRecording(String name) {
+        if (shuttingDown) {
+            return false;
+        }
         StreamerInfo info = streamers.get(name);
         if (info != null && !info.isRecording()) {
-            if (RecorderCallback.STATUS_ONLINE.equals(info.getStatus())) {
-                info.setRecording(true);
-                info.setStatus(RecorderCallback.STATUS_RECORDING);
-                info.setStartTime(LocalDateTime.now()); // 실제 녹화 시작 시간 설정
-                info.setDuration("00:00:00"); // 녹화 시작 시 녹화 시간 초기화
-                
-                // 녹화 스레드 시작
-                Thread recordThread = new Thread(() -> recordWorker(info));
-                recordThread.setDaemon(true);
-                recordThread.start();
-                info.setRecordThread(recordThread);
+            if (info.getStreamerStatus() == StreamerStatus.ONLINE) {
+                // 저장 공간이 부족하면 시작하지 않고, 공간이 확보되면 다시 시작
+                if (!storageMonitor.canStart(resolveOutputPath(info))) {
+                    storageMonitor.recordRefusedStart();
+                    if (storageDeferred.add(name)) {
+                        System.err.println(name + " 저장 공간이 부족해 녹화를 시작하지 않습니다. 공간이 확보되면 다시 시작합니다.");
+                    }
+                    return false;
+                }
+                storageDeferred.remove(name);
                 
-                // 콜백 호출
-                if (callback != null) {
-                    callback.onStatusChange(name, RecorderCallback.STATUS_RECORDING);
+                synchronized (recordingQueue) {
+                    // 다른 스레드가 먼저 시작했거나 상태가 바뀌었으면 시작하지 않음
+                    if (!info.transition(StreamerStatus.ONLINE, StreamerStatus.QUEUED)) {
+                        return false;
+                    }
+                    info.setShouldStop(false);
+                    
+                    // 대기열에 추가 후 빈 자리가 있으면 바로 시작
+                    recordingQueue.enqueue(name, PollScheduler.Tier.fromString(info.getPollTier()));
+                    dispatchQueuedRecordings();
+                    
+                    if (info.getStreamerStatus() == StreamerStatus.QUEUED) {
+                        System.out.println(name + " 녹화 대기열에 추가되었습니다. (" + recordingQueue.getStatsSummary() + ")");
+                        publishStatus(name, RecorderCallback.STATUS_QUEUED);
+                    }
                 }
                 
                 return true;
@@ -512,8 +981,57 @@ public class Recorder {
         return false;
     }
     
+    /**
+     * 대기 중인 녹화를 빈 자리만큼 시작합니다.
+     * 우선순위(상태 확인 등급, 요청 순서)가 높은 요청부터 녹화 실행기에서 시작됩니다.
+     */
+    private void dispatchQueuedRecordings() {
+        synchronized (recordingQueue) {
+            if (shuttingDown) {
+                return;
+            }
+            RecordingQueue.Ticket ticket;
+            while ((ticket = recordingQueue.admit()) != null) {
+                StreamerInfo info = streamers.get(ticket.getName());
+                if (info == null || !info.isRecording() || info.getShouldStop()) {
+                    // 대기 중 삭제되거나 중지된 요청
+                    recordingQueue.release();
+                    continue;
+                }
+                
+                if (!storageMonitor.canStart(resolveOutputPath(info))) {
+                    // 대기하는 동안 저장 공간이 부족해진 요청
+                    System.err.println(info.getName() + " 저장 공간이 부족해 대기 중인 녹화를 시작하지 않습니다.");
+                    storageMonitor.recordRefusedStart();
+                    storageDeferred.add(info.getName());
+                    recordingQueue.release();
+                    if (info.transition(StreamerStatus.QUEUED, StreamerStatus.ONLINE)) {
+                        publishStatus(info.getName(), RecorderCallback.STATUS_ONLINE);
+                    }
+                    continue;
+                }
+                
+                long waitMillis = ticket.getWaitMillis();
+                if (waitMillis >= 1000) {
+                    System.out.println(info.getName() + " 녹화 대기 완료 (대기 시간 " + waitMillis / 1000 + "초)");
+                }
+                
+                // 실제 녹화 시작 시간은 상태 변경과 함께 기록
+                if (!info.transition(StreamerStatus.QUEUED, StreamerStatus.RECORDING)) {
+                    recordingQueue.release();
+                    continue;
+                }
+                publishStatus(info.getName(), RecorderCallback.STATUS_RECORDING);
+                
+                recordingExecutor.execute(() -> launchRecording(info, null));
+            }
+        }
+    }
+    
     /**
      * 녹화 중지
+     * 녹화 중이면 중지중 상태로 바꾸고 녹화 종료 처리(finishRecording)가 상태를 마무리하므로,
+     * 녹화 프로그램이 끝나기 전에는 다시 시작할 수 없습니다.
      */
     public boolean stopRecording(String name) {
         StreamerInfo info = streamers.get(name);
@@ -521,28 +1039,35 @@ public class Recorder {
             return false;
         }
         
-        // 녹화 중지 신호 전송
-        info.setShouldStop(true);
-        
-        // 녹화 프로세스 종료
-        Process process = info.getRecordProcess();
-        if (process != null) {
-            process.destroy();
+        synchronized (recordingQueue) {
+            // 아직 대기 중이면 대기열에서 제거하고 바로 녹화 전 상태로 돌아감
+            if (recordingQueue.cancel(name)) {
+                System.out.println(name + " 녹화 대기가 취소되었습니다.");
+                StreamerStatus next = info.leaveRecording();
+                if (next != null) {
+                    publishStatus(name, next.getKey());
+                }
+                return next != null;
+            }
+            
+            // 녹화 중지 신호 전송 (이미 중지 중이거나 끝났으면 무시)
+            if (!info.transition(StreamerStatus.RECORDING, StreamerStatus.STOPPING)) {
+                return false;
+            }
+            info.setShouldStop(true);
         }
         
-        // 상태 업데이트
-        info.setRecording(false);
-        info.setDuration("00:00:00"); // 녹화 시간 초기화
-        
-        // 콜백 호출
-        if (callback != null) {
-            if (RecorderCallback.STATUS_ONLINE.equals(info.getStatus())) {
-                callback.onStatusChange(name, RecorderCallback.STATUS_ONLINE);
+        // 녹화 종료 요청 (세션이 아직 없으면 시작 직후 중지됨, 프로그램 종료 중이면 강제 종료는 shutdown에서 일괄 처리)
+        RecordingSession session = activeSessions.get(name);
+        if (session != null) {
+            if (shuttingDown) {
+                session.signalStop();
             } else {
-                callback.onStatusChange(name, RecorderCallback.STATUS_OFFLINE);
+                session.requestStop(recordingSupervisor, STOP_GRACE_MILLIS);
             }
         }
         
+        publishStatus(name, RecorderCallback.STATUS_STOPPING);
         return true;
     }
     
@@ -552,7 +1077,7 @@ public class Recorder {
     public void startAllRecordings() {
         for (String name : streamers.keySet()) {
             StreamerInfo info = streamers.get(name);
-            if (RecorderCallback.STATUS_ONLINE.equals(info.getStatus()) && !info.isRecording()) {
+            if (info.getStreamerStatus() == StreamerStatus.ONLINE) {
                 startRecording(name);
             }
         }
@@ -570,203 +1095,618 @@ public class Recorder {
     }
     
     /**
-     * 녹화 작업 스레드
+     * 녹화 시작 작업 (실패하면 녹화 상태를 초기화)
+     * 
+     * @param part 이어서 녹화할 조각 (새 녹화이면 null)
      */
-    private void recordWorker(StreamerInfo info) {
-        long recordingStartTime = 0; // 실제 녹화 시작 시간
-        File outputFile = null; // 출력 파일 변수를 상위로 이동
-        
+    private void launchRecording(StreamerInfo info, RecordingPart part) {
+        boolean launched = false;
         try {
-            // 상태는 이미 startRecording에서 설정했으므로 중복 설정 제거
-            info.setShouldStop(false);
-            
-            // 녹화 파일 이름 생성 개선
-            String filename = createOutputFileName(info);
-            
-            // 출력 경로 설정 및 디렉토리 생성
-            String outputPath = info.getOutputPath();
-            if (outputPath == null || outputPath.trim().isEmpty()) {
-                outputPath = cachePath; // 기본 캐시 경로 사용
+            startPart(info, part);
+            launched = true;
+        } catch (Exception e) {
+            System.err.println("녹화 오류 발생: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            if (!launched) {
+                resetRecordingState(info);
             }
-            
-            // 경로 정규화
-            outputPath = normalizeOutputPath(outputPath);
+        }
+    }
+    
+    /**
+     * 녹화 조각 시작 (출력 파일 준비, 녹화 프로그램 실행, 세션 등록)
+     * 
+     * @param part 시작할 조각 (새 녹화이면 null)
+     * @return 등록된 녹화 세션
+     */
+    private RecordingSession startPart(StreamerInfo info, RecordingPart part) throws IOException {
+        long recordingStartTime; // 실제 녹화 시작 시간
+        File outputFile;
+        File outputDir;
+        if (part == null) {
+            // 녹화 파일 이름 생성 개선
+            String baseFilename = createOutputFileName(info);
             
             // 출력 디렉토리 생성
-            File outputDir = createOutputDirectory(outputPath);
-            
-            // 최종 출력 파일 객체 생성
-            outputFile = new File(outputDir, filename);
-            System.out.println("녹화 파일 경로: " + outputFile.getAbsolutePath());
-            
-            // URL에 따른 녹화 프로그램 자동 선택
-            String url = info.getUrl();
-            String effectiveRecorderProgram = recorderProgram;
-            
-            // Chzzk URL인 경우 특별 처리
-            boolean isChzzkUrl = url != null && url.contains("chzzk.naver.com");
-            if (isChzzkUrl) {
-                System.out.println("Chzzk URL 감지: " + url);
-                
-                // Chzzk URL인 경우 yt-dlp 우선 사용 (FFmpeg 대신)
-                if ("ffmpeg".equals(effectiveRecorderProgram) && isYtDlpAvailable()) {
-                    System.out.println("Chzzk 녹화를 위해 FFmpeg 대신 yt-dlp로 변경합니다");
-                    effectiveRecorderProgram = "yt-dlp";
-                }
+            outputDir = createOutputDirectory(resolveOutputPath(info));
+            part = RecordingPart.first(outputDir, baseFilename, System.currentTimeMillis());
+        } else {
+            // 재연결 또는 분할 - 같은 기본 파일명에 조각 번호를 붙여 이어서 녹화
+            outputDir = part.getOutputDir();
+        }
+        String filename = part.getFilename();
+        
+        // 최종 출력 파일 객체 생성
+        outputFile = new File(outputDir, filename);
+        System.out.println("녹화 파일 경로: " + outputFile.getAbsolutePath());
+        
+        // URL에 따른 녹화 프로그램 자동 선택
+        String url = info.getUrl();
+        String effectiveRecorderProgram = recorderProgram;
+        
+        // 플랫폼별 녹화 설정 (치지직 헤더 등)
+        PlatformProbe probe = info.resolveProbe(probeRegistry);
+        RecorderHints hints = probe != null ? probe.getRecorderHints() : RecorderHints.NONE;
+        if (hints.isPreferYtDlp()) {
+            System.out.println(probe.getPlatformName() + " URL 감지: " + url);
+            
+            // yt-dlp 우선 사용 플랫폼 (FFmpeg 대신)
+            if ("ffmpeg".equals(effectiveRecorderProgram) && isYtDlpAvailable()) {
+                System.out.println(probe.getPlatformName() + " 녹화를 위해 FFmpeg 대신 yt-dlp로 변경합니다");
+                effectiveRecorderProgram = "yt-dlp";
             }
-            
-            // 실제 녹화 시작 시간 기록 (프로세스 시작 전)
-            recordingStartTime = System.currentTimeMillis();
-            System.out.println("녹화 준비 시간: " + new java.util.Date(recordingStartTime));
-            
-            // 명령어 구성 - 선택한 녹화 프로그램에 따라 다른 명령 사용
-            List<String> command = new ArrayList<>();
-            ProcessBuilder pb = new ProcessBuilder();
-            
-            // 환경 변수 설정
-            Map<String, String> env = pb.environment();
-            env.put("PYTHONIOENCODING", "utf-8");
-            env.put("PYTHONUNBUFFERED", "1");
-            
-            switch (effectiveRecorderProgram.toLowerCase()) {
-                case "yt-dlp":
-                    // yt-dlp를 사용하는 경우
-                    if (!isYtDlpAvailable()) {
-                        System.out.println("yt-dlp가 설치되어 있지 않아 streamlink로 대체합니다.");
-                        buildStreamlinkCommand(command, info, outputFile);
-                    } else {
-                        buildYtDlpCommand(command, info, outputFile);
-                    }
-                    break;
-                    
-                case "ffmpeg":
-                    // FFmpeg를 직접 사용하는 경우
-                    if (!isFfmpegAvailable()) {
-                        System.out.println("FFmpeg가 설치되어 있지 않아 streamlink로 대체합니다.");
-                        buildStreamlinkCommand(command, info, outputFile);
-                    } else {
-                        buildFfmpegCommand(command, info, outputFile, isChzzkUrl);
-                    }
-                    break;
-                    
-                case "streamlink":
-                default:
-                    // 기본값: streamlink 사용
-                    buildStreamlinkCommand(command, info, outputFile);
-                    break;
+        }
+        
+        // 실제 녹화 시작 시간 기록 (프로세스 시작 전)
+        recordingStartTime = System.currentTimeMillis();
+        System.out.println("녹화 준비 시간: " + new java.util.Date(recordingStartTime));
+        
+        // 대역폭 채널 (세션이 끝나면 반납)
+        BandwidthGovernor.Channel bandwidth = bandwidthGovernor.register(info.getName(), info.getBandwidthWeight());
+        
+        // 내장 HLS 녹화 (외부 프로세스 없이 녹화)
+        HlsRecorder hlsRecorder = null;
+        if ("native".equalsIgnoreCase(effectiveRecorderProgram)) {
+            hlsRecorder = startNativeRecording(info, outputFile, hints, bandwidth);
+            if (hlsRecorder != null) {
+                outputFile = hlsRecorder.getOutputFile();
+                info.setNativeRecorder(hlsRecorder);
+            } else {
+                System.out.println("내장 HLS 녹화를 시작할 수 없어 streamlink로 대체합니다.");
+                effectiveRecorderProgram = "streamlink";
+            }
+        }
+        
+        Process process = null;
+        boolean pipedOutput = false;
+        if (hlsRecorder == null) {
+            // 속도 제한 중이면 표준 출력(MPEG-TS)으로 받아 Java에서 대역폭 몫을 지키며 파일에 씀
+            pipedOutput = isBandwidthThrottled(info);
+            if (pipedOutput) {
+                outputFile = HlsRecorder.replaceExtension(outputFile, PIPE_EXTENSION);
+            }
+            List<String> command = buildRecordCommand(info, effectiveRecorderProgram, outputFile, hints, pipedOutput);
+            try {
+                process = startRecordProcess(command, pipedOutput);
+            } catch (IOException e) {
+                bandwidth.close();
+                throw e;
             }
-            
-            // 로그에 명령어 출력
-            System.out.println("실행 명령어: " + String.join(" ", command));
-            
-            // 프로세스 환경 설정
-            pb.command(command);
-            pb.redirectErrorStream(true);
-            
-            // 표준 출력 로깅 설정
-            File logFile = new File(outputDir, filename + "_log.txt");
-            pb.redirectOutput(ProcessBuilder.Redirect.appendTo(logFile));
-            
-            // 프로세스 시작 준비
-            System.out.println("녹화 프로세스 시작 중...");
-            
-            // 프로세스 시작
-            Process process = pb.start();
             info.setRecordProcess(process);
             
             // 프로세스 시작 시간 기록
             long processStartTime = System.currentTimeMillis();
             System.out.println("프로세스 시작 시간: " + new java.util.Date(processStartTime));
             System.out.println("프로세스 시작 소요 시간: " + (processStartTime - recordingStartTime) + "ms");
-            
-            // 프로세스 종료 대기
-            while (!info.getShouldStop()) {
-                try {
-                    // 프로세스 상태 확인
-                    if (!process.isAlive()) {
-                        int exitCode = process.exitValue();
-                        System.out.println(info.getName() + " 녹화 프로세스가 종료되었습니다. 상태 코드: " + exitCode);
-                        
-                        // 오류 코드인 경우 로그 추가
-                        if (exitCode != 0) {
-                            System.err.println("오류 발생: 프로세스가 비정상 종료됨 (코드: " + exitCode + ")");
-                        }
-                        break;
-                    }
-                    
-                    // 녹화 시간 업데이트 - 현재 시간 - 시작 시간 (실제 녹화 시작 시간 기준)
-                    long currentTime = System.currentTimeMillis();
-                    long elapsedMillis = currentTime - recordingStartTime;
-                    long elapsedSeconds = elapsedMillis / 1000;
-                    
-                    String durationText = formatRecordingDuration(elapsedSeconds);
-                    info.setDuration(durationText);
-                    
-                    // 파일 존재 여부와 크기 정기적으로 확인 (5초마다)
-                    if (currentTime % 5000 < 1000) {
-                        if (outputFile.exists()) {
-                            long fileSizeMB = outputFile.length() / (1024 * 1024);
-                            System.out.println(info.getName() + " 녹화 중: " + info.getDuration() + 
-                                " (파일 크기: " + fileSizeMB + " MB)");
-                        } else {
-                            System.out.println(info.getName() + " 녹화 중이지만 파일이 아직 생성되지 않음: " + info.getDuration());
-                        }
-                    }
-                    
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    break;
-                }
+        }
+        
+        // 재연결인 경우 끊긴 시간(공백) 기록
+        long startedMillis = System.currentTimeMillis();
+        if (RecordingPart.REASON_RECONNECT.equals(part.getReason())) {
+            recordReconnect(info, part, part.gapUntil(startedMillis));
+        }
+        
+        // 녹화 세션 등록 - 종료는 onExit 완료로 처리 (녹화를 기다리는 스레드 없음)
+        String platformName = probe != null ? probe.getPlatformName() : "";
+        RecordingSession session = hlsRecorder != null
+            ? RecordingSession.forNative(info.getName(), hlsRecorder, hints, platformName, part, startedMillis, bandwidth)
+            : RecordingSession.forProcess(info.getName(), process, outputFile, hints, platformName, part, startedMillis,
+                bandwidth, pipedOutput);
+        activeSessions.put(info.getName(), session);
+        
+        // 녹화 프로그램 출력 해석 및 크기 제한 로그 기록
+        session.startOutputReader(new RotatingLogWriter(new File(outputDir, filename + "_log.txt"),
+            RECORDER_LOG_MAX_BYTES, RECORDER_LOG_BACKUPS));
+        session.onExit().whenCompleteAsync((exitCode, error) -> finishRecording(info, session, exitCode), recordingExecutor);
+        eventBus.publish(RecorderEventBus.Event.recordingStarted(info.getName(), outputFile.getName()));
+        
+        // 시작하는 동안 중지 요청이 들어온 경우
+        if (info.getShouldStop()) {
+            if (shuttingDown) {
+                session.signalStop();
+            } else {
+                session.requestStop(recordingSupervisor, STOP_GRACE_MILLIS);
             }
+        }
+        return session;
+    }
+    
+    /**
+     * 녹화 종료 처리 (프로세스 종료 또는 중지 요청 후)
+     */
+    void finishRecording(StreamerInfo info, RecordingSession session, Integer exitCode) {
+        long endedMillis = System.currentTimeMillis();
+        boolean handedOff = session.markFinished(); // 분할된 조각이면 다음 조각이 녹화를 이어받음
+        try {
+            activeSessions.remove(info.getName(), session);
             
-            // 프로세스 종료
-            if (process.isAlive()) {
-                process.destroy();
-                try {
-                    // 최대 5초간 정상 종료 대기
-                    if (!process.waitFor(5, TimeUnit.SECONDS)) {
-                        process.destroyForcibly(); // 강제 종료
-                    }
-                } catch (InterruptedException e) {
-                    process.destroyForcibly();
+            boolean unexpected = !session.isStopRequested() && !info.getShouldStop();
+            if (unexpected) {
+                System.out.println(info.getName() + " 녹화 프로세스가 종료되었습니다. 상태 코드: " + exitCode);
+                
+                // 오류 코드인 경우 로그 추가
+                if (exitCode != null && exitCode != 0) {
+                    System.err.println("오류 발생: 프로세스가 비정상 종료됨 (코드: " + exitCode + ")");
                 }
             }
             
-            System.out.println(info.getName() + " 녹화가 완료되었습니다. 파일: " + outputFile.getName());
-            
-            // 치지직 URL인 경우 추가 후처리
-            if (info.getUrl() != null && info.getUrl().contains("chzzk.naver.com") 
-                && outputFile != null && outputFile.exists() && outputFile.length() > 0) {
-                System.out.println("치지직 녹화 파일 후처리 시작: " + outputFile.getName());
-                fixVideoMetadata(outputFile);
+            RecordingPart part = session.getPart();
+            File outputFile = session.getOutputFile();
+            long gapMillis = part.gapUntil(session.getStartMillis());
+            eventBus.publish(RecorderEventBus.Event.recordingStopped(info.getName(), outputFile.getName(), exitCode));
+            
+            if (handedOff) {
+                // 분할 완료 - 끝난 조각은 방송이 계속되는 동안 바로 후처리할 수 있음
+                RecordingSidecar.append(part, outputFile, session.getStartMillis(), endedMillis, exitCode, gapMillis);
+                System.out.println(info.getName() + " 녹화 조각이 완료되었습니다. 파일: " + outputFile.getName());
+            } else if (unexpected && shouldReconnect(info, session, endedMillis)) {
+                // 방송 중에 끊긴 경우 다음 조각 파일로 바로 이어서 녹화 (후처리보다 먼저)
+                RecordingSidecar.append(part, outputFile, session.getStartMillis(), endedMillis, exitCode, gapMillis);
+                RecordingPart next = part.next(session.getStartMillis(), endedMillis, RecordingPart.REASON_RECONNECT);
+                System.out.println(info.getName() + " 방송이 계속 진행 중이므로 이어서 녹화합니다: " + next.getFilename());
+                handedOff = true;
+                launchRecording(info, next); // 실패 시 내부에서 녹화 상태 초기화
+            } else {
+                if (part.getNumber() > 1) {
+                    RecordingSidecar.append(part, outputFile, session.getStartMillis(), endedMillis, exitCode, gapMillis);
+                }
+                System.out.println(info.getName() + " 녹화가 완료되었습니다. 파일: " + outputFile.getName());
             }
             
+            // 메타데이터 보정이 필요한 플랫폼(치지직)인 경우 후처리 대기열에 추가 (여기서 기다리지 않음)
+            if (session.getHints().isFixMetadata()
+                && outputFile.getName().endsWith(".mp4") && outputFile.exists() && outputFile.length() > 0) {
+                System.out.println(session.getPlatformName() + " 녹화 파일 후처리 예약: " + outputFile.getName());
+                postProcessingQueue.submit(PostProcessingQueue.TYPE_FIX_METADATA, outputFile, info.getName());
+            }
         } catch (Exception e) {
-            System.err.println("녹화 오류 발생: " + e.getMessage());
+            System.err.println("녹화 종료 처리 오류: " + e.getMessage());
             e.printStackTrace();
         } finally {
-            // 녹화 상태 업데이트
-            info.setRecording(false);
-            info.setRecordProcess(null);
-            info.setDuration("00:00:00"); // 녹화 종료 시 녹화 시간 초기화
+            if (!handedOff) {
+                resetRecordingState(info);
+            }
+        }
+    }
+    
+    /**
+     * 녹화 조각 분할
+     * 다음 조각의 녹화를 먼저 시작해 준비된 뒤 현재 조각을 종료하므로 끊김 없이 넘어갑니다.
+     */
+    private void rotateRecording(StreamerInfo info, RecordingSession session, String cause) {
+        if (!session.beginRotation()) {
+            return;
+        }
+        
+        RecordingPart next = session.getPart().next(session.getStartMillis(), System.currentTimeMillis(), RecordingPart.REASON_ROTATE);
+        System.out.println(info.getName() + " 녹화 파일 분할 (" + cause + "): " + next.getFilename());
+        try {
+            startPart(info, next);
+            session.requestStop(recordingSupervisor, STOP_GRACE_MILLIS);
+        } catch (Exception e) {
+            System.err.println(info.getName() + " 녹화 파일 분할 실패, 현재 파일에 계속 녹화합니다: " + e.getMessage());
+            if (session.abortRotation()) {
+                // 분할 중에 현재 조각도 끝난 경우
+                resetRecordingState(info);
+            }
+        }
+    }
+    
+    /**
+     * 분할 조건(조각 녹화 시간, 파일 크기)에 도달했는지 확인합니다.
+     * 
+     * @return 분할 이유 (분할하지 않으면 null)
+     */
+    private String rotationCause(RecordingSession session, long fileSize) {
+        if (rotateMinutes > 0 && session.getPartElapsedMillis() >= TimeUnit.MINUTES.toMillis(rotateMinutes)) {
+            return rotateMinutes + "분";
+        }
+        if (rotateSizeMb > 0 && fileSize >= (long) rotateSizeMb * 1024 * 1024) {
+            return rotateSizeMb + "MB";
+        }
+        return null;
+    }
+    
+    /**
+     * 예기치 않게 끝난 녹화를 이어서 녹화할지 결정합니다.
+     * 방송이 아직 진행 중인지 상태 확인기로 바로 확인하며, 곧바로 끊기는 재연결이 반복되면 중단합니다.
+     */
+    private boolean shouldReconnect(StreamerInfo info, RecordingSession session, long endedMillis) {
+        if (!autoReconnectEnabled || !info.isRecording()) {
+            return false;
+        }
+        if (endedMillis - session.getStartMillis() < RecordingPart.SHORT_PART_MILLIS
+            && session.getPart().getShortRestarts() >= MAX_SHORT_RESTARTS) {
+            System.err.println(info.getName() + " 녹화가 시작 직후 계속 끊겨 재연결을 중단합니다.");
+            return false;
+        }
+        
+        PlatformProbe probe = info.resolveProbe(probeRegistry);
+        if (probe == null) {
+            return false;
+        }
+        for (int attempt = 1; attempt <= RECONNECT_CONFIRM_ATTEMPTS && !info.getShouldStop(); attempt++) {
+            PlatformProbe.Result result = probe.probe(info.getChannelId(), info.getUrl());
+            if (RecorderCallback.STATUS_ONLINE.equals(result.getStatus())) {
+                if (result.getPlaybackUrl() != null) {
+                    info.setPlaybackUrl(result.getPlaybackUrl());
+                }
+                return true;
+            }
+            if (RecorderCallback.STATUS_OFFLINE.equals(result.getStatus())) {
+                System.out.println(info.getName() + " 방송이 종료되어 녹화를 마칩니다.");
+                return false;
+            }
             
-            // 콜백 호출
-            if (callback != null) {
-                String currentStatus = RecorderCallback.STATUS_ONLINE.equals(info.getStatus()) 
-                    || RecorderCallback.STATUS_RECORDING.equals(info.getStatus())
-                    ? RecorderCallback.STATUS_ONLINE 
-                    : RecorderCallback.STATUS_OFFLINE;
-                info.setStatus(currentStatus);
-                callback.onStatusChange(info.getName(), currentStatus);
+            // 확인 오류 (네트워크 순간 장애 등) - 잠시 후 다시 확인
+            try {
+                Thread.sleep(RECONNECT_CONFIRM_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
             }
         }
+        return false;
+    }
+    
+    /**
+     * 재연결 공백(이전 조각 종료부터 다음 조각 시작까지) 기록
+     */
+    private void recordReconnect(StreamerInfo info, RecordingPart part, long gapMillis) {
+        reconnectCount.incrementAndGet();
+        reconnectGapTotalMillis.addAndGet(gapMillis);
+        reconnectGapMaxMillis.accumulateAndGet(gapMillis, Math::max);
+        System.out.println(info.getName() + " 재연결 완료: " + part.getNumber() + "번째 조각, 공백 " + gapMillis + "ms ("
+            + getReconnectStatsSummary() + ")");
+    }
+    
+    /**
+     * 재연결 통계 요약 문자열
+     */
+    public String getReconnectStatsSummary() {
+        long count = reconnectCount.get();
+        return String.format("재연결 %d회 (평균 공백 %dms, 최대 %dms)",
+            count, reconnectGapTotalMillis.get() / Math.max(1, count), reconnectGapMaxMillis.get());
+    }
+    
+    public long getReconnectCount() {
+        return reconnectCount.get();
+    }
+    
+    /**
+     * 녹화 상태 초기화 및 상태 변경 알림 (녹화 자리를 반납하고 대기 중인 녹화를 시작)
+     */
+    private void resetRecordingState(StreamerInfo info) {
+        info.setRecordProcess(null);
+        info.setNativeRecorder(null);
+        
+        // 녹화중/중지중 -> 마지막 상태 확인 결과(온라인, 오프라인)
+        StreamerStatus next = info.leaveRecording();
+        if (next != null) {
+            publishStatus(info.getName(), next.getKey());
+        }
+        
+        recordingQueue.release();
+        dispatchQueuedRecordings();
     }
     
     /**
-     * 상태 업데이트 콜백 설정
+     * 녹화 감시 작업 시작
+     * 스케줄러 하나가 모든 녹화의 경과 시간 갱신과 대역폭 재분배를 1초마다,
+     * 파일 크기와 저장 공간 확인을 5초마다 합니다.
      */
-    public void setCallback(RecorderCallback callback) {
-        this.callback = callback;
+    private void startRecordingSupervisor() {
+        recordingSupervisor.scheduleAtFixedRate(this::tickRecordingDurations, 1, 1, TimeUnit.SECONDS);
+        recordingSupervisor.scheduleAtFixedRate(this::sampleRecordingFiles, 5, 5, TimeUnit.SECONDS);
+        recordingSupervisor.scheduleAtFixedRate(this::checkStorage, 0, 5, TimeUnit.SECONDS);
+        recordingSupervisor.scheduleAtFixedRate(bandwidthGovernor::rebalance, 1, 1, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * 출력 경로가 있는 디스크의 남은 공간 확인
+     * 위험 단계인 디스크는 우선순위가 가장 낮은 녹화를 하나씩 중지하고,
+     * 공간이 확보되면 공간 부족으로 시작하지 못한 녹화를 다시 시작합니다.
+     */
+    private void checkStorage() {
+        try {
+            Set<String> paths = new LinkedHashSet<>();
+            paths.add(normalizeOutputPath(cachePath));
+            for (StreamerInfo info : streamers.values()) {
+                paths.add(resolveOutputPath(info));
+            }
+            
+            for (StorageMonitor.Volume volume : storageMonitor.sample(paths)) {
+                if (volume.getLevel() == StorageMonitor.Level.CRITICAL) {
+                    stopLowestPriorityRecording(volume);
+                }
+            }
+            
+            // 공간 부족으로 미뤄둔 녹화 다시 시작
+            for (String name : storageDeferred) {
+                StreamerInfo info = streamers.get(name);
+                StreamerStatus status = info != null ? info.getStreamerStatus() : StreamerStatus.OFFLINE;
+                if (status == StreamerStatus.STOPPING) {
+                    continue; // 중지한 녹화가 끝난 뒤 다시 확인
+                }
+                if (status != StreamerStatus.ONLINE) {
+                    storageDeferred.remove(name); // 삭제되었거나 방송이 끝났거나 이미 녹화 중
+                } else if (storageMonitor.canStart(resolveOutputPath(info))) {
+                    System.out.println(name + " 저장 공간이 확보되어 녹화를 다시 시작합니다.");
+                    startRecording(name);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("저장 공간 확인 오류: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 디스크에서 진행 중인 녹화 중 우선순위가 가장 낮은 녹화를 중지
+     * 상태 확인 등급이 낮은(COLD) 녹화, 같은 등급이면 가장 최근에 시작한 녹화부터 중지합니다.
+     */
+    private void stopLowestPriorityRecording(StorageMonitor.Volume volume) {
+        RecordingSession victim = null;
+        PollScheduler.Tier victimTier = null;
+        for (RecordingSession session : activeSessions.values()) {
+            StreamerInfo info = streamers.get(session.getStreamerName());
+            if (info == null || session.isStopRequested()
+                || !storageMonitor.isOnVolume(session.getPart().getOutputDir().getPath(), volume)) {
+                continue;
+            }
+            PollScheduler.Tier tier = PollScheduler.Tier.fromString(info.getPollTier());
+            if (victim == null || tier.ordinal() > victimTier.ordinal()
+                || (tier == victimTier
+                    && session.getPart().getRecordingStartMillis() > victim.getPart().getRecordingStartMillis())) {
+                victim = session;
+                victimTier = tier;
+            }
+        }
+        if (victim == null) {
+            return;
+        }
+        
+        String name = victim.getStreamerName();
+        long secondsUntilFull = volume.getSecondsUntilFull();
+        System.err.println("저장 공간 위험 (" + volume.getName() + " 남은 공간 "
+            + StorageMonitor.formatBytes(volume.getUsableBytes())
+            + (secondsUntilFull >= 0 ? ", 약 " + secondsUntilFull + "초 후 가득 참" : "")
+            + "): " + name + " 녹화를 중지합니다.");
+        storageMonitor.recordForcedStop();
+        if (stopRecording(name)) {
+            storageDeferred.add(name);
+        }
+    }
+    
+    private void tickRecordingDurations() {
+        for (RecordingSession session : activeSessions.values()) {
+            StreamerInfo info = streamers.get(session.getStreamerName());
+            if (info != null) {
+                info.updateDuration(StreamerStatus.RECORDING, formatRecordingDuration(session.getElapsedMillis() / 1000));
+            }
+        }
+        
+        // 대기 중인 녹화는 대기 시간 표시
+        for (RecordingQueue.Ticket ticket : recordingQueue.getPending()) {
+            StreamerInfo info = streamers.get(ticket.getName());
+            if (info != null) {
+                info.updateDuration(StreamerStatus.QUEUED, "대기 " + formatRecordingDuration(ticket.getWaitMillis() / 1000));
+            }
+        }
+    }
+    
+    private void sampleRecordingFiles() {
+        for (RecordingSession session : activeSessions.values()) {
+            try {
+                long previousSize = session.getLastFileSize();
+                long size = session.sampleFileSize();
+                String duration = formatRecordingDuration(session.getElapsedMillis() / 1000);
+                if (size >= 0) {
+                    RecordingProgress progress = session.getProgress();
+                    System.out.println(session.getStreamerName() + " 녹화 중: " + duration + 
+                        " (파일 크기: " + size / (1024 * 1024) + " MB, " + progress.getSummary() + ")");
+                    if (size == previousSize && progress.getIdleMillis() >= OUTPUT_STALL_MILLIS) {
+                        // 파일도 커지지 않고 출력도 없으면 멈춘 녹화
+                        System.err.println(session.getStreamerName() + " 녹화가 멈춘 것 같습니다. 출력 없음 " + progress.getIdleMillis() / 1000
+                            + "초" + (progress.getLastError() != null ? ", 마지막 오류: " + progress.getLastError() : ""));
+                    }
+                    
+                    // 분할 조건에 도달하면 녹화 실행기에서 다음 조각 시작
+                    String cause = rotationCause(session, size);
+                    StreamerInfo info = streamers.get(session.getStreamerName());
+                    if (cause != null && info != null && !session.isStopRequested()) {
+                        recordingExecutor.execute(() -> rotateRecording(info, session, cause));
+                    }
+                } else {
+                    System.out.println(session.getStreamerName() + " 녹화 중이지만 파일이 아직 생성되지 않음: " + duration);
+                }
+            } catch (Exception e) {
+                System.err.println("녹화 파일 확인 오류: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * 외부 녹화를 표준 출력으로 받아 속도를 제한해야 하는지 확인합니다.
+     * 전체 제한이 있거나 기본이 아닌 가중치를 지정한 경우만 해당하고, 그 외에는 녹화 프로그램이 .mp4에 직접 씁니다.
+     * (시작할 때 정하므로 녹화 중에 바꾼 제한은 다음 조각부터 적용)
+     */
+    private boolean isBandwidthThrottled(StreamerInfo info) {
+        return bandwidthGovernor.getLimitBytesPerSecond() > 0 || info.getBandwidthWeight() != 1.0;
+    }
+    
+    /**
+     * 외부 녹화 프로그램 명령어 구성 (설치되지 않은 프로그램은 streamlink로 대체)
+     * 
+     * @param piped 녹화 데이터를 출력 파일 대신 표준 출력(MPEG-TS)으로 내보낼지 여부
+     */
+    private List<String> buildRecordCommand(StreamerInfo info, String effectiveRecorderProgram, File outputFile,
+                                            RecorderHints hints, boolean piped) {
+        List<String> command = new ArrayList<>();
+        switch (effectiveRecorderProgram.toLowerCase()) {
+            case "yt-dlp":
+                // yt-dlp를 사용하는 경우
+                if (!isYtDlpAvailable()) {
+                    System.out.println("yt-dlp가 설치되어 있지 않아 streamlink로 대체합니다.");
+                    buildStreamlinkCommand(command, info, outputFile, hints, piped);
+                } else {
+                    buildYtDlpCommand(command, info, outputFile, hints, piped);
+                }
+                break;
+                
+            case "ffmpeg":
+                // FFmpeg를 직접 사용하는 경우
+                if (!isFfmpegAvailable()) {
+                    System.out.println("FFmpeg가 설치되어 있지 않아 streamlink로 대체합니다.");
+                    buildStreamlinkCommand(command, info, outputFile, hints, piped);
+                } else {
+                    buildFfmpegCommand(command, info, outputFile, hints, piped);
+                }
+                break;
+                
+            case "streamlink":
+            default:
+                // 기본값: streamlink 사용
+                buildStreamlinkCommand(command, info, outputFile, hints, piped);
+                break;
+        }
+        return command;
+    }
+    
+    /**
+     * 외부 녹화 프로세스를 시작합니다.
+     * 
+     * @param pipedOutput 녹화 데이터를 표준 출력으로 내보내는 명령이면 true (로그는 표준 오류로 분리)
+     */
+    private Process startRecordProcess(List<String> command, boolean pipedOutput) throws IOException {
+        ProcessBuilder pb = new ProcessBuilder();
+        
+        // 환경 변수 설정
+        Map<String, String> env = pb.environment();
+        env.put("PYTHONIOENCODING", "utf-8");
+        env.put("PYTHONUNBUFFERED", "1");
+        
+        // 로그에 명령어 출력
+        System.out.println("실행 명령어: " + String.join(" ", command));
+        
+        // 프로세스 환경 설정 - 출력은 RecordingSession이 읽어 해석하고 로그 파일에 기록
+        pb.command(command);
+        pb.redirectErrorStream(!pipedOutput);
+        
+        // 프로세스 시작 준비
+        System.out.println("녹화 프로세스 시작 중...");
+        
+        // 프로세스 시작
+        return pb.start();
+    }
+    
+    /**
+     * 내장 HLS 녹화 시작
+     * 
+     * @return 시작한 녹화 (재생목록을 찾지 못하거나 시작에 실패하면 null)
+     */
+    private HlsRecorder startNativeRecording(StreamerInfo info, File outputFile, RecorderHints hints,
+                                             BandwidthGovernor.Channel bandwidth) {
+        String playlistUrl = resolveHlsPlaylistUrl(info);
+        if (playlistUrl == null) {
+            return null;
+        }
+        HlsRecorder recorder = new HlsRecorder(httpClient, playlistUrl, info.getQuality(), hints.getHttpHeaders(),
+            outputFile, maxThreads);
+        recorder.setBandwidthChannel(bandwidth);
+        try {
+            File actualFile = recorder.start();
+            System.out.println("내장 HLS 녹화 시작: " + actualFile.getName());
+            return recorder;
+        } catch (IOException e) {
+            System.err.println("내장 HLS 녹화 시작 실패: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * 녹화할 HLS 재생목록 주소 찾기
+     * 상태 확인에서 얻은 재생 주소, .m3u8 URL, streamlink --stream-url 순서로 시도합니다.
+     */
+    private String resolveHlsPlaylistUrl(StreamerInfo info) {
+        if (info.getPlaybackUrl() != null) {
+            return info.getPlaybackUrl();
+        }
+        String url = info.getUrl();
+        if (url.toLowerCase(Locale.ROOT).contains(".m3u8")) {
+            return url;
+        }
+        if (!checkExternalDependencies()) {
+            return null;
+        }
+        
+        List<String> command = List.of(toolRegistry.commandFor(ToolRegistry.STREAMLINK), "--stream-url", url, info.getQuality());
+        try {
+            ProbeProcessGovernor.Outcome outcome = processGovernor.run("stream-url " + url + " " + info.getQuality(),
+                command, Map.of("PYTHONIOENCODING", "utf-8"));
+            String streamUrl = outcome.getOutput().trim();
+            if (!outcome.isKilled() && outcome.getExitCode() == 0 && streamUrl.startsWith("http")) {
+                return streamUrl;
+            }
+            System.err.println("streamlink에서 재생 주소를 얻지 못했습니다: " + url);
+        } catch (IOException e) {
+            System.err.println("재생 주소 확인 오류: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+    
+    /**
+     * 상태 업데이트 콜백 설정 (이전 콜백은 해제)
+     * 콜백은 이벤트 전달 스레드에서 비동기로 호출됩니다. 다른 이벤트도 받으려면 getEventBus()로 구독합니다.
+     */
+    public synchronized void setCallback(RecorderCallback callback) {
+        if (callbackSubscription != null) {
+            callbackSubscription.close();
+            callbackSubscription = null;
+        }
+        if (callback != null) {
+            callbackSubscription = eventBus.subscribe("callback", EVENT_QUEUE_CAPACITY, event -> {
+                if (event.getType() == RecorderEventBus.Type.STATUS_CHANGED) {
+                    callback.onStatusChange(event.getStreamerName(), event.getStatus());
+                }
+            });
+        }
+    }
+    
+    /**
+     * 녹화기 이벤트 전달 (상태 변경, 녹화 시작/종료, 후처리 완료, 상태 확인 실패)
+     */
+    public RecorderEventBus getEventBus() {
+        return eventBus;
+    }
+    
+    /**
+     * 상태 변경 이벤트 발행
+     */
+    private void publishStatus(String name, String status) {
+        eventBus.publish(RecorderEventBus.Event.statusChanged(name, status));
     }
     
     // Getter 및 Setter 메서드
@@ -791,10 +1731,80 @@ public class Recorder {
     public void setMaxThreads(int maxThreads) {
         if (maxThreads > 0) {
             this.maxThreads = maxThreads;
+        }
+    }
+    
+    public int getMaxConcurrentRecordings() {
+        return maxConcurrentRecordings;
+    }
+    
+    /**
+     * 최대 동시 녹화 수 설정 (0이면 제한 없음)
+     */
+    public void setMaxConcurrentRecordings(int maxConcurrentRecordings) {
+        if (maxConcurrentRecordings >= 0) {
+            this.maxConcurrentRecordings = maxConcurrentRecordings;
+            recordingQueue.setMaxConcurrent(maxConcurrentRecordings);
             
-            // 스레드 풀 재설정
-            executorService.shutdown();
-            executorService = Executors.newFixedThreadPool(maxThreads);
+            // 제한이 늘어난 경우 대기 중인 녹화 시작
+            dispatchQueuedRecordings();
+        }
+    }
+    
+    /**
+     * 녹화 후처리 작업 대기열
+     */
+    public PostProcessingQueue getPostProcessingQueue() {
+        return postProcessingQueue;
+    }
+    
+    /**
+     * 녹화 시작 대기열
+     */
+    public RecordingQueue getRecordingQueue() {
+        return recordingQueue;
+    }
+    
+    /**
+     * 진행 중인 녹화의 진행 통계 (녹화 중이 아니면 null)
+     */
+    public RecordingProgress getRecordingProgress(String name) {
+        RecordingSession session = activeSessions.get(name);
+        return session != null ? session.getProgress() : null;
+    }
+    
+    /**
+     * 저장 공간 감시
+     */
+    public StorageMonitor getStorageMonitor() {
+        return storageMonitor;
+    }
+    
+    public int getMinFreeSpaceMb() {
+        return minFreeSpaceMb;
+    }
+    
+    /**
+     * 새 녹화를 시작하는 최소 남은 공간 설정 (MB)
+     */
+    public void setMinFreeSpaceMb(int minFreeSpaceMb) {
+        if (minFreeSpaceMb >= 0) {
+            this.minFreeSpaceMb = minFreeSpaceMb;
+            storageMonitor.setMinFreeBytes((long) minFreeSpaceMb * 1024 * 1024);
+        }
+    }
+    
+    public int getCriticalFreeSpaceMb() {
+        return criticalFreeSpaceMb;
+    }
+    
+    /**
+     * 진행 중인 녹화를 중지하기 시작하는 남은 공간 설정 (MB)
+     */
+    public void setCriticalFreeSpaceMb(int criticalFreeSpaceMb) {
+        if (criticalFreeSpaceMb >= 0) {
+            this.criticalFreeSpaceMb = criticalFreeSpaceMb;
+            storageMonitor.setCriticalFreeBytes((long) criticalFreeSpaceMb * 1024 * 1024);
         }
     }
     
@@ -802,12 +1812,23 @@ public class Recorder {
         return speedLimit;
     }
     
+    /**
+     * 전체 녹화 수신 속도 제한 설정 (KB/s, 0이면 무제한)
+     */
     public void setSpeedLimit(int speedLimit) {
         if (speedLimit >= 0) {
             this.speedLimit = speedLimit;
+            bandwidthGovernor.setLimitBytesPerSecond((long) speedLimit * 1024);
         }
     }
     
+    /**
+     * 전체 녹화 수신 대역폭 제한
+     */
+    public BandwidthGovernor getBandwidthGovernor() {
+        return bandwidthGovernor;
+    }
+    
     public boolean isAutoRecordEnabled() {
         return autoRecordEnabled;
     }
@@ -816,6 +1837,43 @@ public class Recorder {
         this.autoRecordEnabled = autoRecordEnabled;
     }
     
+    public boolean isAutoReconnectEnabled() {
+        return autoReconnectEnabled;
+    }
+    
+    /**
+     * 녹화 중 끊김 자동 재연결 설정
+     */
+    public void setAutoReconnectEnabled(boolean autoReconnectEnabled) {
+        this.autoReconnectEnabled = autoReconnectEnabled;
+    }
+    
+    public int getRotateMinutes() {
+        return rotateMinutes;
+    }
+    
+    /**
+     * 녹화 파일 분할 시간 설정 (분, 0이면 사용 안 함)
+     */
+    public void setRotateMinutes(int rotateMinutes) {
+        if (rotateMinutes >= 0) {
+            this.rotateMinutes = rotateMinutes;
+        }
+    }
+    
+    public int getRotateSizeMb() {
+        return rotateSizeMb;
+    }
+    
+    /**
+     * 녹화 파일 분할 크기 설정 (MB, 0이면 사용 안 함)
+     */
+    public void setRotateSizeMb(int rotateSizeMb) {
+        if (rotateSizeMb >= 0) {
+            this.rotateSizeMb = rotateSizeMb;
+        }
+    }
+    
     public boolean isWebServerEnabled() {
         return webServerEnabled;
     }
@@ -834,6 +1892,32 @@ public class Recorder {
         }
     }
     
+    public int getHttpConnectTimeout() {
+        return httpConnectTimeout;
+    }
+    
+    public int getHttpReadTimeout() {
+        return httpReadTimeout;
+    }
+    
+    /**
+     * 상태 확인 HTTP 연결/응답 제한 시간 설정 (초)
+     */
+    public void setHttpTimeouts(int connectTimeout, int readTimeout) {
+        if (connectTimeout > 0 && readTimeout > 0) {
+            this.httpConnectTimeout = connectTimeout;
+            this.httpReadTimeout = readTimeout;
+            httpClient.setTimeouts(Duration.ofSeconds(connectTimeout), Duration.ofSeconds(readTimeout));
+        }
+    }
+    
+    /**
+     * 상태 확인용 공유 HTTP 클라이언트 (연결 재사용 및 전송량 통계 확인용)
+     */
+    public ProbeHttpClient getHttpClient() {
+        return httpClient;
+    }
+    
     public String getNaverId() {
         return naverId;
     }
@@ -856,6 +1940,7 @@ public class Recorder {
     
     public void setNidSes(String nidSes) {
         this.nidSes = nidSes;
+        chzzkProbe.setSession(nidSes, nidAut);
     }
     
     public String getNidAut() {
@@ -864,6 +1949,7 @@ public class Recorder {
     
     public void setNidAut(String nidAut) {
         this.nidAut = nidAut;
+        chzzkProbe.setSession(nidSes, nidAut);
     }
     
     /**
@@ -875,735 +1961,562 @@ public class Recorder {
     
     /**
      * 스트리머 상태 확인 스케줄러 시작
+     * 1초마다 확인 시각이 된 스트리머만 골라 확인합니다. 확인 간격은 스트리머별로 PollScheduler가 정합니다.
      */
     private void startStatusChecker() {
-        // 10초마다 모든 스트리머의 상태를 확인 (기존 30초에서 단축)
-        statusCheckExecutor.scheduleAtFixedRate(() -> {
-            System.out.println("[" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) + "] 스트리머 상태 확인 시작");
-            checkAllStreamersStatus();
-        }, 0, 10, TimeUnit.SECONDS);
+        statusCheckExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                checkDueStreamers();
+            } catch (Exception e) {
+                System.err.println("상태 확인 예약 처리 오류: " + e.getMessage());
+            }
+        }, 0, 1, TimeUnit.SECONDS);
     }
     
     /**
-     * 모든 스트리머 상태 확인
+     * 확인 시각이 된 스트리머의 상태를 확인합니다.
+     * 이전 주기가 끝나지 않았으면 이번 주기는 건너뛰고, 확인 시각이 된 스트리머는 다음 주기에 확인합니다.
      */
-    public void checkAllStreamersStatus() {
-        try {
-            System.out.println("총 " + streamers.size() + "명의 스트리머 상태 확인 중...");
-            for (StreamerInfo info : streamers.values()) {
-                checkStreamerStatus(info);
+    private void checkDueStreamers() {
+        if (!pollScheduler.hasDue(System.currentTimeMillis())) {
+            return;
+        }
+        if (!sweepInProgress.compareAndSet(false, true)) {
+            skippedSweeps.incrementAndGet();
+            return;
+        }
+        
+        List<StreamerInfo> due = new ArrayList<>();
+        for (String name : pollScheduler.pollDue(System.currentTimeMillis())) {
+            StreamerInfo info = streamers.get(name);
+            if (info != null) {
+                due.add(info);
             }
+        }
+        if (due.isEmpty()) {
+            sweepInProgress.set(false);
+            return;
+        }
+        
+        try {
+            probeExecutor.submit(() -> {
+                try {
+                    sweep(due);
+                } finally {
+                    sweepInProgress.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            sweepInProgress.set(false);
+        }
+    }
+    
+    /**
+     * 지정한 스트리머들의 상태를 병렬로 확인하고 다음 확인 시각을 예약합니다.
+     */
+    private void sweep(List<StreamerInfo> targets) {
+        Map<String, StreamerStatus> previousStatus = new HashMap<>();
+        for (StreamerInfo info : targets) {
+            previousStatus.put(info.getName(), info.getStreamerStatus());
+        }
+        
+        long sweepStart = System.nanoTime();
+        int timedOut = 0;
+        try {
+            List<StreamerInfo> remaining = probeTwitchInBatches(targets);
+            timedOut = runProbes(remaining);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             System.err.println("스트리머 상태 확인 중 오류 발생: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            probeCount.addAndGet(targets.size());
+            for (StreamerInfo info : targets) {
+                pollScheduler.reschedule(info.getName(), PollScheduler.Tier.fromString(info.getPollTier()),
+                    isLiveStatus(previousStatus.get(info.getName())), isLiveStatus(info.getStreamerStatus()));
+            }
+            
+            lastSweepMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sweepStart);
+            System.out.println("[" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) + "] "
+                + "상태 확인 주기 완료: " + targets.size() + "명, 소요 시간 " + lastSweepMillis + "ms"
+                + (timedOut > 0 ? ", 제한 시간 초과 " + timedOut + "명" : "") + ", 누적 확인 " + probeCount.get() + "회"
+                + (skippedSweeps.get() > 0 ? ", 진행 중이라 건너뛴 주기 누적 " + skippedSweeps.get() + "회" : ""));
+            logStatsIfDue();
+            logInitialStatusesIfComplete();
         }
     }
     
     /**
-     * 특정 스트리머 상태 수동 갱신
+     * 전체 통계를 1분에 한 번만 기록합니다 (확인 주기는 1초마다 돌 수 있으므로).
      */
-    public void forceUpdateStreamerStatus(String name) {
-        StreamerInfo info = streamers.get(name);
-        if (info != null) {
-            System.out.println(name + " 스트리머 상태 수동 갱신 시도...");
-            checkStreamerStatus(info);
+    private void logStatsIfDue() {
+        long now = System.currentTimeMillis();
+        long last = lastStatsLogAt.get();
+        if (now - last < STATS_LOG_INTERVAL_MILLIS || !lastStatsLogAt.compareAndSet(last, now)) {
+            return;
         }
+        System.out.println("HTTP 통계: " + httpClient.getStatsSummary());
+        System.out.println("응답 캐시: " + responseCache.getStatsSummary());
+        System.out.println("확인 프로세스: " + processGovernor.getStatsSummary());
+        System.out.println("녹화 대기열: " + recordingQueue.getStatsSummary());
+        System.out.println("녹화 재연결: " + getReconnectStatsSummary());
+        System.out.println("후처리: " + postProcessingQueue.getStatsSummary());
+        System.out.println("저장 공간: " + storageMonitor.getStatsSummary());
+        System.out.println("수신 대역폭: " + bandwidthGovernor.getStatsSummary());
+        System.out.println("이벤트: " + eventBus.getStatsSummary());
     }
     
     /**
-     * 모든 스트리머 상태 수동 갱신
+     * 시작 후 모든 스트리머의 상태를 처음으로 확인했으면 걸린 시간을 기록합니다 (한 번만).
      */
-    public void forceUpdateAllStreamers() {
-        System.out.println("모든 스트리머 상태 수동 갱신 시작...");
-        
-        if (streamers.isEmpty()) {
-            System.out.println("등록된 스트리머가 없습니다.");
+    private void logInitialStatusesIfComplete() {
+        if (initialStatusMillis >= 0) {
             return;
         }
-        
-        try {
-            System.out.println("총 " + streamers.size() + "명의 스트리머 상태 확인 중...");
-            
-            // 각 스트리머에 대해 동기적으로 상태 확인
-            for (StreamerInfo info : streamers.values()) {
-                // 초기에 상태를 업데이트하여 UI에 반영
-                if (callback != null) {
-                    callback.onStatusChange(info.getName(), "checking");
-                }
-                
-                // 상태 확인
-                checkStreamerStatus(info);
-                
-                // UI 업데이트를 위한 약간의 지연
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    // 무시
-                }
+        for (StreamerInfo info : streamers.values()) {
+            if (info.getCheckedAt() == 0) {
+                return;
+            }
+        }
+        synchronized (this) {
+            if (initialStatusMillis < 0) {
+                initialStatusMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - initializedAtNanos);
+                System.out.println("초기 상태 확인 완료: " + streamers.size() + "명, 시작 후 " + initialStatusMillis + "ms");
             }
-            
-            System.out.println("모든 스트리머 상태 갱신 완료.");
-        } catch (Exception e) {
-            System.err.println("스트리머 상태 확인 중 오류 발생: " + e.getMessage());
-            e.printStackTrace();
         }
     }
     
     /**
-     * 특정 스트리머의 상태 확인
+     * 시작 후 모든 스트리머 상태를 처음 확인하기까지 걸린 시간 (밀리초, 아직이면 -1)
      */
-    private void checkStreamerStatus(StreamerInfo info) {
-        String url = info.getUrl();
-        if (url == null || url.isEmpty()) {
-            return;
+    public long getInitialStatusMillis() {
+        return initialStatusMillis;
+    }
+    
+    /**
+     * 방송 중(온라인 또는 녹화 단계) 상태인지 여부
+     */
+    private static boolean isLiveStatus(StreamerStatus status) {
+        return status == StreamerStatus.ONLINE || (status != null && status.isRecordingPhase());
+    }
+    
+    /**
+     * 스트리머 상태 확인 작업을 병렬로 실행하고 주기 제한 시간까지 기다립니다.
+     * 
+     * @return 제한 시간 안에 끝나지 않아 취소된 작업 수
+     */
+    private int runProbes(List<StreamerInfo> targets) throws InterruptedException {
+        List<Future<?>> futures = new ArrayList<>(targets.size());
+        for (StreamerInfo info : targets) {
+            futures.add(probeExecutor.submit(() -> runBoundedProbe(info)));
         }
         
-        // 이전 상태를 저장
-        String oldStatus = info.getStatus();
-        String streamerName = info.getName();
-        
-        System.out.println("[상태 확인] " + streamerName + " 스트리머 상태 확인 중... (현재: " + oldStatus + ")");
-        
-        try {
-            // 먼저 streamlink로 확인 시도
-            boolean streamlinkAvailable = checkExternalDependencies();
-            
-            if (streamlinkAvailable) {
-                // streamlink로 상태 확인
-                System.out.println("[상태 확인] " + streamerName + " - streamlink 확인 방식 사용");
-                checkWithStreamlink(info);
-            } else {
-                // HTTP 요청으로 상태 확인 (간단한 대체 방법)
-                System.out.println("[상태 확인] " + streamerName + " - HTTP 요청 확인 방식 사용");
-                checkWithHttpRequest(info);
-            }
-            
-            // 상태 확인 결과 출력
-            System.out.println("[상태 확인] " + streamerName + " 상태 확인 결과: " + oldStatus + " -> " + info.getStatus());
-            
-            // 상태가 변경되었으면 콜백 호출
-            if (!oldStatus.equals(info.getStatus()) && callback != null) {
-                System.out.println("[상태 변경] " + streamerName + " 상태가 변경됨: " + oldStatus + " -> " + info.getStatus());
-                callback.onStatusChange(info.getName(), info.getStatus());
-                
-                // 자동 녹화가 활성화되어 있고, 상태가 온라인이 되었으면 녹화 시작
-                if (autoRecordEnabled && "online".equals(info.getStatus()) && !info.isRecording()) {
-                    System.out.println("[자동 녹화] " + streamerName + " 자동 녹화 시작");
-                    startRecording(info.getName());
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("[오류] " + streamerName + " 스트리머 상태 확인 오류: " + e.getMessage());
-            e.printStackTrace();
-            
-            // 에러 상태로 변경
-            info.setStatus("error");
-            
-            // 상태가 변경되었으면 콜백 호출
-            if (!oldStatus.equals("error") && callback != null) {
-                callback.onStatusChange(info.getName(), "error");
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SWEEP_DEADLINE_MILLIS);
+        int timedOut = 0;
+        for (Future<?> future : futures) {
+            long remaining = deadline - System.nanoTime();
+            try {
+                future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                timedOut++;
+            } catch (ExecutionException e) {
+                System.err.println("스트리머 상태 확인 작업 오류: " + e.getCause());
             }
         }
+        return timedOut;
     }
     
     /**
-     * Streamlink를 사용해 스트리머 상태 확인
+     * 트위치 스트리머를 GQL 묶음 요청으로 확인합니다.
+     * 
+     * @return 묶음 요청으로 확인하지 못해 개별 확인이 필요한 스트리머 목록
      */
-    private void checkWithStreamlink(StreamerInfo info) {
-        try {
-            ProcessBuilder pb = new ProcessBuilder("streamlink", info.getUrl(), "--json");
-            // 환경 변수에 UTF-8 인코딩 설정 추가
-            pb.environment().put("PYTHONIOENCODING", "utf-8");
-            Process process = pb.start();
-            
-            // InputStreamReader에 UTF-8 인코딩 명시
-            java.io.BufferedReader reader = new java.io.BufferedReader(
-                new java.io.InputStreamReader(process.getInputStream(), "UTF-8"));
-            StringBuilder output = new StringBuilder();
-            String line;
-            
-            while ((line = reader.readLine()) != null) {
-                output.append(line);
+    private List<StreamerInfo> probeTwitchInBatches(List<StreamerInfo> targets) throws InterruptedException {
+        Map<String, List<StreamerInfo>> twitchByLogin = new LinkedHashMap<>();
+        List<StreamerInfo> remaining = new ArrayList<>();
+        for (StreamerInfo info : targets) {
+            PlatformProbe probe = info.resolveProbe(probeRegistry);
+            String channelName = probe instanceof TwitchProbe ? info.getChannelId() : null;
+            if (channelName == null || channelName.isEmpty()) {
+                remaining.add(info);
+            } else {
+                twitchByLogin.computeIfAbsent(channelName.toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(info);
             }
-            
-            int exitCode = process.waitFor();
-            
-            if (exitCode == 0) {
-                // JSON 파싱
-                ObjectMapper mapper = new ObjectMapper();
-                Map<String, Object> result = mapper.readValue(output.toString(), Map.class);
-                
-                // 방송 제목 가져오기
-                if (result.containsKey("metadata") && result.get("metadata") instanceof Map) {
-                    Map<String, Object> metadata = (Map<String, Object>) result.get("metadata");
-                    if (metadata.containsKey("title")) {
-                        info.setTitle((String) metadata.get("title"));
+        }
+        if (twitchByLogin.isEmpty()) {
+            return remaining;
+        }
+        
+        List<List<String>> batches = twitchBatchProbe.partition(new ArrayList<>(twitchByLogin.keySet()));
+        List<Future<Map<String, TwitchBatchProbe.Result>>> futures = new ArrayList<>(batches.size());
+        for (List<String> batch : batches) {
+            futures.add(probeExecutor.submit(() -> twitchBatchProbe.queryBatch(batch)));
+        }
+        
+        Set<String> resolved = new HashSet<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PROBE_TIMEOUT_MILLIS);
+        for (Future<Map<String, TwitchBatchProbe.Result>> future : futures) {
+            try {
+                Map<String, TwitchBatchProbe.Result> results = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                for (Map.Entry<String, TwitchBatchProbe.Result> entry : results.entrySet()) {
+                    List<StreamerInfo> infos = twitchByLogin.get(entry.getKey());
+                    if (infos != null) {
+                        for (StreamerInfo info : infos) {
+                            applyTwitchResult(info, entry.getValue());
+                        }
+                        resolved.add(entry.getKey());
                     }
                 }
-                
-                // 스트림 정보 확인
-                if (result.containsKey("streams") && !((Map) result.get("streams")).isEmpty()) {
-                    // 스트림이 있으면 온라인
-                    info.setStatus("online");
-                } else {
-                    // 스트림이 없으면 오프라인
-                    info.setStatus("offline");
-                }
-            } else {
-                // 프로세스 실패
-                info.setStatus("offline");
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                System.err.println("트위치 일괄 확인 제한 시간 초과");
+            } catch (ExecutionException e) {
+                System.err.println("트위치 일괄 확인 오류: " + e.getCause().getMessage());
+            }
+        }
+        
+        for (Map.Entry<String, List<StreamerInfo>> entry : twitchByLogin.entrySet()) {
+            if (!resolved.contains(entry.getKey())) {
+                remaining.addAll(entry.getValue());
             }
-        } catch (Exception e) {
-            info.setStatus("error");
-            System.err.println("Streamlink 확인 오류: " + e.getMessage());
         }
+        System.out.println("트위치 일괄 확인: " + resolved.size() + "/" + twitchByLogin.size() + "개 채널, 요청 " + batches.size() + "회");
+        return remaining;
     }
     
     /**
-     * HTTP 요청으로 스트리머 상태 확인 (단순 접속 확인)
+     * 트위치 일괄 확인 결과를 스트리머 상태에 반영합니다.
      */
-    private void checkWithHttpRequest(StreamerInfo info) {
-        try {
-            String url = info.getUrl();
-            if (url == null || url.isEmpty()) {
-                info.setStatus("error");
-                return;
-            }
-            
-            // URL 도메인에 따라 다른 확인 방법 적용
-            if (url.contains("twitch.tv")) {
-                checkTwitchStreamer(info);
-            } else if (url.contains("youtube.com") || url.contains("youtu.be")) {
-                checkYoutubeStreamer(info);
-            } else if (url.contains("afreecatv.com")) {
-                checkAfreecaStreamer(info);
-            } else {
-                // 기본 확인 방법
-                checkGenericUrl(info);
-            }
-        } catch (Exception e) {
-            info.setStatus("error");
-            System.err.println("HTTP 요청 오류: " + e.getMessage());
+    private void applyTwitchResult(StreamerInfo info, TwitchBatchProbe.Result result) {
+        StreamerStatus oldStatus = info.getStreamerStatus();
+        boolean firstCheck = info.getCheckedAt() == 0;
+        if (result.isLive()) {
+            info.applyProbeResult(StreamerStatus.ONLINE, result.getTitle());
+        } else {
+            info.applyProbeResult(StreamerStatus.OFFLINE, null);
         }
+        System.out.println("[상태 확인] " + info.getName() + " 상태 확인 결과 (트위치 일괄): " + oldStatus.getKey() + " -> " + info.getStatus());
+        onStatusChecked(info, oldStatus, firstCheck);
     }
     
     /**
-     * 트위치 스트리머 상태 확인
+     * 동시 실행 수와 개별 제한 시간을 지키며 스트리머 1명의 상태를 확인합니다.
+     * 취소해도 막힌 소켓 읽기는 바로 끝나지 않으므로, 자리는 확인 작업이 실제로 끝날 때 반납합니다.
      */
-    private void checkTwitchStreamer(StreamerInfo info) {
+    private void runBoundedProbe(StreamerInfo info) {
         try {
-            String url = info.getUrl();
-            // 채널 이름 추출
-            String channelName = extractTwitchChannelName(url);
-            
-            if (channelName == null || channelName.isEmpty()) {
-                info.setStatus("error");
-                System.err.println("트위치 채널 이름을 추출할 수 없습니다: " + url);
-                return;
-            }
-            
-            System.out.println("트위치 채널 확인: " + channelName);
-            
-            // 먼저 API를 통해 확인 시도 (GQL API 사용)
-            String gqlUrl = "https://gql.twitch.tv/gql";
-            java.net.URL apiUrl = new java.net.URL(gqlUrl);
-            java.net.HttpURLConnection connection = (java.net.HttpURLConnection) apiUrl.openConnection();
-            connection.setRequestMethod("POST");
-            connection.setDoOutput(true);
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.setRequestProperty("Client-ID", "kimne78kx3ncx6brgo4mv6wki5h1ko"); // Public Client ID
-            
-            // GraphQL 쿼리
-            String gqlQuery = "{\n" +
-                "  \"operationName\": \"StreamMetadata\",\n" +
-                "  \"variables\": {\n" +
-                "    \"channelLogin\": \"" + channelName + "\"\n" +
-                "  },\n" +
-                "  \"query\": \"query StreamMetadata($channelLogin: String!) {\\n  user(login: $channelLogin) {\\n    id\\n    login\\n    stream {\\n      id\\n      title\\n      type\\n      viewersCount\\n    }\\n  }\\n}\\n\"\n" +
-                "}";
-            
-            try (java.io.OutputStream os = connection.getOutputStream()) {
-                byte[] input = gqlQuery.getBytes("utf-8");
-                os.write(input, 0, input.length);
-            }
-            
-            int responseCode = connection.getResponseCode();
-            
-            if (responseCode == 200) {
-                // API 응답 읽기
-                java.io.BufferedReader reader = new java.io.BufferedReader(
-                        new java.io.InputStreamReader(connection.getInputStream()));
-                String line;
-                StringBuilder content = new StringBuilder();
-                while ((line = reader.readLine()) != null) {
-                    content.append(line);
-                }
-                
-                String jsonResponse = content.toString();
-                System.out.println("트위치 API 응답: " + jsonResponse);
-                
-                // JSON 파싱
-                ObjectMapper mapper = new ObjectMapper();
-                Map<String, Object> result = mapper.readValue(jsonResponse, Map.class);
-                
-                if (result.containsKey("data") && result.get("data") instanceof Map) {
-                    Map<String, Object> data = (Map<String, Object>) result.get("data");
-                    
-                    if (data.containsKey("user") && data.get("user") instanceof Map) {
-                        Map<String, Object> user = (Map<String, Object>) data.get("user");
-                        
-                        if (user.containsKey("stream") && user.get("stream") != null) {
-                            // 스트림이 있으면 온라인
-                            info.setStatus("online");
-                            
-                            // 제목 추출
-                            Map<String, Object> stream = (Map<String, Object>) user.get("stream");
-                            if (stream.containsKey("title")) {
-                                String title = (String) stream.get("title");
-                                info.setTitle(title);
-                                System.out.println("트위치 채널 " + channelName + " 온라인, 제목: " + title);
-                            } else {
-                                System.out.println("트위치 채널 " + channelName + " 온라인, 제목 없음");
-                            }
-                        } else {
-                            // 스트림이 없으면 오프라인
-                            info.setStatus("offline");
-                            System.out.println("트위치 채널 " + channelName + " 오프라인");
-                        }
-                    } else {
-                        // 유저 정보가 없으면 오프라인
-                        info.setStatus("offline");
-                        System.out.println("트위치 채널 " + channelName + " 정보 없음");
-                    }
-                } else {
-                    // 데이터가 없으면 오프라인
-                    info.setStatus("offline");
-                    System.out.println("트위치 API 응답에 데이터 없음");
+            probePermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        
+        AtomicBoolean started = new AtomicBoolean(false);
+        Future<?> probe;
+        try {
+            probe = probeExecutor.submit(() -> {
+                if (!started.compareAndSet(false, true)) {
+                    return; // 시작 전에 취소됨 (자리는 취소한 쪽에서 반납)
                 }
-                
-                reader.close();
-            } else {
-                // API 요청 실패 - 웹페이지로 대체 확인
-                System.out.println("트위치 API 요청 실패, 웹페이지로 대체 확인: " + responseCode);
-                fallbackTwitchCheck(channelName, info);
-            }
-            
-            connection.disconnect();
-        } catch (Exception e) {
-            System.err.println("트위치 채널 확인 오류: " + e.getMessage());
-            try {
-                // API 확인 실패 시 웹페이지로 대체 확인
-                String channelName = extractTwitchChannelName(info.getUrl());
-                System.out.println("트위치 대체 확인: " + channelName);
-                fallbackTwitchCheck(channelName, info);
-            } catch (Exception ex) {
-                info.setStatus("error");
-                System.err.println("트위치 대체 확인 오류: " + ex.getMessage());
-            }
+                try {
+                    checkStreamerStatus(info);
+                } finally {
+                    probePermits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            probePermits.release();
+            return;
+        }
+        
+        try {
+            probe.get(PROBE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            cancelProbe(probe, started);
+            System.err.println("[상태 확인] " + info.getName() + " 확인 제한 시간 초과 (" + PROBE_TIMEOUT_MILLIS + "ms)");
+            eventBus.publish(RecorderEventBus.Event.probeFailed(info.getName(), "확인 제한 시간 초과 (" + PROBE_TIMEOUT_MILLIS + "ms)"));
+        } catch (InterruptedException e) {
+            cancelProbe(probe, started);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("[상태 확인] " + info.getName() + " 확인 작업 오류: " + e.getCause());
         }
     }
     
     /**
-     * 트위치 웹페이지 대체 확인 (API 실패 시)
+     * 확인 작업 취소 (이미 시작했으면 작업이 끝날 때 자리를 반납하고, 시작 전이면 여기서 반납)
      */
-    private void fallbackTwitchCheck(String channelName, StreamerInfo info) {
-        try {
-            if (channelName == null || channelName.isEmpty()) {
-                info.setStatus("error");
-                return;
-            }
-            
-            // 트위치 채널 페이지 접속
-            java.net.URL pageUrl = new java.net.URL("https://www.twitch.tv/" + channelName);
-            java.net.HttpURLConnection connection = (java.net.HttpURLConnection) pageUrl.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(5000);
-            connection.setReadTimeout(5000);
-            connection.setRequestProperty("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36");
-            
-            int responseCode = connection.getResponseCode();
-            
-            if (responseCode == 200) {
-                // 채널 페이지 컨텐츠 확인
-                java.io.BufferedReader reader = new java.io.BufferedReader(
-                        new java.io.InputStreamReader(connection.getInputStream()));
-                String line;
-                StringBuilder content = new StringBuilder();
-                while ((line = reader.readLine()) != null && content.length() < 50000) {
-                    content.append(line);
-                }
-                
-                String htmlContent = content.toString();
-                
-                // 방송 중인지 확인 (isLiveBroadcast 문자열이 포함되어 있으면 방송 중)
-                if (htmlContent.contains("isLiveBroadcast") || htmlContent.contains("\"isLive\":true")) {
-                    info.setStatus("online");
-                    System.out.println("트위치 채널 " + channelName + " 온라인 (웹페이지 확인)");
-                    
-                    // 제목 추출
-                    int titleStart = htmlContent.indexOf("\"meta_title\":\"") + 14;
-                    int titleEnd = htmlContent.indexOf("\"", titleStart);
-                    
-                    if (titleStart > 14 && titleEnd > titleStart) {
-                        String title = htmlContent.substring(titleStart, titleEnd);
-                        // JSON 이스케이프 문자 처리
-                        title = title.replace("\\\"", "\"").replace("\\\\", "\\");
-                        info.setTitle(title);
-                        System.out.println("트위치 채널 제목: " + title);
-                    }
-                } else {
-                    info.setStatus("offline");
-                    System.out.println("트위치 채널 " + channelName + " 오프라인 (웹페이지 확인)");
-                }
-                
-                reader.close();
-            } else {
-                info.setStatus("offline");
-                System.out.println("트위치 채널 페이지 접속 실패: " + responseCode);
-            }
-            
-            connection.disconnect();
-        } catch (Exception e) {
-            info.setStatus("error");
-            System.err.println("트위치 웹페이지 확인 오류: " + e.getMessage());
+    private void cancelProbe(Future<?> probe, AtomicBoolean started) {
+        probe.cancel(true);
+        if (started.compareAndSet(false, true)) {
+            probePermits.release();
         }
     }
     
     /**
-     * 유튜브 스트리머 상태 확인
+     * 마지막 상태 확인 주기의 소요 시간 (밀리초)
      */
-    private void checkYoutubeStreamer(StreamerInfo info) {
-        try {
-            String url = info.getUrl();
-            
-            // 채널 또는 비디오 ID 추출
-            String videoId = extractYoutubeVideoId(url);
-            
-            if (videoId == null || videoId.isEmpty()) {
-                info.setStatus("error");
-                System.err.println("유튜브 비디오 ID를 추출할 수 없습니다: " + url);
-                return;
-            }
-            
-            System.out.println("유튜브 비디오 확인: " + videoId);
-            
-            // 유튜브 비디오 페이지 접속
-            java.net.URL videoUrl = new java.net.URL("https://www.youtube.com/watch?v=" + videoId);
-            java.net.HttpURLConnection connection = (java.net.HttpURLConnection) videoUrl.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(5000);
-            connection.setReadTimeout(5000);
-            connection.setRequestProperty("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36");
-            
-            int responseCode = connection.getResponseCode();
-            
-            if (responseCode == 200) {
-                // 비디오 페이지 컨텐츠 확인
-                java.io.BufferedReader reader = new java.io.BufferedReader(
-                        new java.io.InputStreamReader(connection.getInputStream()));
-                String line;
-                StringBuilder content = new StringBuilder();
-                while ((line = reader.readLine()) != null && content.length() < 100000) {
-                    content.append(line);
-                }
-                
-                String htmlContent = content.toString();
-                
-                // 라이브 스트림인지 확인 - 여러 가지 방법 시도
-                boolean isLive = false;
-                
-                // 방법 1: videoDetails 정보에서 확인
-                if (htmlContent.contains("\"isLiveNow\":true")) {
-                    isLive = true;
-                    System.out.println("유튜브 비디오 " + videoId + " 라이브 중 (isLiveNow 확인)");
-                }
-                // 방법 2: 라이브 배지 확인
-                else if (htmlContent.contains("LIVE_STREAM") || htmlContent.contains("LIVE NOW")) {
-                    isLive = true;
-                    System.out.println("유튜브 비디오 " + videoId + " 라이브 중 (LIVE_STREAM 확인)");
-                }
-                // 방법 3: isLiveContent 확인
-                else if (htmlContent.contains("\"isLiveContent\":true")) {
-                    isLive = true;
-                    System.out.println("유튜브 비디오 " + videoId + " 라이브 중 (isLiveContent 확인)");
-                }
-                
-                if (isLive) {
-                    info.setStatus("online");
-                    
-                    // 제목 추출
-                    int titleStart = htmlContent.indexOf("\"title\":\"") + 9;
-                    int titleEnd = htmlContent.indexOf("\"", titleStart);
-                    
-                    if (titleStart > 9 && titleEnd > titleStart) {
-                        String title = htmlContent.substring(titleStart, titleEnd);
-                        // JSON 이스케이프 문자 처리
-                        title = title.replace("\\\"", "\"").replace("\\\\", "\\");
-                        info.setTitle(title);
-                        System.out.println("유튜브 비디오 제목: " + title);
-                    } else {
-                        // 대체 방법으로 제목 추출
-                        titleStart = htmlContent.indexOf("<title>") + 7;
-                        titleEnd = htmlContent.indexOf("</title>", titleStart);
-                        
-                        if (titleStart > 7 && titleEnd > titleStart) {
-                            String title = htmlContent.substring(titleStart, titleEnd);
-                            title = title.replace(" - YouTube", "");
-                            info.setTitle(title);
-                            System.out.println("유튜브 비디오 제목 (대체): " + title);
-                        }
-                    }
-                } else {
-                    info.setStatus("offline");
-                    System.out.println("유튜브 비디오 " + videoId + " 라이브 아님");
-                }
-                
-                reader.close();
-            } else {
-                info.setStatus("offline");
-                System.out.println("유튜브 비디오 페이지 접속 실패: " + responseCode);
-            }
-            
-            connection.disconnect();
-        } catch (Exception e) {
-            info.setStatus("error");
-            System.err.println("유튜브 스트림 확인 오류: " + e.getMessage());
-            e.printStackTrace();
+    public long getLastSweepMillis() {
+        return lastSweepMillis;
+    }
+    
+    /**
+     * 이전 주기가 진행 중이어서 건너뛴 상태 확인 주기 수
+     */
+    public long getSkippedSweepCount() {
+        return skippedSweeps.get();
+    }
+    
+    /**
+     * 특정 스트리머 상태 수동 갱신
+     * 바로 확인하도록 예약하고 기다리지 않고 반환합니다. 결과는 확인되는 대로 이벤트로 전달됩니다.
+     */
+    public boolean forceUpdateStreamerStatus(String name) {
+        if (!streamers.containsKey(name)) {
+            return false;
         }
+        System.out.println(name + " 스트리머 상태 수동 갱신 시도...");
+        pollScheduler.scheduleNow(name);
+        checkDueStreamers();
+        return true;
     }
     
     /**
-     * 아프리카TV 스트리머 상태 확인
+     * 모든 스트리머 상태 수동 갱신
+     * 모든 스트리머를 바로 확인하도록 예약하고 기다리지 않고 반환합니다. 결과는 확인되는 대로 이벤트로 전달됩니다.
      */
-    private void checkAfreecaStreamer(StreamerInfo info) {
-        try {
-            String url = info.getUrl();
-            
-            // BJ 아이디 추출
-            String bjId = extractAfreecaBjId(url);
-            
-            if (bjId == null || bjId.isEmpty()) {
-                info.setStatus("error");
-                return;
-            }
-            
-            // 아프리카TV BJ 페이지 접속
-            java.net.URL bjUrl = new java.net.URL("https://play.afreecatv.com/" + bjId);
-            java.net.HttpURLConnection connection = (java.net.HttpURLConnection) bjUrl.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(5000);
-            connection.setReadTimeout(5000);
-            connection.setRequestProperty("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/89.0.4389.82 Safari/537.36");
-            
-            int responseCode = connection.getResponseCode();
-            
-            if (responseCode == 200) {
-                // BJ 페이지 컨텐츠 확인
-                java.io.BufferedReader reader = new java.io.BufferedReader(
-                        new java.io.InputStreamReader(connection.getInputStream()));
-                String line;
-                StringBuilder content = new StringBuilder();
-                while ((line = reader.readLine()) != null && content.length() < 50000) {
-                    content.append(line);
-                }
-                
-                String htmlContent = content.toString();
-                
-                // 라이브 방송 중인지 확인
-                if (htmlContent.contains("class=\"on\"") && !htmlContent.contains("class=\"thumb_off\"")) {
-                    info.setStatus("online");
-                    
-                    // 제목 추출
-                    int titleStart = htmlContent.indexOf("<title>") + 7;
-                    int titleEnd = htmlContent.indexOf("</title>", titleStart);
-                    
-                    if (titleStart > 7 && titleEnd > titleStart) {
-                        String title = htmlContent.substring(titleStart, titleEnd);
-                        title = title.replace(" - AfreecaTV", "");
-                        info.setTitle(title);
-                    }
-                } else {
-                    info.setStatus("offline");
-                }
-                
-                reader.close();
-            } else {
-                info.setStatus("offline");
-            }
-            
-            connection.disconnect();
-        } catch (Exception e) {
-            info.setStatus("error");
-            System.err.println("아프리카TV BJ 확인 오류: " + e.getMessage());
+    public void forceUpdateAllStreamers() {
+        System.out.println("모든 스트리머 상태 수동 갱신 시작...");
+        
+        if (streamers.isEmpty()) {
+            System.out.println("등록된 스트리머가 없습니다.");
+            return;
         }
+        
+        for (String name : streamers.keySet()) {
+            pollScheduler.scheduleNow(name);
+        }
+        checkDueStreamers();
     }
     
     /**
-     * 일반 URL 상태 확인
+     * 특정 스트리머의 상태 확인
      */
-    private void checkGenericUrl(StreamerInfo info) {
+    private void checkStreamerStatus(StreamerInfo info) {
+        String url = info.getUrl();
+        if (url == null || url.isEmpty()) {
+            return;
+        }
+        
+        // 이전 상태를 저장
+        StreamerStatus oldStatus = info.getStreamerStatus();
+        boolean firstCheck = info.getCheckedAt() == 0;
+        String streamerName = info.getName();
+        
+        System.out.println("[상태 확인] " + streamerName + " 스트리머 상태 확인 중... (현재: " + oldStatus.getKey() + ")");
+        
         try {
-            java.net.URL urlObj = new java.net.URL(info.getUrl());
-            java.net.HttpURLConnection connection = (java.net.HttpURLConnection) urlObj.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(5000);
-            connection.setReadTimeout(5000);
-            connection.setRequestProperty("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/89.0.4389.82 Safari/537.36");
-            
-            int responseCode = connection.getResponseCode();
+            // 플랫폼 API로 직접 확인할 수 있으면 streamlink보다 우선 사용
+            PlatformProbe probe = info.resolveProbe(probeRegistry);
+            boolean streamlinkAvailable = checkExternalDependencies();
             
-            if (responseCode == 200) {
-                // 페이지가 정상적으로 로드됨 - 온라인으로 가정
-                info.setStatus("online");
-                
-                // 제목 가져오기 시도
-                try (java.io.BufferedReader reader = new java.io.BufferedReader(
-                        new java.io.InputStreamReader(connection.getInputStream()))) {
-                    String line;
-                    StringBuilder content = new StringBuilder();
-                    while ((line = reader.readLine()) != null && content.length() < 10000) {
-                        content.append(line);
-                    }
-                    
-                    String htmlContent = content.toString();
-                    int titleStart = htmlContent.indexOf("<title>") + 7;
-                    int titleEnd = htmlContent.indexOf("</title>");
-                    
-                    if (titleStart > 0 && titleEnd > titleStart) {
-                        String title = htmlContent.substring(titleStart, titleEnd);
-                        info.setTitle(title);
-                    }
-                }
+            if (probe != null && probe.isNative()) {
+                System.out.println("[상태 확인] " + streamerName + " - " + probe.getPlatformName() + " API 확인 방식 사용");
+                checkWithHttpRequest(info);
+            } else if (streamlinkAvailable) {
+                // streamlink로 상태 확인
+                System.out.println("[상태 확인] " + streamerName + " - streamlink 확인 방식 사용");
+                checkWithStreamlink(info);
             } else {
-                info.setStatus("offline");
+                // HTTP 요청으로 상태 확인 (간단한 대체 방법)
+                System.out.println("[상태 확인] " + streamerName + " - HTTP 요청 확인 방식 사용");
+                checkWithHttpRequest(info);
             }
             
-            connection.disconnect();
+            // 상태 확인 결과 출력
+            System.out.println("[상태 확인] " + streamerName + " 상태 확인 결과: " + oldStatus.getKey() + " -> " + info.getStatus());
+            
+            onStatusChecked(info, oldStatus, firstCheck);
         } catch (Exception e) {
-            info.setStatus("error");
-            System.err.println("일반 URL 확인 오류: " + e.getMessage());
+            System.err.println("[오류] " + streamerName + " 스트리머 상태 확인 오류: " + e.getMessage());
+            e.printStackTrace();
+            
+            // 에러 상태로 변경 (녹화 중이면 상태 유지)
+            StreamerStatus status = markProbeFailed(info, e.getMessage());
+            
+            // 상태가 변경되었거나 처음 확인한 결과이면 알림
+            if (status != oldStatus || firstCheck) {
+                publishStatus(info.getName(), status.getKey());
+            }
         }
     }
     
     /**
-     * 트위치 URL에서 채널 이름 추출
+     * 상태 확인 실패 반영 (녹화 중이 아니면 오류 상태로 바꾸고 실패 이벤트 발행)
+     * 
+     * @return 반영 후 상태
      */
-    private String extractTwitchChannelName(String url) {
-        try {
-            if (url.contains("twitch.tv/")) {
-                String[] parts = url.split("twitch.tv/");
-                if (parts.length > 1) {
-                    String channelPart = parts[1];
-                    // 추가 경로나 쿼리 파라미터 제거
-                    if (channelPart.contains("/")) {
-                        channelPart = channelPart.split("/")[0];
-                    }
-                    if (channelPart.contains("?")) {
-                        channelPart = channelPart.split("\\?")[0];
-                    }
-                    return channelPart;
-                }
+    private StreamerStatus markProbeFailed(StreamerInfo info, String detail) {
+        StreamerStatus status = info.applyProbeResult(StreamerStatus.ERROR, null);
+        eventBus.publish(RecorderEventBus.Event.probeFailed(info.getName(), detail));
+        return status;
+    }
+    
+    /**
+     * 상태 확인 결과 반영 (상태 변경 알림 및 자동 녹화)
+     * 
+     * @param firstCheck 이번 실행에서 처음 확인한 결과인지 여부 (저장해 둔 상태와 같아도 확인됨을 알리고 자동 녹화 판단)
+     */
+    private void onStatusChecked(StreamerInfo info, StreamerStatus oldStatus, boolean firstCheck) {
+        String streamerName = info.getName();
+        StreamerStatus status = info.getStreamerStatus();
+        
+        // 상태가 변경되었거나 처음 확인한 결과이면 알림
+        if (oldStatus != status || firstCheck) {
+            System.out.println("[상태 변경] " + streamerName + " 상태가 변경됨: " + oldStatus.getKey() + " -> " + status.getKey());
+            publishStatus(info.getName(), status.getKey());
+            
+            // 자동 녹화가 활성화되어 있고, 상태가 온라인이 되었으면 녹화 시작
+            if (autoRecordEnabled && status == StreamerStatus.ONLINE) {
+                System.out.println("[자동 녹화] " + streamerName + " 자동 녹화 시작");
+                startRecording(info.getName());
             }
-        } catch (Exception e) {
-            System.err.println("트위치 채널 이름 추출 오류: " + e.getMessage());
         }
-        return null;
     }
     
     /**
-     * 유튜브 URL에서 비디오 ID 추출
+     * Streamlink를 사용해 스트리머 상태 확인
      */
-    private String extractYoutubeVideoId(String url) {
+    private void checkWithStreamlink(StreamerInfo info) {
         try {
-            if (url.contains("youtube.com/watch")) {
-                java.net.URL urlObj = new java.net.URL(url);
-                String query = urlObj.getQuery();
-                String[] params = query.split("&");
-                for (String param : params) {
-                    String[] keyValue = param.split("=");
-                    if (keyValue.length > 1 && keyValue[0].equals("v")) {
-                        return keyValue[1];
-                    }
-                }
-            } else if (url.contains("youtu.be/")) {
-                String[] parts = url.split("youtu.be/");
-                if (parts.length > 1) {
-                    String videoId = parts[1];
-                    if (videoId.contains("?")) {
-                        videoId = videoId.split("\\?")[0];
-                    }
-                    return videoId;
-                }
-            } else if (url.contains("youtube.com/channel/")) {
-                String[] parts = url.split("youtube.com/channel/");
-                if (parts.length > 1) {
-                    String channelId = parts[1];
-                    if (channelId.contains("/")) {
-                        channelId = channelId.split("/")[0];
-                    }
-                    return channelId; // 채널 ID 반환
-                }
+            // 동시 실행 수와 제한 시간을 지키며 실행 (같은 URL 확인이 진행 중이면 결과를 함께 사용)
+            List<String> command = List.of(toolRegistry.commandFor(ToolRegistry.STREAMLINK), info.getUrl(), "--json");
+            // 환경 변수에 UTF-8 인코딩 설정 추가
+            ProbeProcessGovernor.Outcome outcome = processGovernor.run(info.getUrl(), command, Map.of("PYTHONIOENCODING", "utf-8"));
+            
+            if (outcome.isKilled()) {
+                // 제한 시간 초과
+                markProbeFailed(info, "Streamlink 확인 제한 시간 초과");
+                System.err.println("Streamlink 확인 제한 시간 초과: " + info.getUrl());
+            } else if (outcome.getExitCode() == 0) {
+                // JSON 해석 (스트림 유무와 방송 제목만 읽음)
+                StreamlinkOutput result = StreamlinkOutput.parse(outcome.getOutput());
+                
+                // 스트림이 있으면 온라인, 없으면 오프라인
+                info.applyProbeResult(result.live() ? StreamerStatus.ONLINE : StreamerStatus.OFFLINE, result.title());
+            } else {
+                // 프로세스 실패
+                info.applyProbeResult(StreamerStatus.OFFLINE, null);
             }
         } catch (Exception e) {
-            System.err.println("유튜브 비디오 ID 추출 오류: " + e.getMessage());
+            markProbeFailed(info, "Streamlink 확인 오류: " + e.getMessage());
+            System.err.println("Streamlink 확인 오류: " + e.getMessage());
         }
-        return null;
     }
     
     /**
-     * 아프리카TV URL에서 BJ 아이디 추출
+     * HTTP 요청으로 스트리머 상태 확인 (단순 접속 확인)
      */
-    private String extractAfreecaBjId(String url) {
+    private void checkWithHttpRequest(StreamerInfo info) {
         try {
-            if (url.contains("afreecatv.com/")) {
-                String[] parts = url.split("afreecatv.com/");
-                if (parts.length > 1) {
-                    String bjId = parts[1];
-                    if (bjId.contains("/")) {
-                        bjId = bjId.split("/")[0];
-                    }
-                    if (bjId.contains("?")) {
-                        bjId = bjId.split("\\?")[0];
-                    }
-                    return bjId;
-                }
+            String url = info.getUrl();
+            if (url == null || url.isEmpty()) {
+                markProbeFailed(info, "URL 없음");
+                return;
+            }
+            
+            // URL 호스트에 등록된 플랫폼 확인기 사용 (없으면 일반 URL 확인)
+            PlatformProbe probe = info.resolveProbe(probeRegistry);
+            PlatformProbe.Result result = probe.probe(info.getChannelId(), url);
+            if (result.getStatus() != null) {
+                info.applyProbeResult(StreamerStatus.fromString(result.getStatus()), result.getTitle());
+                info.setPlaybackUrl(result.getPlaybackUrl());
+            } else if (result.getTitle() != null) {
+                info.setTitle(result.getTitle());
             }
         } catch (Exception e) {
-            System.err.println("아프리카TV BJ 아이디 추출 오류: " + e.getMessage());
+            markProbeFailed(info, "HTTP 요청 오류: " + e.getMessage());
+            System.err.println("HTTP 요청 오류: " + e.getMessage());
         }
-        return null;
     }
     
     /**
      * 자원 정리
+     * 모든 녹화에 동시에 중지를 요청하고 전체 제한 시간 안에서 함께 기다린 뒤, 끝나지 않은 프로세스만 강제 종료합니다.
+     * 이어서 녹화 종료 처리가 끝나기를 기다리고 후처리 작업 기록과 설정을 저장합니다.
      */
     public void shutdown() {
-        // 실행 중인 모든 작업 중지
-        stopAllRecordings();
+        ShutdownCoordinator coordinator = new ShutdownCoordinator(SHUTDOWN_DEADLINE_MILLIS);
+        shuttingDown = true;
+        System.out.println("녹화기 종료 시작: 녹화 " + activeSessions.size() + "개, 제한 시간 " + SHUTDOWN_DEADLINE_MILLIS + "ms");
         
-        // 스케줄러 종료
-        if (statusCheckExecutor != null) {
-            statusCheckExecutor.shutdown();
-            try {
-                if (!statusCheckExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
-                    statusCheckExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
+        // 새 상태 확인 중단 (진행 중인 확인은 기다리지 않음)
+        coordinator.run("상태 확인 중지", () -> {
+            if (statusCheckExecutor != null) {
                 statusCheckExecutor.shutdownNow();
             }
+            if (probeExecutor != null) {
+                probeExecutor.shutdownNow();
+            }
+        });
+        
+        // 모든 녹화에 한 번에 정상 종료 요청 (대기 중인 녹화는 취소)
+        coordinator.run("녹화 중지 요청", () -> {
+            stopAllRecordings();
+            for (RecordingSession session : activeSessions.values()) {
+                session.signalStop();
+            }
+        });
+        List<RecordingSession> sessions = new ArrayList<>(activeSessions.values());
+        List<CompletableFuture<Integer>> exits = new ArrayList<>(sessions.size());
+        for (RecordingSession session : sessions) {
+            exits.add(session.onExit());
+        }
+        int running = coordinator.awaitAll("녹화 종료 대기", exits, SHUTDOWN_FORCE_RESERVE_MILLIS);
+        
+        // 제한 시간이 지나도 끝나지 않은 녹화만 강제 종료
+        int forced = 0;
+        if (running > 0) {
+            for (RecordingSession session : sessions) {
+                if (!session.onExit().isDone() && session.forceKill()) {
+                    System.err.println(session.getStreamerName() + " 녹화 프로세스가 종료되지 않아 강제 종료합니다.");
+                    forced++;
+                }
+            }
+            running = coordinator.awaitAll("강제 종료 대기", exits, SHUTDOWN_FLUSH_RESERVE_MILLIS);
         }
         
-        // 스레드 풀 종료
-        if (executorService != null) {
-            executorService.shutdown();
+        // 녹화 종료 처리(조각 기록, 후처리 예약)가 끝나기를 기다림
+        coordinator.run("녹화 종료 처리", () -> {
+            recordingSupervisor.shutdownNow();
+            recordingExecutor.shutdown();
             try {
-                if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
-                    executorService.shutdownNow();
+                long waitMillis = Math.max(0, coordinator.getRemainingMillis() - SHUTDOWN_FLUSH_RESERVE_MILLIS);
+                if (!recordingExecutor.awaitTermination(waitMillis, TimeUnit.MILLISECONDS)) {
+                    recordingExecutor.shutdownNow();
                 }
             } catch (InterruptedException e) {
-                executorService.shutdownNow();
+                recordingExecutor.shutdownNow();
+                Thread.currentThread().interrupt();
             }
-        }
+        });
+        
+        // 후처리 작업자 종료 (남은 작업은 작업 기록 파일에 보관) 및 설정 저장
+        coordinator.run("후처리 작업 기록", postProcessingQueue::shutdown);
+        coordinator.run("설정 저장", () -> {
+            if (!saveSettings()) {
+                System.err.println("종료 중 설정 저장에 실패했습니다.");
+            }
+        });
+        
+        // 이벤트 구독 해제
+        eventBus.shutdown();
+        
+        System.out.println("녹화기 종료 완료: 녹화 " + sessions.size() + "개 (강제 종료 " + forced + "개"
+            + (running > 0 ? ", 종료되지 않음 " + running + "개" : "") + "), " + coordinator.getSummary());
     }
     
     /**
@@ -1621,6 +2534,10 @@ public class Recorder {
                 return "녹화중";
             case "checking":
                 return "확인중";
+            case "queued":
+                return "대기중";
+            case "stopping":
+                return "중지중";
             default:
                 return status;
         }
@@ -1641,6 +2558,10 @@ public class Recorder {
                 return "#e67e22"; // 주황색
             case "checking":
                 return "#3498db"; // 파란색
+            case "queued":
+                return "#9b59b6"; // 보라색
+            case "stopping":
+                return "#d35400"; // 진한 주황색
             default:
                 return "#7f8c8d"; // 기본 회색
         }
@@ -1661,6 +2582,10 @@ public class Recorder {
                 return "recording";
             case "checking":
                 return "checking";
+            case "queued":
+                return "queued";
+            case "stopping":
+                return "stopping";
             default:
                 return "offline";
         }
@@ -1669,22 +2594,26 @@ public class Recorder {
     /**
      * Streamlink 명령어 구성
      */
-    private void buildStreamlinkCommand(List<String> command, StreamerInfo info, File outputFile) {
-        command.add("streamlink");
-        
-        // Chzzk URL 확인
-        boolean isChzzkUrl = info.getUrl() != null && info.getUrl().contains("chzzk.naver.com");
+    private void buildStreamlinkCommand(List<String> command, StreamerInfo info, File outputFile, RecorderHints hints,
+                                        boolean piped) {
+        command.add(toolRegistry.commandFor(ToolRegistry.STREAMLINK));
         
         // 품질 옵션 설정
         command.add(info.getUrl());
         command.add(info.getQuality());
         
-        // 출력 파일 설정
-        command.add("-o");
-        command.add(outputFile.getAbsolutePath());
+        if (piped) {
+            // 표준 출력으로 내보내고 Java에서 대역폭 몫을 지키며 출력 파일에 씀 (로그는 표준 오류로 출력됨)
+            command.add(STREAMLINK_STDOUT);
+        } else {
+            // 출력 파일 설정
+            command.add("-o");
+            command.add(outputFile.getAbsolutePath());
+            
+            // 추가 옵션 설정
+            command.add("--force");           // 기존 파일 덮어쓰기
+        }
         
-        // 추가 옵션 설정
-        command.add("--force");           // 기존 파일 덮어쓰기
         // --hls-live-restart 옵션 제거 (이 옵션은 방송 전체를 처음부터 다운로드하도록 함)
         
         // 현재 시점부터 녹화하기 위한 옵션 추가
@@ -1694,22 +2623,18 @@ public class Recorder {
         command.add("--stream-segment-timeout");
         command.add("5");                 // 세그먼트 다운로드 제한시간 (초)
         
-        // Chzzk 관련 설정
-        if (isChzzkUrl) {
+        // 플랫폼별 HTTP 헤더 (치지직 등)
+        for (Map.Entry<String, String> header : hints.getHttpHeaders().entrySet()) {
             command.add("--http-header");
-            command.add("User-Agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-            command.add("--http-header");
-            command.add("Referer=https://chzzk.naver.com/");
-            command.add("--http-header");
-            command.add("Origin=https://chzzk.naver.com");
+            command.add(header.getKey() + "=" + header.getValue());
         }
         
         // FFmpeg 옵션 추가
         command.add("--ffmpeg-ffmpeg");
-        command.add("ffmpeg");            // FFmpeg 경로 지정
+        command.add(toolRegistry.commandFor(ToolRegistry.FFMPEG)); // FFmpeg 경로 지정
         command.add("--ffmpeg-copyts");   // 타임스탬프 복사
         command.add("--ffmpeg-fout");     
-        command.add("mp4");               // 출력 포맷 mp4로 지정
+        command.add(piped ? PIPE_FORMAT : "mp4"); // 출력 포맷 (표준 출력은 되감을 수 없으므로 MPEG-TS)
         
         // 다운로드 가속화 옵션 추가 (hls-segment-threads 대신 stream-segment-threads 사용)
         command.add("--stream-segment-threads");
@@ -1717,11 +2642,11 @@ public class Recorder {
         
         // 로그 레벨 설정
         command.add("--loglevel");
-        command.add("info");             // 로그 레벨 (info만 표시)
+        command.add("debug");            // 세그먼트별 완료 줄은 debug에서만 출력 (로그 파일은 크기 제한)
         command.add("--retry-streams");
         command.add("1");                // 스트림 재시도 (1초마다)
         
-        // 속도 제한 설정이 있는 경우
+        // 속도 제한 설정이 있는 경우 (제한된 복사 속도를 링버퍼가 흡수)
         if (this.speedLimit > 0) {
             command.add("--hls-segment-attempts");
             command.add("5");            // 다운로드 시도 횟수 증가
@@ -1733,15 +2658,20 @@ public class Recorder {
     /**
      * yt-dlp 명령어 구성
      */
-    private void buildYtDlpCommand(List<String> command, StreamerInfo info, File outputFile) {
-        command.add("yt-dlp");
-        
-        // Chzzk URL 확인
-        boolean isChzzkUrl = info.getUrl() != null && info.getUrl().contains("chzzk.naver.com");
-        
-        // 출력 파일 설정
-        command.add("-o");
-        command.add(outputFile.getAbsolutePath());
+    private void buildYtDlpCommand(List<String> command, StreamerInfo info, File outputFile, RecorderHints hints,
+                                   boolean piped) {
+        command.add(toolRegistry.commandFor(ToolRegistry.YT_DLP));
+        
+        if (piped) {
+            // 표준 출력으로 내보내고 Java에서 대역폭 몫을 지키며 출력 파일에 씀 (진행 줄은 표준 오류로 출력됨)
+            command.add("-o");
+            command.add("-");
+            command.add("--hls-use-mpegts");   // 표준 출력으로 이어 쓸 수 있는 MPEG-TS 사용
+        } else {
+            // 출력 파일 설정
+            command.add("-o");
+            command.add(outputFile.getAbsolutePath());
+        }
         
         // 품질 설정
         if (!"best".equals(info.getQuality())) {
@@ -1749,14 +2679,18 @@ public class Recorder {
             command.add(info.getQuality());
         }
         
-        // Chzzk 관련 설정
-        if (isChzzkUrl) {
-            command.add("--user-agent");
-            command.add("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-            command.add("--referer");
-            command.add("https://chzzk.naver.com/");
-            command.add("--add-header");
-            command.add("Origin:https://chzzk.naver.com");
+        // 플랫폼별 HTTP 헤더 (치지직 등)
+        for (Map.Entry<String, String> header : hints.getHttpHeaders().entrySet()) {
+            if ("User-Agent".equalsIgnoreCase(header.getKey())) {
+                command.add("--user-agent");
+                command.add(header.getValue());
+            } else if ("Referer".equalsIgnoreCase(header.getKey())) {
+                command.add("--referer");
+                command.add(header.getValue());
+            } else {
+                command.add("--add-header");
+                command.add(header.getKey() + ":" + header.getValue());
+            }
         }
         
         // 추가 옵션
@@ -1775,27 +2709,14 @@ public class Recorder {
         command.add("--quiet");            // 필요한 메시지만 출력
         command.add("--progress");         // 진행률 표시
         
-        // 외부 다운로더 설정 (aria2 사용 가능한 경우)
-        try {
-            ProcessBuilder pb = new ProcessBuilder("aria2c", "--version");
-            Process process = pb.start();
-            int exitCode = process.waitFor();
-            
-            if (exitCode == 0) {
-                System.out.println("aria2c 발견: 다운로드 가속화에 사용합니다");
-                command.add("--external-downloader");
-                command.add("aria2c");
-                command.add("--external-downloader-args");
-                command.add("aria2c:-x" + this.maxThreads + " -s" + this.maxThreads + " -k1M");
-            }
-        } catch (Exception e) {
-            // aria2c를 찾을 수 없음 - 무시
-        }
-        
-        // 속도 제한 설정이 있는 경우
-        if (this.speedLimit > 0) {
-            command.add("--limit-rate");
-            command.add(this.speedLimit + "K");
+        // 외부 다운로더 설정 (aria2 사용 가능한 경우, 표준 출력으로는 쓸 수 없으므로 속도 제한 중에는 사용하지 않음)
+        // 속도 제한은 --limit-rate 대신 표준 출력 복사에서 지킴 (다른 녹화가 시작/종료되면 몫이 다시 나뉨)
+        if (!piped && toolRegistry.isAvailable(ToolRegistry.ARIA2C)) {
+            System.out.println("aria2c 발견: 다운로드 가속화에 사용합니다");
+            command.add("--external-downloader");
+            command.add(toolRegistry.commandFor(ToolRegistry.ARIA2C));
+            command.add("--external-downloader-args");
+            command.add("aria2c:-x" + this.maxThreads + " -s" + this.maxThreads + " -k1M");
         }
         
         // URL 추가
@@ -1805,28 +2726,40 @@ public class Recorder {
     /**
      * FFmpeg 명령어 구성
      */
-    private void buildFfmpegCommand(List<String> command, StreamerInfo info, File outputFile, boolean isChzzkUrl) {
-        command.add("ffmpeg");
+    private void buildFfmpegCommand(List<String> command, StreamerInfo info, File outputFile, RecorderHints hints,
+                                    boolean piped) {
+        command.add(toolRegistry.commandFor(ToolRegistry.FFMPEG));
         
         // 추가 글로벌 옵션 (오류 무시 및 로깅 레벨 설정)
         command.add("-hide_banner");
         command.add("-loglevel");
-        command.add("warning");
+        command.add("info");              // 세그먼트 열기 줄(Opening ... for reading) 출력 (로그 파일은 크기 제한)
+        command.add("-stats");            // 진행 줄(frame=, speed=) 출력
         
         // 시스템 시간을 타임스탬프로 사용 (모든 파일에 적용)
         command.add("-use_wallclock_as_timestamps");
         command.add("true");
         
         // 특별한 HTTP 헤더 추가 (Chzzk 등의 스트리밍 서비스에 필요)
-        if (isChzzkUrl) {
-            command.add("-user_agent");
-            command.add("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-            command.add("-referer");
-            command.add("https://chzzk.naver.com/");
+        StringBuilder extraHeaders = new StringBuilder();
+        for (Map.Entry<String, String> header : hints.getHttpHeaders().entrySet()) {
+            if ("User-Agent".equalsIgnoreCase(header.getKey())) {
+                command.add("-user_agent");
+                command.add(header.getValue());
+            } else if ("Referer".equalsIgnoreCase(header.getKey())) {
+                command.add("-referer");
+                command.add(header.getValue());
+            } else {
+                extraHeaders.append(header.getKey()).append(": ").append(header.getValue()).append("\r\n");
+            }
+        }
+        if (extraHeaders.length() > 0) {
             command.add("-headers");
-            command.add("Origin: https://chzzk.naver.com");
+            command.add(extraHeaders.toString());
         }
         
+        boolean lowLatency = hints.isLowLatencyInput();
+        
         // 재시도 옵션
         command.add("-reconnect");
         command.add("1");
@@ -1836,7 +2769,7 @@ public class Recorder {
         command.add("5");
         
         // 입력 옵션 (HLS 스트림 처리용)
-        if (isChzzkUrl) {
+        if (lowLatency) {
             // 치지직 전용 입력 옵션
             command.add("-fflags");
             command.add("+discardcorrupt+nobuffer+igndts");  // 손상된 패킷 무시, 버퍼링 없음, 타임스탬프 무시
@@ -1864,12 +2797,14 @@ public class Recorder {
         command.add("-max_muxing_queue_size");
         command.add("1024");                         // 큐 크기 증가
         
-        if (isChzzkUrl) {
+        if (lowLatency) {
             // 치지직 전용 출력 옵션
             command.add("-fflags");
             command.add("+genpts");                  // 타임스탬프 생성
-            command.add("-movflags");
-            command.add("faststart+empty_moov");     // MP4 최적화
+            if (!piped) {
+                command.add("-movflags");
+                command.add("faststart+empty_moov"); // MP4 최적화
+            }
             command.add("-avoid_negative_ts");
             command.add("make_zero");                // 음수 타임스탬프 처리
             command.add("-map_metadata");
@@ -1880,26 +2815,24 @@ public class Recorder {
             command.add("1");                        // 시스템 시간을 타임스탬프로 사용
         }
         
-        // 파일 포맷 설정
+        // 파일 포맷 설정 (표준 출력은 되감을 수 없으므로 MPEG-TS)
         command.add("-f");
-        command.add("mp4");
+        command.add(piped ? PIPE_FORMAT : "mp4");
         
         // 스트림 매핑 (모든 스트림 복사)
         command.add("-map");
         command.add("0");
         
-        // 덮어쓰기 옵션
-        command.add("-y");
-        
-        // 출력 파일
-        command.add(outputFile.getAbsolutePath());
-    }
-    
-    /**
-     * 오버로딩된 메서드 (이전 버전 호환성 유지)
-     */
-    private void buildFfmpegCommand(List<String> command, StreamerInfo info, File outputFile) {
-        buildFfmpegCommand(command, info, outputFile, false);
+        if (piped) {
+            // 표준 출력으로 내보내고 Java에서 대역폭 몫을 지키며 출력 파일에 씀 (로그는 표준 오류로 출력됨)
+            command.add("pipe:1");
+        } else {
+            // 덮어쓰기 옵션
+            command.add("-y");
+            
+            // 출력 파일
+            command.add(outputFile.getAbsolutePath());
+        }
     }
     
     /**
@@ -1919,6 +2852,17 @@ public class Recorder {
         return normalized;
     }
     
+    /**
+     * 스트리머의 녹화 출력 경로 (지정하지 않았으면 기본 캐시 경로)
+     */
+    private String resolveOutputPath(StreamerInfo info) {
+        String outputPath = info.getOutputPath();
+        if (outputPath == null || outputPath.trim().isEmpty()) {
+            outputPath = cachePath; // 기본 캐시 경로 사용
+        }
+        return normalizeOutputPath(outputPath);
+    }
+    
     /**
      * 출력 디렉토리 생성 유틸리티 메서드
      */
@@ -1978,91 +2922,4 @@ public class Recorder {
         long seconds = elapsedSeconds % 60;
         return String.format("%02d:%02d:%02d", hours, minutes, seconds);
     }
-    
-    /**
-     * 비디오 메타데이터 수정 (치지직 녹화 파일의 재생 시간 문제 해결용)
-     */
-    private void fixVideoMetadata(File videoFile) {
-        try {
-            if (!videoFile.exists() || videoFile.length() == 0) {
-                System.err.println("파일이 없거나 비어 있어 메타데이터 수정을 건너뜁니다: " + videoFile.getPath());
-                return;
-            }
-            
-            System.out.println("치지직 녹화 파일 메타데이터 수정 시작: " + videoFile.getName());
-            
-            // 원본 파일과 임시 파일 경로
-            String originalPath = videoFile.getAbsolutePath();
-            File tempFile = new File(originalPath + ".fixed.mp4");
-            
-            // FFmpeg를 사용하여 단순히 파일을 재묶기 (remux)
-            List<String> command = new ArrayList<>();
-            command.add("ffmpeg");
-            command.add("-i");
-            command.add(originalPath);
-            
-            // 코덱 복사 (재인코딩 없음)
-            command.add("-c");
-            command.add("copy");
-            
-            // MP4 메타데이터 수정 옵션
-            command.add("-fflags");
-            command.add("+genpts");                  // 타임스탬프 생성
-            command.add("-movflags");
-            command.add("faststart+empty_moov");     // MP4 최적화
-            command.add("-map_metadata");
-            command.add("-1");                       // 모든 메타데이터 제거
-            
-            // 덮어쓰기 및 출력
-            command.add("-y");
-            command.add(tempFile.getAbsolutePath());
-            
-            System.out.println("메타데이터 수정 명령어: " + String.join(" ", command));
-            
-            ProcessBuilder pb = new ProcessBuilder(command);
-            pb.redirectErrorStream(true);
-            
-            Process process = pb.start();
-            
-            // 출력 로그 읽기
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            String line;
-            while ((line = reader.readLine()) != null) {
-                System.out.println("FFmpeg: " + line);
-            }
-            
-            int exitCode = process.waitFor();
-            System.out.println("메타데이터 수정 작업 완료. 종료 코드: " + exitCode);
-            
-            // 파일 교체
-            if (exitCode == 0 && tempFile.exists() && tempFile.length() > 0) {
-                // 원본 파일 백업
-                File backupFile = new File(originalPath + ".bak");
-                if (videoFile.renameTo(backupFile)) {
-                    // 새 파일을 원본 이름으로 변경
-                    if (tempFile.renameTo(videoFile)) {
-                        System.out.println("메타데이터 수정 완료: " + videoFile.getName());
-                        // 백업 파일 삭제
-                        backupFile.delete();
-                    } else {
-                        System.err.println("임시 파일 이름 변경 실패, 백업에서 복원합니다.");
-                        backupFile.renameTo(videoFile);
-                    }
-                } else {
-                    System.err.println("원본 파일 백업 실패, 임시 파일을 정리합니다.");
-                    if (tempFile.exists()) {
-                        tempFile.delete();
-                    }
-                }
-            } else {
-                System.err.println("메타데이터 수정 실패. 임시 파일 삭제");
-                if (tempFile.exists()) {
-                    tempFile.delete();
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("메타데이터 수정 오류: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
 } 
\ No newline at end of file
@@ -0,0 +1,239 @@
+package com.srt;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 녹화기 이벤트 전달
+ * 상태 변경, 녹화 시작/종료, 후처리 완료, 상태 확인 실패를 여러 구독자에게 비동기로 전달합니다.
+ * 구독자마다 크기가 제한된 대기열을 두어, 느린 구독자(화면, 웹)가 상태 확인이나 녹화를 멈추게 하지 않습니다.
+ * 아직 전달하지 못한 같은 스트리머의 상태 변경은 최신 것 하나로 합칩니다.
+ */
+public class RecorderEventBus {
+    /**
+     * 이벤트 종류
+     */
+    public enum Type {
+        STATUS_CHANGED,        // 스트리머 상태 변경 (status = 새 상태)
+        RECORDING_STARTED,     // 녹화 조각 시작 (detail = 파일 이름)
+        RECORDING_STOPPED,     // 녹화 조각 종료 (detail = 파일 이름, 종료 코드)
+        POST_PROCESSING_DONE,  // 후처리 작업 끝 (status = done/failed, detail = 파일 이름과 결과)
+        PROBE_FAILED           // 상태 확인 실패 (detail = 오류 내용)
+    }
+
+    /**
+     * 이벤트 1건 (변경 불가)
+     */
+    public static final class Event {
+        private static final AtomicLong SEQUENCE = new AtomicLong();
+
+        private final long sequence;
+        private final Type type;
+        private final String streamerName;
+        private final String status;
+        private final String detail;
+        private final long timestamp;
+
+        public Event(Type type, String streamerName, String status, String detail) {
+            this.sequence = SEQUENCE.incrementAndGet();
+            this.type = type;
+            this.streamerName = streamerName;
+            this.status = status;
+            this.detail = detail;
+            this.timestamp = System.currentTimeMillis();
+        }
+
+        public static Event statusChanged(String streamerName, String status) {
+            return new Event(Type.STATUS_CHANGED, streamerName, status, null);
+        }
+
+        public static Event recordingStarted(String streamerName, String fileName) {
+            return new Event(Type.RECORDING_STARTED, streamerName, null, fileName);
+        }
+
+        public static Event recordingStopped(String streamerName, String fileName, Integer exitCode) {
+            return new Event(Type.RECORDING_STOPPED, streamerName, null, fileName + " (종료 코드 " + exitCode + ")");
+        }
+
+        public static Event postProcessingDone(String streamerName, boolean success, String detail) {
+            return new Event(Type.POST_PROCESSING_DONE, streamerName, success ? "done" : "failed", detail);
+        }
+
+        public static Event probeFailed(String streamerName, String detail) {
+            return new Event(Type.PROBE_FAILED, streamerName, null, detail);
+        }
+
+        /**
+         * 발행 순서 (1부터 증가)
+         */
+        public long getSequence() { return sequence; }
+        public Type getType() { return type; }
+        public String getStreamerName() { return streamerName; }
+        public String getStatus() { return status; }
+        public String getDetail() { return detail; }
+        public long getTimestamp() { return timestamp; }
+
+        /**
+         * 같은 스트리머의 이전 상태 변경을 대신하는 이벤트인지 여부
+         */
+        boolean supersedes(Event older) {
+            return type == Type.STATUS_CHANGED && older.type == Type.STATUS_CHANGED
+                && streamerName != null && streamerName.equals(older.streamerName);
+        }
+    }
+
+    /**
+     * 이벤트 구독자
+     */
+    public interface Listener {
+        void onEvent(Event event);
+    }
+
+    /**
+     * 구독 1건 - 자기 대기열을 가상 스레드에서 순서대로 비웁니다 (대기열이 비면 스레드도 끝남).
+     */
+    public final class Subscription implements AutoCloseable {
+        private final String name;
+        private final Listener listener;
+        private final int capacity;
+        private final ArrayDeque<Event> queue = new ArrayDeque<>();
+        private boolean draining;
+        private volatile boolean closed;
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong coalesced = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+
+        private Subscription(String name, Listener listener, int capacity) {
+            this.name = name;
+            this.listener = listener;
+            this.capacity = Math.max(1, capacity);
+        }
+
+        private void offer(Event event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                // 아직 전달하지 못한 같은 스트리머의 상태 변경은 최신 것으로 대체
+                if (event.getType() == Type.STATUS_CHANGED) {
+                    for (Event pending : queue) {
+                        if (event.supersedes(pending)) {
+                            queue.remove(pending);
+                            coalesced.incrementAndGet();
+                            break;
+                        }
+                    }
+                }
+                if (queue.size() >= capacity) {
+                    queue.pollFirst(); // 가장 오래된 이벤트를 버림
+                    dropped.incrementAndGet();
+                }
+                queue.addLast(event);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            dispatcher.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                Event event;
+                synchronized (this) {
+                    event = closed ? null : queue.pollFirst();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    listener.onEvent(event);
+                    delivered.incrementAndGet();
+                } catch (Exception e) {
+                    System.err.println("이벤트 처리 오류 (" + name + "): " + e.getMessage());
+                }
+            }
+        }
+
+        public String getName() { return name; }
+        public long getDeliveredCount() { return delivered.get(); }
+        public long getCoalescedCount() { return coalesced.get(); }
+        public long getDroppedCount() { return dropped.get(); }
+
+        public synchronized int getPendingCount() { return queue.size(); }
+
+        /**
+         * 구독 해제 (전달하지 못한 이벤트는 버림)
+         */
+        @Override
+        public void close() {
+            synchronized (this) {
+                closed = true;
+                queue.clear();
+            }
+            subscriptions.remove(this);
+        }
+    }
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong published = new AtomicLong();
+
+    /**
+     * 구독 추가
+     *
+     * @param name 통계와 로그에 표시할 이름
+     * @param capacity 전달하지 못한 이벤트를 보관할 최대 개수 (넘으면 가장 오래된 것부터 버림)
+     */
+    public Subscription subscribe(String name, int capacity, Listener listener) {
+        Subscription subscription = new Subscription(name, listener, capacity);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * 이벤트 발행 (기다리지 않고 바로 반환)
+     */
+    public void publish(Event event) {
+        published.incrementAndGet();
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    public List<Subscription> getSubscriptions() {
+        return new ArrayList<>(subscriptions);
+    }
+
+    /**
+     * 구독을 모두 해제하고 전달 스레드를 정리합니다.
+     */
+    public void shutdown() {
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+        dispatcher.shutdown();
+    }
+
+    /**
+     * 통계 요약 문자열
+     */
+    public String getStatsSummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("발행 ").append(published.get()).append("건");
+        for (Subscription subscription : subscriptions) {
+            sb.append(", ").append(subscription.getName())
+                .append(" 전달 ").append(subscription.getDeliveredCount())
+                .append(" 합침 ").append(subscription.getCoalescedCount())
+                .append(" 버림 ").append(subscription.getDroppedCount())
+                .append(" 대기 ").append(subscription.getPendingCount());
+        }
+        return sb.toString();
+    }
+}
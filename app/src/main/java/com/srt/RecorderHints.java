@@ -0,0 +1,79 @@
+package com.srt;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 플랫폼별 녹화 설정
+ * 녹화 명령어를 만들 때 필요한 HTTP 헤더와 플랫폼 특성(저지연 입력, 녹화 후 메타데이터 보정 등)을 담습니다.
+ */
+public final class RecorderHints {
+    public static final RecorderHints NONE = new Builder().build();
+
+    private final Map<String, String> httpHeaders;
+    private final boolean preferYtDlp;
+    private final boolean lowLatencyInput;
+    private final boolean fixMetadata;
+
+    private RecorderHints(Builder builder) {
+        this.httpHeaders = Collections.unmodifiableMap(new LinkedHashMap<>(builder.httpHeaders));
+        this.preferYtDlp = builder.preferYtDlp;
+        this.lowLatencyInput = builder.lowLatencyInput;
+        this.fixMetadata = builder.fixMetadata;
+    }
+
+    /**
+     * 녹화 요청에 추가할 HTTP 헤더 (추가한 순서 유지)
+     */
+    public Map<String, String> getHttpHeaders() { return httpHeaders; }
+
+    /**
+     * FFmpeg 대신 yt-dlp 사용 권장 여부
+     */
+    public boolean isPreferYtDlp() { return preferYtDlp; }
+
+    /**
+     * FFmpeg 저지연 입력 옵션 사용 여부
+     */
+    public boolean isLowLatencyInput() { return lowLatencyInput; }
+
+    /**
+     * 녹화 후 MP4 메타데이터 보정 필요 여부
+     */
+    public boolean isFixMetadata() { return fixMetadata; }
+
+    /**
+     * 녹화 설정 생성기
+     */
+    public static final class Builder {
+        private final Map<String, String> httpHeaders = new LinkedHashMap<>();
+        private boolean preferYtDlp;
+        private boolean lowLatencyInput;
+        private boolean fixMetadata;
+
+        public Builder header(String name, String value) {
+            httpHeaders.put(name, value);
+            return this;
+        }
+
+        public Builder preferYtDlp(boolean preferYtDlp) {
+            this.preferYtDlp = preferYtDlp;
+            return this;
+        }
+
+        public Builder lowLatencyInput(boolean lowLatencyInput) {
+            this.lowLatencyInput = lowLatencyInput;
+            return this;
+        }
+
+        public Builder fixMetadata(boolean fixMetadata) {
+            this.fixMetadata = fixMetadata;
+            return this;
+        }
+
+        public RecorderHints build() {
+            return new RecorderHints(this);
+        }
+    }
+}
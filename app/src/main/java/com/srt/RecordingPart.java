@@ -0,0 +1,85 @@
+package com.srt;
+
+import java.io.File;
+
+/**
+ * 녹화 1건을 이루는 파일 조각 정보
+ * 녹화 프로세스가 방송 중에 끊겨 다시 연결하거나 설정한 시간/크기마다 분할하면
+ * 같은 기본 파일명에 _part2, _part3 ... 을 붙여 이어서 녹화합니다.
+ */
+public final class RecordingPart {
+    public static final String REASON_START = "start";         // 녹화 시작
+    public static final String REASON_RECONNECT = "reconnect"; // 예기치 않은 종료 후 재연결
+    public static final String REASON_ROTATE = "rotate";       // 설정한 시간/크기에 도달해 분할
+
+    // 이보다 짧게 끝난 조각은 곧바로 실패한 것으로 봅니다.
+    public static final long SHORT_PART_MILLIS = 15000;
+
+    private final File outputDir;
+    private final String baseFilename;
+    private final int number;
+    private final long recordingStartMillis;
+    private final long previousEndMillis;
+    private final String reason;
+    private final int shortRestarts;
+
+    private RecordingPart(File outputDir, String baseFilename, int number, long recordingStartMillis,
+                          long previousEndMillis, String reason, int shortRestarts) {
+        this.outputDir = outputDir;
+        this.baseFilename = baseFilename;
+        this.number = number;
+        this.recordingStartMillis = recordingStartMillis;
+        this.previousEndMillis = previousEndMillis;
+        this.reason = reason;
+        this.shortRestarts = shortRestarts;
+    }
+
+    /**
+     * 녹화의 첫 번째 조각
+     */
+    public static RecordingPart first(File outputDir, String baseFilename, long recordingStartMillis) {
+        return new RecordingPart(outputDir, baseFilename, 1, recordingStartMillis, -1, REASON_START, 0);
+    }
+
+    /**
+     * 다음 조각
+     *
+     * @param startedMillis 이 조각이 시작된 시각
+     * @param endMillis 이 조각이 끝난 시각 (다음 조각까지의 공백 측정 기준)
+     */
+    public RecordingPart next(long startedMillis, long endMillis, String reason) {
+        int shortCount = endMillis - startedMillis < SHORT_PART_MILLIS ? shortRestarts + 1 : 0;
+        return new RecordingPart(outputDir, baseFilename, number + 1, recordingStartMillis, endMillis, reason, shortCount);
+    }
+
+    /**
+     * 이 조각의 파일명 (첫 조각은 기본 파일명 그대로)
+     */
+    public String getFilename() {
+        if (number <= 1) {
+            return baseFilename;
+        }
+        int dot = baseFilename.lastIndexOf('.');
+        String suffix = "_part" + number;
+        return dot > 0 ? baseFilename.substring(0, dot) + suffix + baseFilename.substring(dot) : baseFilename + suffix;
+    }
+
+    /**
+     * 이전 조각 종료(분할은 분할 시작) 후 이 조각 시작까지의 공백 (밀리초, 첫 조각은 -1)
+     */
+    public long gapUntil(long startedMillis) {
+        return previousEndMillis < 0 ? -1 : startedMillis - previousEndMillis;
+    }
+
+    public File getOutputDir() { return outputDir; }
+    public String getBaseFilename() { return baseFilename; }
+    public int getNumber() { return number; }
+    public long getRecordingStartMillis() { return recordingStartMillis; }
+    public long getPreviousEndMillis() { return previousEndMillis; }
+    public String getReason() { return reason; }
+
+    /**
+     * 곧바로 끝난 조각이 연속으로 이어진 횟수
+     */
+    public int getShortRestarts() { return shortRestarts; }
+}
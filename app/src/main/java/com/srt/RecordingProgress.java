@@ -0,0 +1,190 @@
+package com.srt;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 녹화 1건의 진행 통계
+ * 녹화 프로그램(streamlink, yt-dlp, ffmpeg)의 출력 줄을 해석해 다운로드 속도, 받은/실패한 세그먼트 수,
+ * ffmpeg의 frame=, speed=, bitrate= 값을 모읍니다. 내장 HLS 녹화는 녹화기의 카운터로 갱신하고,
+ * 외부 녹화 프로그램의 속도는 출력 파일이 늘어난 크기로 계산합니다 (표준 출력으로 받는 streamlink는 속도를 출력하지 않음).
+ */
+public class RecordingProgress {
+    // ffmpeg 진행 줄 (frame=  123 fps= 30 ... bitrate= 838.9kbits/s speed=1.01x), 세그먼트 열기는 -loglevel info에서 출력
+    private static final Pattern FFMPEG_FRAME = Pattern.compile("frame=\\s*(\\d+)");
+    private static final Pattern FFMPEG_SPEED = Pattern.compile("speed=\\s*([\\d.]+)x");
+    private static final Pattern FFMPEG_BITRATE = Pattern.compile("bitrate=\\s*([\\d.]+)kbits/s");
+    private static final Pattern FFMPEG_OPEN_SEGMENT = Pattern.compile("Opening '[^']+\\.(?:ts|m4s|aac|mp4)[^']*' for reading");
+
+    // streamlink --loglevel debug ([stream.hls][debug] Segment 123 complete)
+    private static final Pattern STREAMLINK_SEGMENT = Pattern.compile("[Ss]egment (\\d+) complete");
+
+    // yt-dlp ([download]   1.23MiB at  500.00KiB/s (00:00:05) (frag 3/?))
+    private static final Pattern YTDLP_SPEED = Pattern.compile("\\[download\\].*? at\\s+([\\d.]+)([KMGT]?i?B)/s");
+    private static final Pattern YTDLP_FRAGMENT = Pattern.compile("\\(frag (\\d+)(?:/[^)]*)?\\)");
+
+    // 세그먼트 실패 (세 프로그램 공통)
+    private static final Pattern SEGMENT_FAILURE = Pattern.compile(
+        "(?i)(failed to (?:fetch|download|open) segment|download of segment \\d+ failed|"
+            + "retrying fragment|skipping fragment|fragment \\d+ not found|error when loading first segment)");
+    private static final Pattern ERROR_LINE = Pattern.compile("(?i)\\b(error|failed|exception)\\b");
+
+    private static final int MAX_ERROR_LENGTH = 200;
+
+    private final AtomicLong lines = new AtomicLong();
+    private final AtomicLong segmentsFetched = new AtomicLong();
+    private final AtomicLong segmentsFailed = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private volatile double bytesPerSecond = -1;
+    private volatile double speed = -1;       // ffmpeg speed= (1.0 = 실시간)
+    private volatile long frame = -1;
+    private volatile double bitrateKbps = -1;
+    private volatile long lastOutputAt = System.currentTimeMillis();
+    private volatile String lastError;
+
+    // 받은 크기로 속도 계산 (내장 HLS 녹화, 외부 녹화 프로그램)
+    private long lastSampleBytes = -1;
+    private long lastSampleAt;
+
+    /**
+     * 녹화 프로그램 출력 1줄 반영
+     */
+    public void accept(String line) {
+        if (line == null || line.isBlank()) {
+            return;
+        }
+        lines.incrementAndGet();
+        lastOutputAt = System.currentTimeMillis();
+
+        if (line.contains("frame=") || line.contains("speed=")) {
+            Matcher m = FFMPEG_FRAME.matcher(line);
+            if (m.find()) {
+                frame = Long.parseLong(m.group(1));
+            }
+            m = FFMPEG_SPEED.matcher(line);
+            if (m.find()) {
+                speed = Double.parseDouble(m.group(1));
+            }
+            m = FFMPEG_BITRATE.matcher(line);
+            if (m.find()) {
+                bitrateKbps = Double.parseDouble(m.group(1));
+            }
+            return;
+        }
+
+        Matcher m = YTDLP_SPEED.matcher(line);
+        if (m.find()) {
+            bytesPerSecond = toBytes(m.group(1), m.group(2));
+            Matcher frag = YTDLP_FRAGMENT.matcher(line);
+            if (frag.find()) {
+                long count = Long.parseLong(frag.group(1));
+                segmentsFetched.accumulateAndGet(count, Math::max);
+            }
+            return;
+        }
+        if (STREAMLINK_SEGMENT.matcher(line).find() || FFMPEG_OPEN_SEGMENT.matcher(line).find()) {
+            segmentsFetched.incrementAndGet();
+            return;
+        }
+
+        if (SEGMENT_FAILURE.matcher(line).find()) {
+            segmentsFailed.incrementAndGet();
+        }
+        if (ERROR_LINE.matcher(line).find()) {
+            errors.incrementAndGet();
+            lastError = line.length() > MAX_ERROR_LENGTH ? line.substring(0, MAX_ERROR_LENGTH) : line;
+        }
+    }
+
+    /**
+     * 내장 HLS 녹화 카운터 반영
+     */
+    public synchronized void updateFromNative(HlsRecorder recorder) {
+        sampleBytes(recorder.getBytesWritten());
+        segmentsFetched.set(recorder.getSegmentsWritten());
+        segmentsFailed.set(recorder.getSegmentsSkipped());
+    }
+
+    /**
+     * 외부 녹화 프로그램의 출력 파일 크기 반영 (속도 제한 중이면 제한 후 실제로 쓴 속도)
+     */
+    public synchronized void updateFromOutputSize(long bytes) {
+        sampleBytes(bytes);
+    }
+
+    private void sampleBytes(long bytes) {
+        long now = System.currentTimeMillis();
+        if (lastSampleBytes >= 0 && now > lastSampleAt) {
+            bytesPerSecond = Math.max(0, bytes - lastSampleBytes) * 1000.0 / (now - lastSampleAt);
+        }
+        if (bytes != lastSampleBytes) {
+            lastOutputAt = now;
+        }
+        lastSampleBytes = bytes;
+        lastSampleAt = now;
+    }
+
+    private static double toBytes(String value, String unit) {
+        double number = Double.parseDouble(value);
+        switch (unit.toUpperCase(Locale.ROOT).charAt(0)) {
+            case 'K': return number * 1024;
+            case 'M': return number * 1024 * 1024;
+            case 'G': return number * 1024 * 1024 * 1024;
+            case 'T': return number * 1024 * 1024 * 1024 * 1024;
+            default: return number;
+        }
+    }
+
+    public long getLines() { return lines.get(); }
+    public long getSegmentsFetched() { return segmentsFetched.get(); }
+    public long getSegmentsFailed() { return segmentsFailed.get(); }
+    public long getErrors() { return errors.get(); }
+    public String getLastError() { return lastError; }
+    public long getLastOutputAt() { return lastOutputAt; }
+
+    /**
+     * 다운로드 속도 (바이트/초, 아직 모르면 -1)
+     */
+    public double getBytesPerSecond() { return bytesPerSecond; }
+
+    /**
+     * ffmpeg 처리 속도 배율 (1.0 = 실시간, 아직 모르면 -1)
+     */
+    public double getSpeed() { return speed; }
+
+    public long getFrame() { return frame; }
+    public double getBitrateKbps() { return bitrateKbps; }
+
+    /**
+     * 마지막 출력 후 지난 시간 (밀리초)
+     */
+    public long getIdleMillis() {
+        return System.currentTimeMillis() - lastOutputAt;
+    }
+
+    /**
+     * 통계 요약 문자열
+     */
+    public String getSummary() {
+        StringBuilder sb = new StringBuilder();
+        if (bytesPerSecond >= 0) {
+            sb.append("속도 ").append(StorageMonitor.formatBytes((long) bytesPerSecond)).append("/s, ");
+        }
+        if (speed >= 0) {
+            sb.append("speed=").append(String.format("%.2fx", speed)).append(", ");
+        }
+        if (bitrateKbps >= 0) {
+            sb.append(String.format("bitrate=%.0fkbps", bitrateKbps)).append(", ");
+        }
+        if (frame >= 0) {
+            sb.append("frame=").append(frame).append(", ");
+        }
+        sb.append("세그먼트 ").append(segmentsFetched.get()).append("개 (실패 ").append(segmentsFailed.get()).append(")");
+        if (errors.get() > 0) {
+            sb.append(", 오류 ").append(errors.get()).append("줄");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,175 @@
+package com.srt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 녹화 시작 대기열
+ * 동시에 진행할 수 있는 녹화 수를 제한하고(0이면 제한 없음), 초과한 시작 요청은 우선순위 순서로 기다리게 합니다.
+ * 우선순위는 상태 확인 등급(HOT > NORMAL > COLD)이 먼저이고, 같은 등급이면 먼저 요청한 순서입니다.
+ */
+public class RecordingQueue {
+    /**
+     * 대기 중인 녹화 시작 요청
+     */
+    public static final class Ticket implements Comparable<Ticket> {
+        private final String name;
+        private final PollScheduler.Tier tier;
+        private final long enqueuedAt;
+        private final long sequence;
+        private final boolean waited; // 요청 시점에 빈 자리가 없었는지 여부
+
+        Ticket(String name, PollScheduler.Tier tier, long enqueuedAt, long sequence, boolean waited) {
+            this.name = name;
+            this.tier = tier;
+            this.enqueuedAt = enqueuedAt;
+            this.sequence = sequence;
+            this.waited = waited;
+        }
+
+        public String getName() { return name; }
+        public PollScheduler.Tier getTier() { return tier; }
+        public long getEnqueuedAt() { return enqueuedAt; }
+
+        /**
+         * 대기 시간 (밀리초)
+         */
+        public long getWaitMillis() {
+            return System.currentTimeMillis() - enqueuedAt;
+        }
+
+        @Override
+        public int compareTo(Ticket other) {
+            int byTier = Integer.compare(tier.ordinal(), other.tier.ordinal());
+            return byTier != 0 ? byTier : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final PriorityBlockingQueue<Ticket> pending = new PriorityBlockingQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile int maxConcurrent; // 0 = 제한 없음
+    private int running;
+
+    // 대기 통계
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+
+    /**
+     * @param maxConcurrent 최대 동시 녹화 수 (0이면 제한 없음)
+     */
+    public RecordingQueue(int maxConcurrent) {
+        this.maxConcurrent = Math.max(0, maxConcurrent);
+    }
+
+    /**
+     * 녹화 시작 요청 추가
+     */
+    public synchronized void enqueue(String name, PollScheduler.Tier tier) {
+        boolean waited = isFull() || !pending.isEmpty();
+        pending.add(new Ticket(name, tier, System.currentTimeMillis(), sequence.incrementAndGet(), waited));
+    }
+
+    /**
+     * 빈 자리가 있으면 가장 우선순위가 높은 요청을 꺼내 녹화 자리를 배정합니다.
+     *
+     * @return 배정된 요청 (빈 자리가 없거나 대기 중인 요청이 없으면 null)
+     */
+    public synchronized Ticket admit() {
+        if (isFull()) {
+            return null;
+        }
+        Ticket ticket = pending.poll();
+        if (ticket == null) {
+            return null;
+        }
+        running++;
+        long wait = ticket.getWaitMillis();
+        admitted.incrementAndGet();
+        totalWaitMillis.addAndGet(wait);
+        maxWaitMillis.accumulateAndGet(wait, Math::max);
+        if (ticket.waited) {
+            queued.incrementAndGet();
+        }
+        return ticket;
+    }
+
+    /**
+     * 빈 자리가 없는지 확인 (제한이 없으면 항상 false)
+     */
+    private boolean isFull() {
+        return maxConcurrent > 0 && running >= maxConcurrent;
+    }
+
+    /**
+     * 녹화가 끝나 자리를 반납합니다. (admit 1회당 1번 호출)
+     */
+    public synchronized void release() {
+        if (running > 0) {
+            running--;
+        }
+    }
+
+    /**
+     * 대기 중인 요청 취소
+     *
+     * @return 대기 중이던 요청이 있었으면 true
+     */
+    public synchronized boolean cancel(String name) {
+        return pending.removeIf(ticket -> ticket.getName().equals(name));
+    }
+
+    /**
+     * 대기 중인 요청 목록 (우선순위 순서)
+     */
+    public List<Ticket> getPending() {
+        List<Ticket> list = new ArrayList<>(pending);
+        list.sort(null);
+        return list;
+    }
+
+    /**
+     * 스트리머의 대기 시간 (밀리초, 대기 중이 아니면 -1)
+     */
+    public long getWaitMillis(String name) {
+        for (Ticket ticket : pending) {
+            if (ticket.getName().equals(name)) {
+                return ticket.getWaitMillis();
+            }
+        }
+        return -1;
+    }
+
+    public int getPendingCount() { return pending.size(); }
+    public synchronized int getRunningCount() { return running; }
+    public int getMaxConcurrent() { return maxConcurrent; }
+
+    /**
+     * 최대 동시 녹화 수 설정 (0이면 제한 없음)
+     */
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = Math.max(0, maxConcurrent);
+    }
+
+    /**
+     * 최대 동시 녹화 수 표시 문자열
+     */
+    public String getMaxConcurrentText() {
+        return maxConcurrent > 0 ? String.valueOf(maxConcurrent) : "무제한";
+    }
+
+    /**
+     * 통계 요약 문자열
+     */
+    public String getStatsSummary() {
+        long count = Math.max(1, admitted.get());
+        return String.format("녹화 %d/%s, 대기 %d명, 누적 배정 %d회 (대기 후 배정 %d회, 평균 대기 %ds, 최대 %ds)",
+            getRunningCount(), getMaxConcurrentText(), pending.size(), admitted.get(), queued.get(),
+            TimeUnit.MILLISECONDS.toSeconds(totalWaitMillis.get() / count),
+            TimeUnit.MILLISECONDS.toSeconds(maxWaitMillis.get()));
+    }
+}
@@ -0,0 +1,303 @@
+package com.srt;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 진행 중인 녹화 1건
+ * 외부 녹화 프로세스 또는 내장 HLS 녹화를 감싸고, 종료를 Future로 알립니다.
+ * 녹화를 기다리며 잠들어 있는 스레드 없이 Process.onExit()와 중지 요청 Future로 동작합니다.
+ * 표준 출력으로 녹화하는 프로세스(속도 제한 중)는 출력을 대역폭 채널로 속도 제한하며 파일에 복사하고, 복사가 끝나야 종료로 봅니다.
+ */
+public class RecordingSession {
+    private final String streamerName;
+    private final Process process;
+    private final HlsRecorder nativeRecorder;
+    private final File outputFile;
+    private final RecorderHints hints;
+    private final String platformName;
+    private final RecordingPart part;
+    private final long startMillis;
+    private final BandwidthGovernor.Channel bandwidth;
+    private final boolean pipedOutput; // 녹화 데이터를 표준 출력으로 받아 직접 파일에 씀
+    private final CompletableFuture<Integer> exit;
+    private final CompletableFuture<Void> stopRequested = new CompletableFuture<>();
+    private final RecordingProgress progress = new RecordingProgress();
+    private volatile long lastFileSize = -1;
+    private boolean rotating;  // 다음 조각으로 넘기는 중 (분할)
+    private boolean finished;
+
+    private RecordingSession(String streamerName, Process process, HlsRecorder nativeRecorder, File outputFile,
+                             RecorderHints hints, String platformName, RecordingPart part, long startMillis,
+                             BandwidthGovernor.Channel bandwidth, boolean pipedOutput) {
+        this.streamerName = streamerName;
+        this.process = process;
+        this.nativeRecorder = nativeRecorder;
+        this.outputFile = outputFile;
+        this.hints = hints;
+        this.platformName = platformName;
+        this.part = part;
+        this.startMillis = startMillis;
+        this.bandwidth = bandwidth;
+        this.pipedOutput = pipedOutput;
+        CompletableFuture<Integer> finished = process != null
+            ? process.onExit().thenApply(Process::exitValue)
+            : nativeRecorder.onExit();
+        if (pipedOutput) {
+            finished = finished.thenCombine(startOutputCopy(), (code, ignored) -> code);
+        }
+        this.exit = finished;
+        exit.whenComplete((code, error) -> bandwidth.close());
+    }
+
+    /**
+     * 외부 녹화 프로세스 세션
+     *
+     * @param pipedOutput 녹화 데이터를 표준 출력으로 내보내는 프로세스이면 true
+     */
+    public static RecordingSession forProcess(String streamerName, Process process, File outputFile, RecorderHints hints,
+                                              String platformName, RecordingPart part, long startMillis,
+                                              BandwidthGovernor.Channel bandwidth, boolean pipedOutput) {
+        return new RecordingSession(streamerName, process, null, outputFile, hints, platformName, part, startMillis,
+            bandwidth, pipedOutput);
+    }
+
+    /**
+     * 내장 HLS 녹화 세션 (대역폭 채널은 녹화기에 설정되어 있어야 함)
+     */
+    public static RecordingSession forNative(String streamerName, HlsRecorder recorder, RecorderHints hints,
+                                             String platformName, RecordingPart part, long startMillis,
+                                             BandwidthGovernor.Channel bandwidth) {
+        return new RecordingSession(streamerName, null, recorder, recorder.getOutputFile(), hints, platformName, part,
+            startMillis, bandwidth, false);
+    }
+
+    /**
+     * 프로세스 표준 출력을 대역폭 몫을 지키며 출력 파일에 복사 (복사가 끝나면 완료)
+     * 파일에 쓸 수 없으면 녹화 프로세스를 종료합니다.
+     */
+    private CompletableFuture<Void> startOutputCopy() {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Thread.ofVirtual().name("recording-copy-" + streamerName).start(() -> {
+            try (InputStream in = process.getInputStream(); OutputStream out = new FileOutputStream(outputFile)) {
+                bandwidth.copy(in, out);
+            } catch (IOException e) {
+                System.err.println(streamerName + " 녹화 파일 쓰기 오류: " + e.getMessage());
+                process.destroy();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.complete(null);
+            }
+        });
+        return done;
+    }
+
+    /**
+     * 녹화가 끝나면 종료 코드로 완료되는 Future
+     */
+    public CompletableFuture<Integer> onExit() {
+        return exit;
+    }
+
+    /**
+     * 녹화 프로세스 출력 읽기 시작
+     * 가상 스레드에서 출력(표준 출력으로 녹화하면 표준 오류)을 줄 단위로 읽어 진행 통계에 반영하고 로그 파일에 기록합니다.
+     * ffmpeg, yt-dlp 진행 줄은 \r로 덮어쓰므로 \r과 \n 모두 줄 끝으로 봅니다.
+     */
+    public void startOutputReader(RotatingLogWriter log) {
+        if (process == null) {
+            return;
+        }
+        Thread.ofVirtual().name("recording-output-" + streamerName).start(() -> {
+            InputStream output = pipedOutput ? process.getErrorStream() : process.getInputStream();
+            try (Reader reader = new InputStreamReader(output, StandardCharsets.UTF_8)) {
+                pumpLines(reader, log);
+            } catch (IOException e) {
+                // 프로세스 종료로 스트림이 닫힘
+            } finally {
+                log.close();
+            }
+        });
+    }
+
+    private void pumpLines(Reader reader, RotatingLogWriter log) throws IOException {
+        char[] buffer = new char[8192];
+        StringBuilder line = new StringBuilder();
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                if (c == '\n' || c == '\r') {
+                    if (line.length() > 0) {
+                        String text = line.toString();
+                        progress.accept(text);
+                        log.writeLine(text);
+                        line.setLength(0);
+                    }
+                } else {
+                    line.append(c);
+                }
+            }
+        }
+        if (line.length() > 0) {
+            progress.accept(line.toString());
+            log.writeLine(line.toString());
+        }
+    }
+
+    /**
+     * 녹화 중지 요청
+     * 외부 프로세스는 정상 종료를 요청하고, graceMillis 안에 끝나지 않으면 강제 종료합니다.
+     *
+     * @return 처음 요청한 경우 true
+     */
+    public boolean requestStop(ScheduledExecutorService scheduler, long graceMillis) {
+        if (!signalStop()) {
+            return false;
+        }
+        if (process != null && process.isAlive()) {
+            scheduler.schedule(() -> {
+                if (forceKill()) {
+                    System.err.println(streamerName + " 녹화 프로세스가 응답하지 않아 강제 종료합니다.");
+                }
+            }, graceMillis, TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    /**
+     * 정상 종료만 요청 (강제 종료는 호출한 쪽에서 결정)
+     *
+     * @return 처음 요청한 경우 true
+     */
+    public boolean signalStop() {
+        if (!stopRequested.complete(null)) {
+            return false;
+        }
+        if (nativeRecorder != null) {
+            nativeRecorder.stop();
+        } else if (process.isAlive()) {
+            process.destroy();
+        }
+        return true;
+    }
+
+    /**
+     * 아직 실행 중인 녹화 프로세스와 하위 프로세스 강제 종료 (내장 녹화는 해당 없음)
+     *
+     * @return 강제 종료한 경우 true
+     */
+    public boolean forceKill() {
+        if (process == null || !process.isAlive()) {
+            return false;
+        }
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+        return true;
+    }
+
+    /**
+     * 중지 요청을 받았는지 여부
+     */
+    public boolean isStopRequested() {
+        return stopRequested.isDone();
+    }
+
+    /**
+     * 다음 조각으로 넘기기 시작 (이미 종료되었거나 중지 요청, 분할 중이면 false)
+     */
+    public synchronized boolean beginRotation() {
+        if (rotating || finished || isStopRequested()) {
+            return false;
+        }
+        rotating = true;
+        return true;
+    }
+
+    /**
+     * 다음 조각 시작에 실패해 분할을 취소합니다.
+     *
+     * @return 그 사이에 이 세션이 이미 종료되었으면 true (녹화 상태 정리가 필요)
+     */
+    public synchronized boolean abortRotation() {
+        rotating = false;
+        return finished;
+    }
+
+    /**
+     * 종료 처리 시작
+     *
+     * @return 분할 중이어서 다음 조각이 녹화를 이어받는 경우 true
+     */
+    public synchronized boolean markFinished() {
+        finished = true;
+        return rotating;
+    }
+
+    /**
+     * 녹화 경과 시간 (밀리초, 재연결한 경우 첫 조각 시작부터)
+     */
+    public long getElapsedMillis() {
+        return System.currentTimeMillis() - part.getRecordingStartMillis();
+    }
+
+    /**
+     * 이 조각의 경과 시간 (밀리초)
+     */
+    public long getPartElapsedMillis() {
+        return System.currentTimeMillis() - startMillis;
+    }
+
+    /**
+     * 출력 파일 크기를 확인해 저장합니다 (파일이 없으면 -1).
+     * 외부 녹화 프로세스는 진행 통계(속도)도 함께 갱신하고 (내장 HLS 녹화는 녹화기 통계 사용),
+     * 속도 제한 없이 파일에 직접 쓰는 녹화는 늘어난 크기를 대역폭 사용량으로 집계합니다.
+     */
+    public long sampleFileSize() {
+        if (nativeRecorder != null) {
+            progress.updateFromNative(nativeRecorder);
+        }
+        long size = outputFile.exists() ? outputFile.length() : -1;
+        long previous = Math.max(0, lastFileSize);
+        if (process != null && size >= 0) {
+            progress.updateFromOutputSize(size);
+        }
+        if (process != null && !pipedOutput && size > previous) {
+            bandwidth.record(size - previous);
+        }
+        lastFileSize = size;
+        return size;
+    }
+
+    public long getLastFileSize() { return lastFileSize; }
+
+    /**
+     * 진행 통계 (외부 프로세스는 출력 해석 결과, 받은 속도는 sampleFileSize 때 갱신)
+     */
+    public RecordingProgress getProgress() { return progress; }
+
+    public String getStreamerName() { return streamerName; }
+    public Process getProcess() { return process; }
+    public HlsRecorder getNativeRecorder() { return nativeRecorder; }
+    public File getOutputFile() { return outputFile; }
+    public RecorderHints getHints() { return hints; }
+    public String getPlatformName() { return platformName; }
+    public RecordingPart getPart() { return part; }
+    public boolean isPipedOutput() { return pipedOutput; }
+    public BandwidthGovernor.Channel getBandwidth() { return bandwidth; }
+
+    /**
+     * 이 조각의 시작 시각
+     */
+    public long getStartMillis() { return startMillis; }
+}
@@ -0,0 +1,69 @@
+package com.srt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * 여러 조각으로 나뉜 녹화의 조각 목록 파일 (기본파일명.parts.json)
+ * 조각마다 파일명, 시작/종료 시각, 종료 코드, 이전 조각과의 공백(밀리초), 나뉜 이유를 기록합니다.
+ */
+public final class RecordingSidecar {
+    private RecordingSidecar() {
+    }
+
+    /**
+     * 조각 목록 파일 위치
+     */
+    public static File fileFor(RecordingPart part) {
+        String base = part.getBaseFilename();
+        int dot = base.lastIndexOf('.');
+        String stem = dot > 0 ? base.substring(0, dot) : base;
+        return new File(part.getOutputDir(), stem + ".parts.json");
+    }
+
+    /**
+     * 끝난 조각 정보를 목록 파일에 추가합니다.
+     *
+     * @param gapMillis 이전 조각 종료 후 이 조각 시작까지의 공백 (첫 조각은 -1)
+     */
+    public static synchronized void append(RecordingPart part, File outputFile, long startedMillis, long endedMillis,
+                                           Integer exitCode, long gapMillis) {
+        File sidecar = fileFor(part);
+        try {
+            ObjectNode root;
+            if (sidecar.exists()) {
+                JsonNode existing = JsonCodec.MAPPER.readTree(sidecar);
+                root = existing instanceof ObjectNode ? (ObjectNode) existing : JsonCodec.MAPPER.createObjectNode();
+            } else {
+                root = JsonCodec.MAPPER.createObjectNode();
+            }
+            root.put("baseFilename", part.getBaseFilename());
+            root.put("recordingStartedAt", part.getRecordingStartMillis());
+
+            JsonNode partsNode = root.get("parts");
+            ArrayNode parts = partsNode instanceof ArrayNode ? (ArrayNode) partsNode : root.putArray("parts");
+
+            ObjectNode entry = parts.addObject();
+            entry.put("part", part.getNumber());
+            entry.put("file", outputFile.getName());
+            entry.put("reason", part.getReason());
+            entry.put("startedAt", startedMillis);
+            entry.put("endedAt", endedMillis);
+            if (exitCode != null) {
+                entry.put("exitCode", exitCode);
+            } else {
+                entry.putNull("exitCode");
+            }
+            entry.put("gapMillis", gapMillis);
+            entry.put("bytes", outputFile.exists() ? outputFile.length() : 0);
+
+            JsonCodec.PRETTY_WRITER.writeValue(sidecar, root);
+        } catch (IOException e) {
+            System.err.println("녹화 조각 목록 저장 실패: " + sidecar.getName() + " - " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.srt;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 크기가 제한된 로그 파일
+ * 파일이 maxBytes를 넘으면 이름 뒤에 .1, .2 ... 를 붙여 보관하고 새 파일에 이어서 씁니다.
+ * 보관 개수를 넘는 가장 오래된 파일은 삭제합니다.
+ */
+public class RotatingLogWriter implements AutoCloseable {
+    private final File file;
+    private final long maxBytes;
+    private final int backups;
+    private Writer writer;
+    private long written;
+
+    public RotatingLogWriter(File file, long maxBytes, int backups) {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.backups = Math.max(0, backups);
+    }
+
+    /**
+     * 로그 1줄 기록 (쓰기 실패는 무시)
+     */
+    public synchronized void writeLine(String line) {
+        try {
+            if (writer == null) {
+                open();
+            } else if (written >= maxBytes) {
+                rotate();
+            }
+            String text = line + System.lineSeparator();
+            writer.write(text);
+            writer.flush();
+            written += text.getBytes(StandardCharsets.UTF_8).length;
+        } catch (IOException e) {
+            // 로그 기록 실패로 녹화를 멈추지 않음
+        }
+    }
+
+    private void open() throws IOException {
+        written = file.exists() ? file.length() : 0;
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+    }
+
+    private void rotate() throws IOException {
+        writer.close();
+        writer = null;
+        if (backups == 0) {
+            file.delete();
+        } else {
+            new File(file.getPath() + "." + backups).delete();
+            for (int i = backups - 1; i >= 1; i--) {
+                File older = new File(file.getPath() + "." + i);
+                if (older.exists()) {
+                    older.renameTo(new File(file.getPath() + "." + (i + 1)));
+                }
+            }
+            file.renameTo(new File(file.getPath() + ".1"));
+        }
+        open();
+    }
+
+    public File getFile() { return file; }
+
+    @Override
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                // 무시
+            }
+            writer = null;
+        }
+    }
+}
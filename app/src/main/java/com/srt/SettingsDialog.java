@@ -24,6 +24,7 @@ public class SettingsDialog extends Dialog<Void> {
     private TextField nidSesField;
     private TextField nidAutField;
     private Spinner<Integer> maxThreadsSpinner;
+    private Spinner<Integer> maxConcurrentRecordingsSpinner;
     private Spinner<Integer> speedLimitSpinner;
     private ComboBox<String> recorderProgramComboBox;
     
@@ -105,7 +106,7 @@ public class SettingsDialog extends Dialog<Void> {
         // 녹화 프로그램 선택
         Label recorderProgramLabel = new Label("녹화 프로그램:");
         recorderProgramComboBox = new ComboBox<>();
-        recorderProgramComboBox.getItems().addAll("streamlink", "yt-dlp", "ffmpeg");
+        recorderProgramComboBox.getItems().addAll("streamlink", "yt-dlp", "ffmpeg", "native");
         recorderProgramComboBox.setPromptText("녹화 프로그램 선택");
         
         // 최대 스레드 설정
@@ -114,6 +115,12 @@ public class SettingsDialog extends Dialog<Void> {
         maxThreadsSpinner.setEditable(true);
         maxThreadsSpinner.setPrefWidth(80);
         
+        // 최대 동시 녹화 수 설정 (초과한 녹화는 대기열에서 기다림)
+        Label maxConcurrentRecordingsLabel = new Label("최대 동시 녹화 (0=무제한):");
+        maxConcurrentRecordingsSpinner = new Spinner<>(0, 32, 0);
+        maxConcurrentRecordingsSpinner.setEditable(true);
+        maxConcurrentRecordingsSpinner.setPrefWidth(80);
+        
         // 속도 제한 설정
         Label speedLimitLabel = new Label("속도 제한 (KB/s, 0=무제한):");
         speedLimitSpinner = new Spinner<>(0, 100000, 0);
@@ -134,8 +141,11 @@ public class SettingsDialog extends Dialog<Void> {
         gridPane.add(maxThreadsLabel, 0, 2);
         gridPane.add(maxThreadsSpinner, 1, 2);
         
-        gridPane.add(speedLimitLabel, 0, 3);
-        gridPane.add(speedLimitSpinner, 1, 3);
+        gridPane.add(maxConcurrentRecordingsLabel, 0, 3);
+        gridPane.add(maxConcurrentRecordingsSpinner, 1, 3);
+        
+        gridPane.add(speedLimitLabel, 0, 4);
+        gridPane.add(speedLimitSpinner, 1, 4);
         
         panel.getChildren().add(gridPane);
         
@@ -256,6 +266,7 @@ public class SettingsDialog extends Dialog<Void> {
             
             // 기타 설정
             maxThreadsSpinner.getValueFactory().setValue(recorder.getMaxThreads());
+            maxConcurrentRecordingsSpinner.getValueFactory().setValue(recorder.getMaxConcurrentRecordings());
             speedLimitSpinner.getValueFactory().setValue(recorder.getSpeedLimit());
         });
     }
@@ -291,6 +302,7 @@ public class SettingsDialog extends Dialog<Void> {
             
             // 기타 설정
             recorder.setMaxThreads(maxThreadsSpinner.getValue());
+            recorder.setMaxConcurrentRecordings(maxConcurrentRecordingsSpinner.getValue());
             recorder.setSpeedLimit(speedLimitSpinner.getValue());
             
             // 설정 저장
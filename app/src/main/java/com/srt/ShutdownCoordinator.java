@@ -0,0 +1,95 @@
+package com.srt;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 프로그램 종료 조정
+ * 종료 단계들을 하나의 전체 제한 시간 안에서 실행하고 단계별 소요 시간을 기록합니다.
+ * 여러 작업의 종료는 하나씩이 아니라 동시에 기다리므로, 종료 시간이 녹화 수에 따라 늘어나지 않습니다.
+ */
+public class ShutdownCoordinator {
+    private final long startNanos = System.nanoTime();
+    private final long deadlineNanos;
+    private final List<String> timings = new ArrayList<>();
+
+    /**
+     * @param budgetMillis 전체 종료 제한 시간 (밀리초)
+     */
+    public ShutdownCoordinator(long budgetMillis) {
+        this.deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+
+    /**
+     * 종료 단계 실행 (오류가 나도 다음 단계는 계속 진행)
+     */
+    public void run(String name, Runnable step) {
+        long begin = System.nanoTime();
+        try {
+            step.run();
+        } catch (Exception e) {
+            System.err.println("종료 단계 오류 (" + name + "): " + e.getMessage());
+        } finally {
+            record(name, begin);
+        }
+    }
+
+    /**
+     * 모든 작업이 끝나거나 제한 시간이 될 때까지 동시에 기다립니다.
+     *
+     * @param reserveMillis 다음 단계를 위해 전체 제한 시간에서 남겨 둘 시간
+     * @return 제한 시간 안에 끝나지 않은 작업 수
+     */
+    public int awaitAll(String name, Collection<? extends CompletableFuture<?>> futures, long reserveMillis) {
+        long begin = System.nanoTime();
+        try {
+            long waitNanos = deadlineNanos - TimeUnit.MILLISECONDS.toNanos(reserveMillis) - begin;
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .get(Math.max(0, waitNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // 끝나지 않았거나 실패한 작업은 아래에서 셈
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            record(name, begin);
+        }
+
+        int pending = 0;
+        for (CompletableFuture<?> future : futures) {
+            if (!future.isDone()) {
+                pending++;
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * 전체 제한 시간까지 남은 시간 (밀리초, 지났으면 0)
+     */
+    public long getRemainingMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * 종료 시작 후 지난 시간 (밀리초)
+     */
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private synchronized void record(String name, long beginNanos) {
+        timings.add(name + " " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - beginNanos) + "ms");
+    }
+
+    /**
+     * 단계별 소요 시간 요약 문자열
+     */
+    public synchronized String getSummary() {
+        return "총 " + getElapsedMillis() + "ms (" + String.join(", ", timings) + ")";
+    }
+}
@@ -0,0 +1,272 @@
+package com.srt;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 녹화 저장 공간 감시
+ * 출력 경로들을 실제 디스크(FileStore) 단위로 묶어 남은 공간과 쓰기 속도를 주기적으로 측정합니다.
+ * 남은 공간이 부족하면 새 녹화를 막고, 곧 가득 찰 상황이면 위험 단계로 알려 녹화를 줄이게 합니다.
+ */
+public class StorageMonitor {
+    /**
+     * 저장 공간 상태
+     */
+    public enum Level {
+        OK,       // 정상
+        LOW,      // 새 녹화 시작 불가
+        CRITICAL  // 진행 중인 녹화도 줄여야 함
+    }
+
+    // 이 시간 안에 가득 찰 것으로 예상되면 위험 단계
+    private static final long CRITICAL_SECONDS_UNTIL_FULL = TimeUnit.MINUTES.toSeconds(5);
+    // 쓰기 속도 지수 평균 가중치
+    private static final double RATE_SMOOTHING = 0.3;
+
+    /**
+     * 디스크 1개의 측정 결과 (측정할 때마다 새로 만듭니다)
+     */
+    public static final class Volume {
+        private final FileStore store;
+        private final String name;
+        private final List<String> paths;
+        private final long usableBytes;
+        private final long totalBytes;
+        private final double bytesPerSecond;
+        private final long sampledAt;
+        private final Level level;
+
+        Volume(FileStore store, List<String> paths, long usableBytes, long totalBytes, double bytesPerSecond,
+               long sampledAt, Level level) {
+            this.store = store;
+            this.name = store.toString();
+            this.paths = paths;
+            this.usableBytes = usableBytes;
+            this.totalBytes = totalBytes;
+            this.bytesPerSecond = bytesPerSecond;
+            this.sampledAt = sampledAt;
+            this.level = level;
+        }
+
+        public String getName() { return name; }
+        public List<String> getPaths() { return paths; }
+        public long getUsableBytes() { return usableBytes; }
+        public long getTotalBytes() { return totalBytes; }
+        public long getSampledAt() { return sampledAt; }
+        public Level getLevel() { return level; }
+
+        /**
+         * 최근 쓰기 속도 (바이트/초, 공간이 늘어나는 중이면 0)
+         */
+        public double getBytesPerSecond() { return bytesPerSecond; }
+
+        /**
+         * 현재 쓰기 속도로 가득 찰 때까지 남은 시간 (초, 쓰는 중이 아니면 -1)
+         */
+        public long getSecondsUntilFull() {
+            if (bytesPerSecond < 1) {
+                return -1;
+            }
+            return (long) (usableBytes / bytesPerSecond);
+        }
+    }
+
+    private final Map<FileStore, Volume> volumes = new ConcurrentHashMap<>();
+    private volatile long minFreeBytes;
+    private volatile long criticalFreeBytes;
+    private final AtomicLong refusedStarts = new AtomicLong();
+    private final AtomicLong forcedStops = new AtomicLong();
+
+    public StorageMonitor(long minFreeBytes, long criticalFreeBytes) {
+        this.minFreeBytes = minFreeBytes;
+        this.criticalFreeBytes = criticalFreeBytes;
+    }
+
+    /**
+     * 출력 경로들의 디스크 상태 측정
+     * 같은 디스크에 있는 경로는 한 번만 측정합니다.
+     *
+     * @return 디스크별 측정 결과
+     */
+    public synchronized List<Volume> sample(Collection<String> paths) {
+        Map<FileStore, Set<String>> byStore = new LinkedHashMap<>();
+        for (String path : paths) {
+            FileStore store = storeFor(path);
+            if (store != null) {
+                byStore.computeIfAbsent(store, key -> new LinkedHashSet<>()).add(path);
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        List<Volume> result = new ArrayList<>();
+        for (Map.Entry<FileStore, Set<String>> entry : byStore.entrySet()) {
+            FileStore store = entry.getKey();
+            try {
+                long usable = store.getUsableSpace();
+                Volume previous = volumes.get(store);
+                double rate = 0;
+                if (previous != null && now > previous.getSampledAt()) {
+                    double seconds = (now - previous.getSampledAt()) / 1000.0;
+                    double current = Math.max(0, (previous.getUsableBytes() - usable) / seconds);
+                    rate = previous.getBytesPerSecond() + RATE_SMOOTHING * (current - previous.getBytesPerSecond());
+                }
+
+                Volume volume = new Volume(store, List.copyOf(entry.getValue()), usable,
+                    store.getTotalSpace(), rate, now, levelOf(usable, rate));
+                if (previous != null && previous.getLevel() != volume.getLevel()) {
+                    System.out.println("저장 공간 상태 변경: " + volume.getName() + " " + previous.getLevel() + " -> "
+                        + volume.getLevel() + " (남은 공간 " + formatBytes(usable) + ")");
+                } else if (previous == null && volume.getLevel() != Level.OK) {
+                    System.err.println("저장 공간 부족: " + volume.getName() + " (남은 공간 " + formatBytes(usable) + ")");
+                }
+                volumes.put(store, volume);
+                result.add(volume);
+            } catch (IOException e) {
+                System.err.println("저장 공간 확인 실패: " + store + " - " + e.getMessage());
+            }
+        }
+
+        // 더 이상 사용하지 않는 디스크 정리
+        volumes.keySet().retainAll(byStore.keySet());
+        return result;
+    }
+
+    /**
+     * 이 경로에 새 녹화를 시작해도 되는지 확인 (남은 공간은 즉시 다시 확인)
+     */
+    public boolean canStart(String path) {
+        FileStore store = storeFor(path);
+        if (store == null) {
+            return true; // 확인할 수 없으면 막지 않음
+        }
+        try {
+            Volume volume = volumes.get(store);
+            double rate = volume != null ? volume.getBytesPerSecond() : 0;
+            if (levelOf(store.getUsableSpace(), rate) == Level.OK) {
+                return true;
+            }
+        } catch (IOException e) {
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 이 경로가 있는 디스크의 마지막 측정 결과 (아직 측정하지 않았으면 null)
+     */
+    public Volume getVolume(String path) {
+        FileStore store = storeFor(path);
+        return store != null ? volumes.get(store) : null;
+    }
+
+    /**
+     * 경로가 이 디스크에 있는지 여부
+     */
+    public boolean isOnVolume(String path, Volume volume) {
+        FileStore store = storeFor(path);
+        return store != null && store.equals(volume.store);
+    }
+
+    /**
+     * 디스크별 마지막 측정 결과
+     */
+    public List<Volume> getVolumes() {
+        return new ArrayList<>(volumes.values());
+    }
+
+    /**
+     * 공간 부족으로 녹화 시작을 거부한 횟수 기록
+     */
+    public void recordRefusedStart() {
+        refusedStarts.incrementAndGet();
+    }
+
+    /**
+     * 공간 부족으로 녹화를 중지한 횟수 기록
+     */
+    public void recordForcedStop() {
+        forcedStops.incrementAndGet();
+    }
+
+    private Level levelOf(long usable, double bytesPerSecond) {
+        if (usable < criticalFreeBytes) {
+            return Level.CRITICAL;
+        }
+        if (bytesPerSecond >= 1 && usable / bytesPerSecond < CRITICAL_SECONDS_UNTIL_FULL) {
+            return Level.CRITICAL;
+        }
+        return usable < minFreeBytes ? Level.LOW : Level.OK;
+    }
+
+    /**
+     * 경로가 속한 디스크 (아직 없는 경로는 가장 가까운 상위 디렉토리 기준)
+     */
+    private static FileStore storeFor(String path) {
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        Path current = new File(path).getAbsoluteFile().toPath();
+        while (current != null && !Files.exists(current)) {
+            current = current.getParent();
+        }
+        if (current == null) {
+            return null;
+        }
+        try {
+            return Files.getFileStore(current);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public long getMinFreeBytes() { return minFreeBytes; }
+    public void setMinFreeBytes(long minFreeBytes) { this.minFreeBytes = minFreeBytes; }
+    public long getCriticalFreeBytes() { return criticalFreeBytes; }
+    public void setCriticalFreeBytes(long criticalFreeBytes) { this.criticalFreeBytes = criticalFreeBytes; }
+
+    /**
+     * 통계 요약 문자열
+     */
+    public String getStatsSummary() {
+        StringBuilder sb = new StringBuilder();
+        for (Volume volume : volumes.values()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(volume.getName()).append(' ').append(volume.getLevel())
+                .append(" 남은 공간 ").append(formatBytes(volume.getUsableBytes()))
+                .append(" (").append(formatBytes((long) volume.getBytesPerSecond())).append("/s)");
+        }
+        if (sb.length() == 0) {
+            sb.append("측정 전");
+        }
+        return sb.append(String.format(", 시작 거부 %d회, 강제 중지 %d회", refusedStarts.get(), forcedStops.get()))
+            .toString();
+    }
+
+    /**
+     * 바이트 수를 읽기 쉬운 단위로 변환
+     */
+    public static String formatBytes(long bytes) {
+        if (bytes >= 1L << 30) {
+            return String.format("%.1fGB", bytes / (double) (1L << 30));
+        }
+        if (bytes >= 1L << 20) {
+            return String.format("%.1fMB", bytes / (double) (1L << 20));
+        }
+        return String.format("%.1fKB", bytes / 1024.0);
+    }
+}
@@ -0,0 +1,75 @@
+package com.srt;
+
+import java.util.Locale;
+
+/**
+ * 스트리머 상태
+ * 상태 확인 결과(오프라인, 온라인, 오류, 확인중)와 녹화 단계(대기중, 녹화중, 중지중)를 구분하며,
+ * 허용된 상태 변경만 할 수 있습니다. 녹화 단계에서는 상태 확인 결과로 상태가 바뀌지 않습니다.
+ */
+public enum StreamerStatus {
+    OFFLINE("offline"),
+    ONLINE("online"),
+    ERROR("error"),
+    CHECKING("checking"),
+    QUEUED("queued"),        // 녹화 대기열에서 빈 자리를 기다리는 중
+    RECORDING("recording"),
+    STOPPING("stopping");    // 중지 요청 후 녹화 프로그램 종료를 기다리는 중 (다시 시작 불가)
+
+    private final String key;
+
+    StreamerStatus(String key) {
+        this.key = key;
+    }
+
+    /**
+     * 콜백, 설정, 웹 API에서 사용하는 상태 문자열
+     */
+    public String getKey() { return key; }
+
+    /**
+     * 녹화 단계(대기중, 녹화중, 중지중)인지 여부
+     */
+    public boolean isRecordingPhase() {
+        return this == QUEUED || this == RECORDING || this == STOPPING;
+    }
+
+    /**
+     * 녹화 중으로 보는 상태인지 여부 (대기중 포함, 중지중 제외)
+     */
+    public boolean isRecording() {
+        return this == QUEUED || this == RECORDING;
+    }
+
+    /**
+     * 이 상태에서 next로 바꿀 수 있는지 여부
+     */
+    public boolean canTransitionTo(StreamerStatus next) {
+        switch (this) {
+            case QUEUED:
+                return next == RECORDING || next == STOPPING || next == ONLINE || next == OFFLINE;
+            case RECORDING:
+                return next == STOPPING || next == ONLINE || next == OFFLINE;
+            case STOPPING:
+                return next == ONLINE || next == OFFLINE;
+            case ONLINE:
+                return next != RECORDING && next != STOPPING;
+            default:
+                return !next.isRecordingPhase();
+        }
+    }
+
+    /**
+     * 상태 문자열을 상태로 변환 (알 수 없는 값은 OFFLINE)
+     */
+    public static StreamerStatus fromString(String value) {
+        if (value != null) {
+            for (StreamerStatus status : values()) {
+                if (status.key.equals(value.trim().toLowerCase(Locale.ROOT))) {
+                    return status;
+                }
+            }
+        }
+        return OFFLINE;
+    }
+}
@@ -0,0 +1,57 @@
+package com.srt;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * streamlink --json 출력에서 필요한 값 (방송 중 여부, 방송 제목)
+ * 출력에는 화질별 스트림 주소와 헤더가 많이 들어 있지만, streams가 비어 있는지와 metadata.title만 읽고 나머지는 건너뜁니다.
+ */
+public record StreamlinkOutput(boolean live, String title) {
+
+    /**
+     * streamlink --json 출력 해석
+     *
+     * @throws IOException JSON 형식이 아닌 경우
+     */
+    public static StreamlinkOutput parse(String json) throws IOException {
+        boolean live = false;
+        String title = null;
+        try (JsonParser parser = JsonCodec.factory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("streamlink 출력 형식 오류");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("streams".equals(field)) {
+                    live = JsonCodec.isNonEmptyObject(parser);
+                } else if ("metadata".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    title = readTitle(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return new StreamlinkOutput(live, title);
+    }
+
+    /**
+     * metadata 객체에서 title만 읽습니다.
+     */
+    private static String readTitle(JsonParser parser) throws IOException {
+        String title = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("title".equals(field)) {
+                title = JsonCodec.textOrNull(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return title;
+    }
+}
@@ -0,0 +1,261 @@
+package com.srt;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 외부 도구 레지스트리
+ * streamlink, yt-dlp, ffmpeg, aria2c의 위치와 버전을 한 번만 확인해 두고 재사용합니다.
+ * TTL이 지나거나 PATH 상의 실행 파일이 바뀐 경우에만 버전 확인 프로세스를 다시 실행합니다.
+ */
+public class ToolRegistry {
+    public static final String STREAMLINK = "streamlink";
+    public static final String YT_DLP = "yt-dlp";
+    public static final String FFMPEG = "ffmpeg";
+    public static final String ARIA2C = "aria2c";
+
+    private static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final long PATH_RECHECK_MILLIS = 5000;   // PATH 재탐색 최소 간격
+    private static final long VERSION_TIMEOUT_SECONDS = 10; // 버전 확인 프로세스 제한 시간
+    private static final long OUTPUT_WAIT_MILLIS = 1000;    // 종료 후 출력 읽기를 기다리는 최대 시간
+
+    /**
+     * 확인된 도구 정보
+     */
+    public static final class ToolInfo {
+        private final String name;
+        private final boolean available;
+        private final String version;
+        private final Path path;
+        private final String fingerprint;
+        private final long checkedAt;
+        private volatile long pathCheckedAt;
+
+        ToolInfo(String name, boolean available, String version, Path path, String fingerprint, long checkedAt) {
+            this.name = name;
+            this.available = available;
+            this.version = version;
+            this.path = path;
+            this.fingerprint = fingerprint;
+            this.checkedAt = checkedAt;
+            this.pathCheckedAt = checkedAt;
+        }
+
+        public String getName() { return name; }
+        public boolean isAvailable() { return available; }
+        public String getVersion() { return version; }
+        public Path getPath() { return path; }
+        public long getCheckedAt() { return checkedAt; }
+    }
+
+    private final Map<String, String> versionArgs = new LinkedHashMap<>();
+    private final Map<String, ToolInfo> tools = new ConcurrentHashMap<>();
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    public ToolRegistry() {
+        this(DEFAULT_TTL_MILLIS);
+    }
+
+    public ToolRegistry(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        versionArgs.put(STREAMLINK, "--version");
+        versionArgs.put(YT_DLP, "--version");
+        versionArgs.put(FFMPEG, "-version");
+        versionArgs.put(ARIA2C, "--version");
+    }
+
+    /**
+     * 도구 사용 가능 여부
+     */
+    public boolean isAvailable(String tool) {
+        return get(tool).isAvailable();
+    }
+
+    /**
+     * 명령어에 사용할 실행 파일 경로 (찾지 못한 경우 도구 이름 그대로)
+     */
+    public String commandFor(String tool) {
+        ToolInfo info = get(tool);
+        return info.getPath() != null ? info.getPath().toString() : tool;
+    }
+
+    /**
+     * 도구 정보 조회 (필요한 경우에만 다시 확인)
+     */
+    public ToolInfo get(String tool) {
+        ToolInfo cached = tools.get(tool);
+        if (cached != null && !isStale(tool, cached)) {
+            return cached;
+        }
+
+        synchronized (locks.computeIfAbsent(tool, k -> new Object())) {
+            cached = tools.get(tool);
+            if (cached != null && !isStale(tool, cached)) {
+                return cached;
+            }
+            ToolInfo refreshed = probe(tool);
+            tools.put(tool, refreshed);
+            return refreshed;
+        }
+    }
+
+    private boolean isStale(String tool, ToolInfo info) {
+        long now = System.currentTimeMillis();
+        if (now - info.checkedAt > ttlMillis) {
+            return true;
+        }
+        if (now - info.pathCheckedAt < PATH_RECHECK_MILLIS) {
+            return false;
+        }
+        info.pathCheckedAt = now;
+        return !Objects.equals(fingerprint(resolve(tool)), info.fingerprint);
+    }
+
+    /**
+     * 버전 확인 프로세스를 실행해 도구 정보를 갱신합니다.
+     */
+    private ToolInfo probe(String tool) {
+        long now = System.currentTimeMillis();
+        Path path = resolve(tool);
+        String fingerprint = fingerprint(path);
+
+        if (path == null) {
+            System.err.println(tool + " 확인 실패: PATH에서 실행 파일을 찾을 수 없습니다.");
+            return new ToolInfo(tool, false, null, null, null, now);
+        }
+
+        String arg = versionArgs.getOrDefault(tool, "--version");
+        try {
+            ProcessBuilder pb = new ProcessBuilder(path.toString(), arg);
+            pb.redirectErrorStream(true);
+            pb.environment().put("PYTHONIOENCODING", "utf-8");
+            Process process = pb.start();
+
+            // 출력은 가상 스레드에서 읽고, 이 스레드는 제한 시간까지만 종료를 기다립니다.
+            FutureTask<String> reader = new FutureTask<>(() -> readFirstLine(process));
+            Thread.ofVirtual().name("tool-version-reader").start(reader);
+
+            if (!process.waitFor(VERSION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.descendants().forEach(ProcessHandle::destroyForcibly);
+                process.destroyForcibly();
+                reader.cancel(true);
+                System.err.println(tool + " 확인 실패: 버전 확인 시간 초과");
+                return new ToolInfo(tool, false, null, path, fingerprint, now);
+            }
+
+            String version = null;
+            try {
+                version = reader.get(OUTPUT_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // 하위 프로세스가 출력 파이프를 계속 잡고 있는 경우
+                reader.cancel(true);
+            } catch (ExecutionException e) {
+                System.err.println(tool + " 버전 출력 읽기 실패: " + e.getCause().getMessage());
+            }
+
+            boolean available = process.exitValue() == 0;
+            System.out.println("외부 도구 확인: " + tool + " -> " + (available ? version : "사용 불가") + " (" + path + ")");
+            return new ToolInfo(tool, available, version, path, fingerprint, now);
+        } catch (IOException e) {
+            System.err.println(tool + " 확인 실패: " + e.getMessage());
+            return new ToolInfo(tool, false, null, path, fingerprint, now);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ToolInfo(tool, false, null, path, fingerprint, now);
+        }
+    }
+
+    /**
+     * 프로세스 출력을 끝까지 읽고 비어 있지 않은 첫 줄을 반환합니다.
+     */
+    private static String readFirstLine(Process process) throws IOException {
+        String version = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (version == null && !line.isBlank()) {
+                    version = line.trim();
+                }
+            }
+        }
+        return version;
+    }
+
+    /**
+     * PATH에서 도구의 실행 파일 위치를 찾습니다.
+     */
+    private Path resolve(String tool) {
+        String pathEnv = System.getenv("PATH");
+        if (pathEnv == null || pathEnv.isEmpty()) {
+            return null;
+        }
+
+        boolean windows = System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("win");
+        List<String> candidates = new ArrayList<>();
+        if (windows) {
+            String pathExt = System.getenv("PATHEXT");
+            if (pathExt == null || pathExt.isEmpty()) {
+                pathExt = ".COM;.EXE;.BAT;.CMD";
+            }
+            for (String ext : pathExt.split(";")) {
+                if (!ext.isEmpty()) {
+                    candidates.add(tool + ext.toLowerCase(Locale.ROOT));
+                }
+            }
+        } else {
+            candidates.add(tool);
+        }
+
+        for (String dir : pathEnv.split(File.pathSeparator)) {
+            if (dir.isEmpty()) {
+                continue;
+            }
+            for (String candidate : candidates) {
+                try {
+                    Path file = Paths.get(dir, candidate);
+                    if (Files.isRegularFile(file) && (windows || Files.isExecutable(file))) {
+                        return file.toAbsolutePath();
+                    }
+                } catch (Exception e) {
+                    // 잘못된 PATH 항목은 무시
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 실행 파일 변경 감지를 위한 지문 (경로, 수정 시간, 크기)
+     */
+    private String fingerprint(Path path) {
+        if (path == null) {
+            return null;
+        }
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            return path + "|" + attrs.lastModifiedTime().toMillis() + "|" + attrs.size();
+        } catch (IOException e) {
+            return path.toString();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.srt;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JacksonException;
+
+/**
+ * 트위치 GQL 일괄 상태 확인 클래스
+ * 여러 채널의 StreamMetadata 쿼리를 하나의 POST 요청으로 묶어 전송합니다.
+ */
+public class TwitchBatchProbe {
+    public static final int DEFAULT_BATCH_SIZE = 30; // 트위치 GQL은 요청당 최대 35개 작업 허용
+
+    private static final String GQL_URL = "https://gql.twitch.tv/gql";
+    private static final String CLIENT_ID = "kimne78kx3ncx6brgo4mv6wki5h1ko"; // Public Client ID
+    private static final String STREAM_METADATA_QUERY =
+        "query StreamMetadata($channelLogin: String!) {\n  user(login: $channelLogin) {\n    id\n    login\n    stream {\n      id\n      title\n      type\n      viewersCount\n    }\n  }\n}\n";
+
+    // GQL 요청 작업 1개
+    record Operation(String operationName, Variables variables, String query) {
+    }
+
+    record Variables(String channelLogin) {
+    }
+
+    // GQL 응답 (쿼리에서 고른 필드 중 사용하는 것만 선언, 나머지는 무시)
+    record Response(Data data) {
+    }
+
+    record Data(User user) {
+    }
+
+    record User(String login, Stream stream) {
+    }
+
+    record Stream(String title) {
+    }
+
+    /**
+     * 채널 1개의 확인 결과
+     */
+    public static final class Result {
+        private final boolean live;
+        private final String title;
+
+        Result(boolean live, String title) {
+            this.live = live;
+            this.title = title;
+        }
+
+        public boolean isLive() { return live; }
+        public String getTitle() { return title; }
+    }
+
+    private final ProbeHttpClient httpClient;
+    private final int batchSize;
+
+    public TwitchBatchProbe(ProbeHttpClient httpClient) {
+        this(httpClient, DEFAULT_BATCH_SIZE);
+    }
+
+    public TwitchBatchProbe(ProbeHttpClient httpClient, int batchSize) {
+        this.httpClient = httpClient;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * 채널 목록을 요청 단위로 나눕니다.
+     */
+    public List<List<String>> partition(List<String> logins) {
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < logins.size(); i += batchSize) {
+            batches.add(new ArrayList<>(logins.subList(i, Math.min(i + batchSize, logins.size()))));
+        }
+        return batches;
+    }
+
+    /**
+     * 채널 묶음 하나를 한 번의 요청으로 확인합니다.
+     * 응답에서 결과를 얻지 못한 채널은 반환 맵에 포함되지 않습니다.
+     *
+     * @param logins 채널 이름 목록 (batchSize 이하)
+     * @return 소문자 채널 이름별 확인 결과
+     */
+    public Map<String, Result> queryBatch(List<String> logins) throws IOException {
+        Map<String, Result> results = new HashMap<>();
+        if (logins.isEmpty()) {
+            return results;
+        }
+
+        List<Operation> operations = new ArrayList<>(logins.size());
+        for (String login : logins) {
+            operations.add(new Operation("StreamMetadata", new Variables(login), STREAM_METADATA_QUERY));
+        }
+
+        Response[] responses;
+        try (ProbeHttpClient.Response response = httpClient.postJson(GQL_URL,
+                JsonCodec.MAPPER.writeValueAsBytes(operations), Map.of("Client-ID", CLIENT_ID))) {
+            if (response.getStatusCode() != 200) {
+                throw new IOException("트위치 GQL 일괄 요청 실패: " + response.getStatusCode());
+            }
+            responses = JsonCodec.MAPPER.readValue(response.getBody(), Response[].class);
+        } catch (JacksonException e) {
+            throw new IOException("트위치 GQL 일괄 응답 형식 오류: " + e.getOriginalMessage(), e);
+        }
+        if (responses == null) {
+            throw new IOException("트위치 GQL 일괄 응답 형식 오류");
+        }
+
+        // 응답 배열은 요청 순서와 같습니다.
+        for (int i = 0; i < logins.size() && i < responses.length; i++) {
+            Data data = responses[i] != null ? responses[i].data() : null;
+            if (data == null) {
+                continue;
+            }
+            String key = logins.get(i).toLowerCase(Locale.ROOT);
+            Stream stream = data.user() != null ? data.user().stream() : null;
+            if (stream != null) {
+                results.put(key, new Result(true, stream.title()));
+            } else {
+                // 사용자가 없거나 방송 중이 아님
+                results.put(key, new Result(false, null));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,139 @@
+package com.srt;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 트위치 상태 확인기
+ * GQL API로 확인하고, 실패하면 채널 웹페이지로 대체 확인합니다.
+ */
+public class TwitchProbe extends HttpPlatformProbe {
+    // 트위치 채널 페이지 라이브 표시 검색기
+    private static final MarkerScanner PAGE_SCANNER;
+    private static final int IS_LIVE_BROADCAST;
+    private static final int IS_LIVE;
+    private static final int META_TITLE;
+
+    static {
+        MarkerScanner.Builder twitch = new MarkerScanner.Builder();
+        IS_LIVE_BROADCAST = twitch.marker("isLiveBroadcast");
+        IS_LIVE = twitch.marker("\"isLive\":true");
+        META_TITLE = twitch.capture("\"meta_title\":\"", MarkerScanner.CAPTURE_JSON_STRING);
+        PAGE_SCANNER = twitch.build();
+    }
+
+    private final TwitchBatchProbe batchProbe;
+
+    public TwitchProbe(ProbeHttpClient httpClient, ProbeResponseCache responseCache, TwitchBatchProbe batchProbe) {
+        super(httpClient, responseCache);
+        this.batchProbe = batchProbe;
+    }
+
+    /**
+     * 여러 채널을 묶어서 확인하는 GQL 확인기
+     */
+    public TwitchBatchProbe getBatchProbe() {
+        return batchProbe;
+    }
+
+    @Override
+    public String getPlatformName() {
+        return "트위치";
+    }
+
+    @Override
+    public String[] getHostSuffixes() {
+        return new String[] { "twitch.tv" };
+    }
+
+    @Override
+    public String parseChannelId(String url) {
+        return pathSegmentAfter(url, "twitch.tv/");
+    }
+
+    @Override
+    public Result probe(String channelName, String url) {
+        if (channelName == null || channelName.isEmpty()) {
+            System.err.println("트위치 채널 이름을 추출할 수 없습니다: " + url);
+            return Result.error();
+        }
+
+        System.out.println("트위치 채널 확인: " + channelName);
+
+        try {
+            // 먼저 API를 통해 확인 시도 (GQL API 사용)
+            Map<String, TwitchBatchProbe.Result> results = batchProbe.queryBatch(List.of(channelName));
+            TwitchBatchProbe.Result result = results.get(channelName.toLowerCase(Locale.ROOT));
+
+            if (result == null) {
+                // 데이터가 없으면 오프라인
+                System.out.println("트위치 API 응답에 데이터 없음");
+                return Result.offline();
+            } else if (result.isLive()) {
+                // 스트림이 있으면 온라인
+                if (result.getTitle() != null) {
+                    System.out.println("트위치 채널 " + channelName + " 온라인, 제목: " + result.getTitle());
+                } else {
+                    System.out.println("트위치 채널 " + channelName + " 온라인, 제목 없음");
+                }
+                return Result.online(result.getTitle());
+            } else {
+                // 스트림이 없으면 오프라인
+                System.out.println("트위치 채널 " + channelName + " 오프라인");
+                return Result.offline();
+            }
+        } catch (Exception e) {
+            System.err.println("트위치 채널 확인 오류: " + e.getMessage());
+            // API 확인 실패 시 웹페이지로 대체 확인
+            System.out.println("트위치 대체 확인: " + channelName);
+            return fallbackPageCheck(channelName);
+        }
+    }
+
+    /**
+     * 트위치 웹페이지 대체 확인 (API 실패 시)
+     */
+    private Result fallbackPageCheck(String channelName) {
+        // 트위치 채널 페이지 접속
+        String pageUrl = "https://www.twitch.tv/" + channelName;
+        try (ProbeHttpClient.Response response = conditionalGet(pageUrl)) {
+            Result cached = notModified(pageUrl, response);
+            if (cached != null) {
+                return cached;
+            }
+            int responseCode = response.getStatusCode();
+
+            if (responseCode != 200) {
+                System.out.println("트위치 채널 페이지 접속 실패: " + responseCode);
+                return Result.offline();
+            }
+
+            // 방송 중 표시와 제목을 모두 찾으면 바로 읽기 중단
+            MarkerScanner.Scan scan = PAGE_SCANNER.scan(response.getBody(), 50000,
+                sc -> (sc.found(IS_LIVE_BROADCAST) || sc.found(IS_LIVE)) && sc.captured(META_TITLE) != null);
+
+            Result result;
+            // 방송 중인지 확인 (isLiveBroadcast 문자열이 포함되어 있으면 방송 중)
+            if (scan.found(IS_LIVE_BROADCAST) || scan.found(IS_LIVE)) {
+                System.out.println("트위치 채널 " + channelName + " 온라인 (웹페이지 확인, " + scan.getBytesScanned() + " 바이트)");
+
+                // 제목 추출
+                String title = scan.captured(META_TITLE);
+                if (title != null && !title.isEmpty()) {
+                    System.out.println("트위치 채널 제목: " + title);
+                } else {
+                    title = null;
+                }
+                result = Result.online(title);
+            } else {
+                System.out.println("트위치 채널 " + channelName + " 오프라인 (웹페이지 확인)");
+                result = Result.offline();
+            }
+            return remember(pageUrl, response, result, scan.getBytesScanned());
+        } catch (Exception e) {
+            System.err.println("트위치 웹페이지 확인 오류: " + e.getMessage());
+            return Result.error();
+        }
+    }
+}
@@ -13,8 +13,12 @@ import java.io.OutputStreamWriter;
 import java.net.InetSocketAddress;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.Executors;
 
@@ -29,6 +33,11 @@ public class WebServer {
     private boolean running;
     private String lastError;
     
+    // 최근 녹화기 이벤트 (/api/events 조회용)
+    private static final int MAX_RECENT_EVENTS = 200;
+    private final Deque<RecorderEventBus.Event> recentEvents = new ArrayDeque<>();
+    private RecorderEventBus.Subscription eventSubscription;
+    
     public WebServer(Recorder recorder, int port) {
         this.recorder = recorder;
         this.port = port;
@@ -52,7 +61,25 @@ public class WebServer {
             server.createContext("/api/delete", new DeleteStreamerHandler());
             server.createContext("/api/settings", new SettingsHandler());
             server.createContext("/api/add", new AddStreamerHandler());
+            server.createContext("/api/tier", new PollTierHandler());
+            server.createContext("/api/postprocess", new PostProcessingApiHandler());
+            server.createContext("/api/storage", new StorageApiHandler());
+            server.createContext("/api/weight", new BandwidthWeightHandler());
+            server.createContext("/api/refresh", new RefreshStatusHandler());
+            server.createContext("/api/events", new EventsApiHandler());
             server.setExecutor(Executors.newCachedThreadPool());
+            
+            // 녹화기 이벤트 구독 (전달 스레드에서 보관만 하므로 상태 확인이나 녹화를 막지 않음)
+            if (eventSubscription == null) {
+                eventSubscription = recorder.getEventBus().subscribe("web", Recorder.EVENT_QUEUE_CAPACITY, event -> {
+                    synchronized (recentEvents) {
+                        recentEvents.addLast(event);
+                        while (recentEvents.size() > MAX_RECENT_EVENTS) {
+                            recentEvents.removeFirst();
+                        }
+                    }
+                });
+            }
             return true;
         } catch (IOException e) {
             lastError = "웹 서버 초기화 오류: " + e.getMessage();
@@ -139,6 +166,8 @@ public class WebServer {
                         "        .status-recording { color: #e67e22; }\n" +
                         "        .status-error { color: #e74c3c; }\n" +
                         "        .status-checking { color: #3498db; }\n" +
+                        "        .status-queued { color: #9b59b6; }\n" +
+                        "        .status-stopping { color: #d35400; }\n" +
                         "        .btn {\n" +
                         "            display: inline-block;\n" +
                         "            padding: 6px 12px;\n" +
@@ -265,6 +294,24 @@ public class WebServer {
                         "                });\n" +
                         "        }\n" +
                         "        \n" +
+                        "        function refreshStatus(name) {\n" +
+                        "            fetch('/api/refresh', {\n" +
+                        "                method: 'POST',\n" +
+                        "                headers: {\n" +
+                        "                    'Content-Type': 'application/x-www-form-urlencoded',\n" +
+                        "                },\n" +
+                        "                body: 'name=' + encodeURIComponent(name)\n" +
+                        "            })\n" +
+                        "            .then(response => response.json())\n" +
+                        "            .then(data => {\n" +
+                        "                if (data.success) {\n" +
+                        "                    setTimeout(function() { location.reload(); }, 3000);\n" +
+                        "                } else {\n" +
+                        "                    alert('상태 확인 실패: ' + data.error);\n" +
+                        "                }\n" +
+                        "            });\n" +
+                        "        }\n" +
+                        "        \n" +
                         "        function deleteStreamer(name) {\n" +
                         "            if (confirm('정말로 ' + name + ' 스트리머를 삭제하시겠습니까?')) {\n" +
                         "                fetch('/api/delete?name=' + encodeURIComponent(name))\n" +
@@ -359,13 +406,15 @@ public class WebServer {
                         "        <!-- 스트리머 수, 녹화 중인 스트리머 수, 온라인 스트리머 수 표시 -->\n" +
                         "        <div style=\"display: flex; justify-content: space-around; text-align: center;\">\n";
                 
-                // 카운트 계산
-                int totalStreamers = recorder.getStreamers().size();
+                // 카운트 계산 (한 번 가져온 사본으로 요약과 목록을 함께 표시)
+                List<Recorder.StreamerSnapshot> streamers = recorder.getStreamers();
+                int totalStreamers = streamers.size();
+                RecordingQueue recordingQueue = recorder.getRecordingQueue();
                 int recordingStreamers = 0;
                 int onlineStreamers = 0;
                 
-                for (Recorder.StreamerInfo info : recorder.getStreamers()) {
-                    if (info.isRecording()) {
+                for (Recorder.StreamerSnapshot info : streamers) {
+                    if (info.isRecording() && recordingQueue.getWaitMillis(info.getName()) < 0) {
                         recordingStreamers++;
                     }
                     if ("online".equals(info.getStatus())) {
@@ -376,9 +425,24 @@ public class WebServer {
                 html += "            <div><strong>전체 스트리머:</strong> <span>" + totalStreamers + "명</span></div>\n" +
                         "            <div><strong>온라인:</strong> <span class=\"status-online\">" + onlineStreamers + "명</span></div>\n" +
                         "            <div><strong>녹화중:</strong> <span class=\"status-recording\">" + recordingStreamers + "명</span></div>\n" +
+                        "            <div><strong>녹화 대기:</strong> <span class=\"status-queued\">" + recordingQueue.getPendingCount() + "명</span>" +
+                        " <small>(동시 녹화 " + recordingQueue.getRunningCount() + "/" + recordingQueue.getMaxConcurrentText() + ")</small></div>\n" +
+                        "            <div><strong>수신 속도:</strong> <span>" + StorageMonitor.formatBytes((long) recorder.getBandwidthGovernor().getThroughput()) + "/s</span>" +
+                        " <small>(제한 " + (recorder.getSpeedLimit() > 0 ? recorder.getSpeedLimit() + " KB/s" : "없음") + ")</small></div>\n" +
                         "            <div><strong>현재 녹화 프로그램:</strong> <span>" + recorder.getRecorderProgram() + "</span></div>\n" +
-                        "        </div>\n" +
-                        "    </div>\n" +
+                        "        </div>\n";
+                
+                // 디스크별 남은 공간과 가득 찰 때까지 예상 시간
+                for (StorageMonitor.Volume volume : recorder.getStorageMonitor().getVolumes()) {
+                    long secondsUntilFull = volume.getSecondsUntilFull();
+                    String levelClass = volume.getLevel() == StorageMonitor.Level.OK ? "" : " class=\"status-error\"";
+                    html += "        <div style=\"text-align: center; margin-top: 8px;\"><strong>저장 공간 " + escapeHtml(volume.getName()) + ":</strong> " +
+                            "<span" + levelClass + ">" + StorageMonitor.formatBytes(volume.getUsableBytes()) + " 남음</span>" +
+                            " <small>(쓰기 " + StorageMonitor.formatBytes((long) volume.getBytesPerSecond()) + "/s, " +
+                            (secondsUntilFull >= 0 ? "약 " + formatSeconds(secondsUntilFull) + " 후 가득 참" : "쓰기 없음") + ")</small></div>\n";
+                }
+                
+                html += "    </div>\n" +
                         "    \n" +
                         "    <div class=\"card\">\n" +
                         "        <table>\n" +
@@ -394,14 +458,12 @@ public class WebServer {
                         "            <tbody>\n";
                 
                 // 스트리머 정보 행 생성
-                List<Recorder.StreamerInfo> streamers = recorder.getStreamers();
-                
                 if (streamers.isEmpty()) {
                     html += "                <tr>\n" +
                             "                    <td colspan=\"5\" style=\"text-align: center;\">등록된 스트리머가 없습니다.</td>\n" +
                             "                </tr>\n";
                 } else {
-                    for (Recorder.StreamerInfo info : streamers) {
+                    for (Recorder.StreamerSnapshot info : streamers) {
                         html += "                <tr>\n" +
                                 "                    <td><strong>" + escapeHtml(info.getName()) + "</strong></td>\n";
                         
@@ -440,6 +502,9 @@ public class WebServer {
                             html += "<button disabled class=\"btn btn-stop\">중지</button>\n";
                         }
                         
+                        // 상태 확인 버튼
+                        html += "<button onclick=\"refreshStatus('" + escapeHtml(info.getName()) + "')\" class=\"btn btn-primary\">상태 확인</button>\n";
+                        
                         // 삭제 버튼
                         html += "<button onclick=\"deleteStreamer('" + escapeHtml(info.getName()) + "')\" class=\"btn btn-delete\">삭제</button>";
                         
@@ -470,6 +535,9 @@ public class WebServer {
                         "                        <option value=\"ffmpeg\" " + 
                         (recorder.getRecorderProgram().equals("ffmpeg") ? "selected" : "") + 
                         ">FFmpeg</option>\n" +
+                        "                        <option value=\"native\" " + 
+                        (recorder.getRecorderProgram().equals("native") ? "selected" : "") + 
+                        ">내장 HLS 녹화</option>\n" +
                         "                    </select>\n" +
                         "                </div>\n" +
                         "                <div class=\"settings-group\">\n" +
@@ -477,6 +545,31 @@ public class WebServer {
                         "                    <input type=\"number\" name=\"maxThreads\" id=\"maxThreads\" value=\"" + 
                         recorder.getMaxThreads() + "\" min=\"1\" max=\"16\">\n" +
                         "                </div>\n" +
+                        "                <div class=\"settings-group\">\n" +
+                        "                    <label for=\"maxConcurrentRecordings\">최대 동시 녹화 (0=무제한):</label>\n" +
+                        "                    <input type=\"number\" name=\"maxConcurrentRecordings\" id=\"maxConcurrentRecordings\" value=\"" + 
+                        recorder.getMaxConcurrentRecordings() + "\" min=\"0\" max=\"32\">\n" +
+                        "                </div>\n" +
+                        "                <div class=\"settings-group\">\n" +
+                        "                    <label for=\"rotateMinutes\">파일 분할 (분, 0=사용 안 함):</label>\n" +
+                        "                    <input type=\"number\" name=\"rotateMinutes\" id=\"rotateMinutes\" value=\"" + 
+                        recorder.getRotateMinutes() + "\" min=\"0\">\n" +
+                        "                </div>\n" +
+                        "                <div class=\"settings-group\">\n" +
+                        "                    <label for=\"rotateSizeMb\">파일 분할 (MB, 0=사용 안 함):</label>\n" +
+                        "                    <input type=\"number\" name=\"rotateSizeMb\" id=\"rotateSizeMb\" value=\"" + 
+                        recorder.getRotateSizeMb() + "\" min=\"0\">\n" +
+                        "                </div>\n" +
+                        "                <div class=\"settings-group\">\n" +
+                        "                    <label for=\"minFreeSpaceMb\">녹화 시작 최소 남은 공간 (MB):</label>\n" +
+                        "                    <input type=\"number\" name=\"minFreeSpaceMb\" id=\"minFreeSpaceMb\" value=\"" + 
+                        recorder.getMinFreeSpaceMb() + "\" min=\"0\">\n" +
+                        "                </div>\n" +
+                        "                <div class=\"settings-group\">\n" +
+                        "                    <label for=\"criticalFreeSpaceMb\">녹화 중지 남은 공간 (MB):</label>\n" +
+                        "                    <input type=\"number\" name=\"criticalFreeSpaceMb\" id=\"criticalFreeSpaceMb\" value=\"" + 
+                        recorder.getCriticalFreeSpaceMb() + "\" min=\"0\">\n" +
+                        "                </div>\n" +
                         "                <input type=\"submit\" value=\"설정 저장\" class=\"btn btn-primary\">\n" +
                         "            </form>\n" +
                         "        </div>\n" +
@@ -543,6 +636,18 @@ public class WebServer {
                     .replace("\"", "&quot;")
                     .replace("'", "&#39;");
         }
+        
+        /**
+         * 초 단위 시간을 "1시간 5분" 형식으로 변환
+         */
+        private String formatSeconds(long seconds) {
+            long hours = seconds / 3600;
+            long minutes = (seconds % 3600) / 60;
+            if (hours > 0) {
+                return hours + "시간 " + minutes + "분";
+            }
+            return minutes > 0 ? minutes + "분" : seconds + "초";
+        }
     }
     
     /**
@@ -551,12 +656,13 @@ public class WebServer {
     private class StreamersApiHandler implements HttpHandler {
         @Override
         public void handle(HttpExchange exchange) throws IOException {
-            List<Recorder.StreamerInfo> streamers = recorder.getStreamers();
+            List<Recorder.StreamerSnapshot> streamers = recorder.getStreamers();
+            RecordingQueue recordingQueue = recorder.getRecordingQueue();
             StringBuilder json = new StringBuilder();
             json.append("{\"streamers\":[");
             
             boolean first = true;
-            for (Recorder.StreamerInfo info : streamers) {
+            for (Recorder.StreamerSnapshot info : streamers) {
                 if (!first) {
                     json.append(",");
                 }
@@ -567,12 +673,80 @@ public class WebServer {
                 json.append("\"url\":\"").append(escapeJson(info.getUrl())).append("\",");
                 json.append("\"title\":\"").append(escapeJson(info.getTitle() != null ? info.getTitle() : "")).append("\",");
                 json.append("\"status\":\"").append(escapeJson(info.getStatus())).append("\",");
+                json.append("\"version\":").append(info.getVersion()).append(",");
+                json.append("\"checkedAt\":").append(info.getCheckedAt()).append(",");
                 json.append("\"isRecording\":").append(info.isRecording()).append(",");
-                json.append("\"duration\":\"").append(escapeJson(info.getDuration())).append("\"");
+                json.append("\"duration\":\"").append(escapeJson(info.getDuration())).append("\",");
+                json.append("\"pollTier\":\"").append(escapeJson(info.getPollTier())).append("\",");
+                json.append("\"bandwidthWeight\":").append(info.getBandwidthWeight()).append(",");
+                json.append("\"nextCheckAt\":").append(recorder.getNextCheckAt(info.getName())).append(",");
+                json.append("\"queueWaitMillis\":").append(recordingQueue.getWaitMillis(info.getName())).append(",");
+                
+                // 녹화 진행 통계 (녹화 중이 아니면 null)
+                RecordingProgress progress = recorder.getRecordingProgress(info.getName());
+                json.append("\"progress\":");
+                if (progress != null) {
+                    json.append("{");
+                    json.append("\"bytesPerSecond\":").append((long) progress.getBytesPerSecond()).append(",");
+                    json.append("\"speed\":").append(progress.getSpeed()).append(",");
+                    json.append("\"frame\":").append(progress.getFrame()).append(",");
+                    json.append("\"bitrateKbps\":").append(progress.getBitrateKbps()).append(",");
+                    json.append("\"segmentsFetched\":").append(progress.getSegmentsFetched()).append(",");
+                    json.append("\"segmentsFailed\":").append(progress.getSegmentsFailed()).append(",");
+                    json.append("\"errors\":").append(progress.getErrors()).append(",");
+                    json.append("\"idleMillis\":").append(progress.getIdleMillis()).append(",");
+                    json.append("\"lastError\":");
+                    if (progress.getLastError() != null) {
+                        json.append("\"").append(escapeJson(progress.getLastError())).append("\"");
+                    } else {
+                        json.append("null");
+                    }
+                    json.append("}");
+                } else {
+                    json.append("null");
+                }
                 json.append("}");
             }
             
-            json.append("]}");
+            json.append("],");
+            
+            // 녹화 대기열 상태
+            json.append("\"recordingQueue\":{");
+            json.append("\"pending\":").append(recordingQueue.getPendingCount()).append(",");
+            json.append("\"running\":").append(recordingQueue.getRunningCount()).append(",");
+            json.append("\"maxConcurrent\":").append(recordingQueue.getMaxConcurrent()).append(",");
+            json.append("\"queue\":[");
+            boolean firstTicket = true;
+            for (RecordingQueue.Ticket ticket : recordingQueue.getPending()) {
+                if (!firstTicket) {
+                    json.append(",");
+                }
+                firstTicket = false;
+                json.append("{\"name\":\"").append(escapeJson(ticket.getName())).append("\",");
+                json.append("\"tier\":\"").append(ticket.getTier().name().toLowerCase(Locale.ROOT)).append("\",");
+                json.append("\"waitMillis\":").append(ticket.getWaitMillis()).append("}");
+            }
+            json.append("]},");
+            
+            // 수신 대역폭 (전체 제한, 전체 수신 속도, 녹화별 몫)
+            BandwidthGovernor governor = recorder.getBandwidthGovernor();
+            json.append("\"bandwidth\":{");
+            json.append("\"limitBytesPerSecond\":").append(governor.getLimitBytesPerSecond()).append(",");
+            json.append("\"throughputBytesPerSecond\":").append((long) governor.getThroughput()).append(",");
+            json.append("\"channels\":[");
+            boolean firstChannel = true;
+            for (BandwidthGovernor.Channel channel : governor.getChannels()) {
+                if (!firstChannel) {
+                    json.append(",");
+                }
+                firstChannel = false;
+                json.append("{\"name\":\"").append(escapeJson(channel.getName())).append("\",");
+                json.append("\"weight\":").append(channel.getWeight()).append(",");
+                json.append("\"shareBytesPerSecond\":").append((long) channel.getShare()).append(",");
+                json.append("\"throughputBytesPerSecond\":").append((long) channel.getThroughput()).append(",");
+                json.append("\"totalBytes\":").append(channel.getTotalBytes()).append("}");
+            }
+            json.append("]}}");
             
             exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
             exchange.sendResponseHeaders(200, json.toString().getBytes(StandardCharsets.UTF_8).length);
@@ -643,6 +817,262 @@ public class WebServer {
         }
     }
     
+    /**
+     * 후처리 작업 목록 API 핸들러
+     */
+    private class PostProcessingApiHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            PostProcessingQueue queue = recorder.getPostProcessingQueue();
+            StringBuilder json = new StringBuilder();
+            json.append("{\"summary\":\"").append(escapeJson(queue.getStatsSummary())).append("\",");
+            json.append("\"active\":");
+            appendJobs(json, queue.getActiveJobs());
+            json.append(",\"recent\":");
+            appendJobs(json, queue.getRecentJobs());
+            json.append("}");
+            
+            byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+        }
+        
+        private void appendJobs(StringBuilder json, List<PostProcessingQueue.Job> jobs) {
+            json.append("[");
+            boolean first = true;
+            for (PostProcessingQueue.Job job : jobs) {
+                if (!first) {
+                    json.append(",");
+                }
+                first = false;
+                
+                json.append("{");
+                json.append("\"id\":\"").append(escapeJson(job.getId())).append("\",");
+                json.append("\"type\":\"").append(escapeJson(job.getType())).append("\",");
+                json.append("\"file\":\"").append(escapeJson(job.getFile().getName())).append("\",");
+                json.append("\"streamer\":\"").append(escapeJson(job.getStreamerName())).append("\",");
+                json.append("\"state\":\"").append(job.getState().name().toLowerCase(Locale.ROOT)).append("\",");
+                json.append("\"progress\":").append(job.getProgress()).append(",");
+                json.append("\"message\":\"").append(escapeJson(job.getMessage())).append("\",");
+                json.append("\"attempts\":").append(job.getAttempts()).append(",");
+                json.append("\"createdAt\":").append(job.getCreatedAt()).append(",");
+                json.append("\"startedAt\":").append(job.getStartedAt()).append(",");
+                json.append("\"finishedAt\":").append(job.getFinishedAt());
+                json.append("}");
+            }
+            json.append("]");
+        }
+    }
+    
+    /**
+     * 저장 공간 상태 API 핸들러
+     */
+    private class StorageApiHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            StorageMonitor monitor = recorder.getStorageMonitor();
+            StringBuilder json = new StringBuilder();
+            json.append("{\"summary\":\"").append(escapeJson(monitor.getStatsSummary())).append("\",");
+            json.append("\"minFreeBytes\":").append(monitor.getMinFreeBytes()).append(",");
+            json.append("\"criticalFreeBytes\":").append(monitor.getCriticalFreeBytes()).append(",");
+            json.append("\"volumes\":[");
+            boolean first = true;
+            for (StorageMonitor.Volume volume : monitor.getVolumes()) {
+                if (!first) {
+                    json.append(",");
+                }
+                first = false;
+                
+                json.append("{");
+                json.append("\"name\":\"").append(escapeJson(volume.getName())).append("\",");
+                json.append("\"level\":\"").append(volume.getLevel().name().toLowerCase(Locale.ROOT)).append("\",");
+                json.append("\"usableBytes\":").append(volume.getUsableBytes()).append(",");
+                json.append("\"totalBytes\":").append(volume.getTotalBytes()).append(",");
+                json.append("\"bytesPerSecond\":").append((long) volume.getBytesPerSecond()).append(",");
+                json.append("\"secondsUntilFull\":").append(volume.getSecondsUntilFull()).append(",");
+                json.append("\"sampledAt\":").append(volume.getSampledAt()).append(",");
+                json.append("\"paths\":[");
+                for (int i = 0; i < volume.getPaths().size(); i++) {
+                    if (i > 0) {
+                        json.append(",");
+                    }
+                    json.append("\"").append(escapeJson(volume.getPaths().get(i))).append("\"");
+                }
+                json.append("]}");
+            }
+            json.append("]}");
+            
+            byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+        }
+    }
+    
+    /**
+     * 최근 이벤트 API 핸들러 (since 이후에 발행된 이벤트만 반환)
+     */
+    private class EventsApiHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            Map<String, String> params = parseQueryString(exchange.getRequestURI().getRawQuery());
+            long since = 0;
+            try {
+                if (params.get("since") != null) {
+                    since = Long.parseLong(params.get("since"));
+                }
+            } catch (NumberFormatException e) {
+                // 처음부터 반환
+            }
+            
+            List<RecorderEventBus.Event> events;
+            synchronized (recentEvents) {
+                events = new ArrayList<>(recentEvents);
+            }
+            
+            StringBuilder json = new StringBuilder();
+            json.append("{\"summary\":\"").append(escapeJson(recorder.getEventBus().getStatsSummary())).append("\",");
+            json.append("\"events\":[");
+            boolean first = true;
+            for (RecorderEventBus.Event event : events) {
+                if (event.getSequence() <= since) {
+                    continue;
+                }
+                if (!first) {
+                    json.append(",");
+                }
+                first = false;
+                
+                json.append("{");
+                json.append("\"sequence\":").append(event.getSequence()).append(",");
+                json.append("\"type\":\"").append(event.getType().name().toLowerCase(Locale.ROOT)).append("\",");
+                json.append("\"streamer\":\"").append(escapeJson(event.getStreamerName() != null ? event.getStreamerName() : "")).append("\",");
+                json.append("\"status\":\"").append(escapeJson(event.getStatus() != null ? event.getStatus() : "")).append("\",");
+                json.append("\"detail\":\"").append(escapeJson(event.getDetail() != null ? event.getDetail() : "")).append("\",");
+                json.append("\"timestamp\":").append(event.getTimestamp());
+                json.append("}");
+            }
+            json.append("]}");
+            
+            byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+        }
+    }
+    
+    /**
+     * 대역폭 가중치 변경 API 핸들러
+     */
+    private class BandwidthWeightHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            Map<String, String> params = readPostForm(exchange);
+            if (params == null) {
+                return;
+            }
+            String name = params.get("name");
+            String weight = params.get("weight");
+            
+            String response;
+            try {
+                if (name != null && !name.isEmpty() && weight != null
+                    && recorder.setStreamerBandwidthWeight(name, Double.parseDouble(weight))) {
+                    recorder.saveSettings();
+                    response = "{\"success\":true}";
+                } else {
+                    response = "{\"success\":false,\"error\":\"스트리머 이름과 0보다 큰 가중치가 필요합니다\"}";
+                }
+            } catch (NumberFormatException e) {
+                response = "{\"success\":false,\"error\":\"가중치는 숫자여야 합니다\"}";
+            }
+            
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, response.getBytes(StandardCharsets.UTF_8).length);
+            
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(response.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+    
+    /**
+     * 스트리머 상태 수동 확인 API 핸들러
+     */
+    private class RefreshStatusHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            Map<String, String> params = readPostForm(exchange);
+            if (params == null) {
+                return;
+            }
+            String name = params.get("name");
+            
+            String response;
+            if (name != null && !name.isEmpty()) {
+                if (recorder.forceUpdateStreamerStatus(name)) {
+                    response = "{\"success\":true}";
+                } else {
+                    response = "{\"success\":false,\"error\":\"스트리머를 찾을 수 없습니다\"}";
+                }
+            } else {
+                response = "{\"success\":false,\"error\":\"스트리머 이름이 필요합니다\"}";
+            }
+            
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, response.getBytes(StandardCharsets.UTF_8).length);
+            
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(response.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+    
+    /**
+     * 상태 확인 빈도 등급 변경 API 핸들러
+     */
+    private class PollTierHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            Map<String, String> params = readPostForm(exchange);
+            if (params == null) {
+                return;
+            }
+            String name = params.get("name");
+            String tier = params.get("tier");
+            
+            String response;
+            if (name != null && !name.isEmpty() && tier != null && !tier.isEmpty()) {
+                boolean success = recorder.setStreamerPollTier(name, tier);
+                if (success) {
+                    recorder.saveSettings();
+                    response = "{\"success\":true}";
+                } else {
+                    response = "{\"success\":false,\"error\":\"스트리머를 찾을 수 없습니다\"}";
+                }
+            } else {
+                response = "{\"success\":false,\"error\":\"스트리머 이름과 등급(hot, normal, cold)이 필요합니다\"}";
+            }
+            
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, response.getBytes(StandardCharsets.UTF_8).length);
+            
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(response.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+    
     /**
      * 전체 녹화 시작 API 핸들러
      */
@@ -852,6 +1282,42 @@ public class WebServer {
                             }
                         }
                         
+                        // 최대 동시 녹화 수 설정
+                        if (params.containsKey("maxConcurrentRecordings")) {
+                            try {
+                                int maxConcurrentRecordings = Integer.parseInt(params.get("maxConcurrentRecordings"));
+                                if (maxConcurrentRecordings >= 0) {
+                                    recorder.setMaxConcurrentRecordings(maxConcurrentRecordings);
+                                }
+                            } catch (NumberFormatException e) {
+                                // 숫자 변환 실패 시 무시
+                            }
+                        }
+                        
+                        // 녹화 파일 분할 설정
+                        try {
+                            if (params.containsKey("rotateMinutes")) {
+                                recorder.setRotateMinutes(Integer.parseInt(params.get("rotateMinutes")));
+                            }
+                            if (params.containsKey("rotateSizeMb")) {
+                                recorder.setRotateSizeMb(Integer.parseInt(params.get("rotateSizeMb")));
+                            }
+                        } catch (NumberFormatException e) {
+                            // 숫자 변환 실패 시 무시
+                        }
+                        
+                        // 저장 공간 기준 설정
+                        try {
+                            if (params.containsKey("minFreeSpaceMb")) {
+                                recorder.setMinFreeSpaceMb(Integer.parseInt(params.get("minFreeSpaceMb")));
+                            }
+                            if (params.containsKey("criticalFreeSpaceMb")) {
+                                recorder.setCriticalFreeSpaceMb(Integer.parseInt(params.get("criticalFreeSpaceMb")));
+                            }
+                        } catch (NumberFormatException e) {
+                            // 숫자 변환 실패 시 무시
+                        }
+                        
                         // 녹화 프로그램 설정
                         if (params.containsKey("recorderProgram")) {
                             String recorderProgram = params.get("recorderProgram");
@@ -892,6 +1358,21 @@ public class WebServer {
         return result;
     }
     
+    /**
+     * POST 요청 본문의 폼 데이터를 읽습니다 (상태를 바꾸는 요청용).
+     * POST가 아니면 405로 응답하고 null을 반환합니다.
+     */
+    private Map<String, String> readPostForm(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", "POST");
+            exchange.sendResponseHeaders(405, -1);
+            exchange.close();
+            return null;
+        }
+        BufferedReader br = new BufferedReader(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8));
+        return parseQueryString(br.readLine());
+    }
+    
     // AddStreamerHandler 클래스 추가
     private class AddStreamerHandler implements HttpHandler {
         @Override
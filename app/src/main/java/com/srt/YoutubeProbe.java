@@ -0,0 +1,147 @@
+package com.srt;
+
+import java.net.URI;
+
+/**
+ * 유튜브 상태 확인기
+ * 비디오 페이지에서 라이브 표시와 제목을 찾습니다.
+ */
+public class YoutubeProbe extends HttpPlatformProbe {
+    // 유튜브 비디오 페이지 라이브 표시 검색기
+    private static final MarkerScanner PAGE_SCANNER;
+    private static final int IS_LIVE_NOW;
+    private static final int LIVE_STREAM;
+    private static final int LIVE_NOW_BADGE;
+    private static final int IS_LIVE_CONTENT;
+    private static final int JSON_TITLE;
+    private static final int HTML_TITLE;
+
+    static {
+        MarkerScanner.Builder youtube = new MarkerScanner.Builder();
+        IS_LIVE_NOW = youtube.marker("\"isLiveNow\":true");
+        LIVE_STREAM = youtube.marker("LIVE_STREAM");
+        LIVE_NOW_BADGE = youtube.marker("LIVE NOW");
+        IS_LIVE_CONTENT = youtube.marker("\"isLiveContent\":true");
+        JSON_TITLE = youtube.capture("\"title\":\"", MarkerScanner.CAPTURE_JSON_STRING);
+        HTML_TITLE = youtube.capture("<title>", MarkerScanner.CAPTURE_UNTIL_TAG);
+        PAGE_SCANNER = youtube.build();
+    }
+
+    public YoutubeProbe(ProbeHttpClient httpClient, ProbeResponseCache responseCache) {
+        super(httpClient, responseCache);
+    }
+
+    @Override
+    public String getPlatformName() {
+        return "유튜브";
+    }
+
+    @Override
+    public String[] getHostSuffixes() {
+        return new String[] { "youtube.com", "youtu.be" };
+    }
+
+    /**
+     * 유튜브 URL에서 비디오 ID 추출 (채널 URL이면 채널 ID)
+     */
+    @Override
+    public String parseChannelId(String url) {
+        try {
+            if (url.contains("youtube.com/watch")) {
+                String query = URI.create(url.trim()).getRawQuery();
+                if (query != null) {
+                    for (String param : query.split("&")) {
+                        String[] keyValue = param.split("=");
+                        if (keyValue.length > 1 && keyValue[0].equals("v")) {
+                            return keyValue[1];
+                        }
+                    }
+                }
+            } else if (url.contains("youtu.be/")) {
+                return pathSegmentAfter(url, "youtu.be/");
+            } else if (url.contains("youtube.com/channel/")) {
+                return pathSegmentAfter(url, "youtube.com/channel/"); // 채널 ID 반환
+            }
+        } catch (Exception e) {
+            System.err.println("유튜브 비디오 ID 추출 오류: " + e.getMessage());
+        }
+        return null;
+    }
+
+    @Override
+    public Result probe(String videoId, String url) {
+        if (videoId == null || videoId.isEmpty()) {
+            System.err.println("유튜브 비디오 ID를 추출할 수 없습니다: " + url);
+            return Result.error();
+        }
+
+        System.out.println("유튜브 비디오 확인: " + videoId);
+
+        // 유튜브 비디오 페이지 접속
+        String pageUrl = "https://www.youtube.com/watch?v=" + videoId;
+        try (ProbeHttpClient.Response response = conditionalGet(pageUrl)) {
+            Result cached = notModified(pageUrl, response);
+            if (cached != null) {
+                return cached;
+            }
+            int responseCode = response.getStatusCode();
+
+            if (responseCode != 200) {
+                System.out.println("유튜브 비디오 페이지 접속 실패: " + responseCode);
+                return Result.offline();
+            }
+
+            // 라이브 표시와 제목을 모두 찾으면 바로 읽기 중단
+            MarkerScanner.Scan scan = PAGE_SCANNER.scan(response.getBody(), 100000,
+                sc -> isLive(sc) && sc.captured(JSON_TITLE) != null);
+
+            // 라이브 스트림인지 확인 - 여러 가지 방법 시도
+            boolean isLive = false;
+
+            // 방법 1: videoDetails 정보에서 확인
+            if (scan.found(IS_LIVE_NOW)) {
+                isLive = true;
+                System.out.println("유튜브 비디오 " + videoId + " 라이브 중 (isLiveNow 확인)");
+            }
+            // 방법 2: 라이브 배지 확인
+            else if (scan.found(LIVE_STREAM) || scan.found(LIVE_NOW_BADGE)) {
+                isLive = true;
+                System.out.println("유튜브 비디오 " + videoId + " 라이브 중 (LIVE_STREAM 확인)");
+            }
+            // 방법 3: isLiveContent 확인
+            else if (scan.found(IS_LIVE_CONTENT)) {
+                isLive = true;
+                System.out.println("유튜브 비디오 " + videoId + " 라이브 중 (isLiveContent 확인)");
+            }
+
+            Result result;
+            if (isLive) {
+                // 제목 추출
+                String title = scan.captured(JSON_TITLE);
+                if (title != null && !title.isEmpty()) {
+                    System.out.println("유튜브 비디오 제목: " + title);
+                } else if (scan.captured(HTML_TITLE) != null) {
+                    // 대체 방법으로 제목 추출
+                    title = scan.captured(HTML_TITLE).replace(" - YouTube", "");
+                    System.out.println("유튜브 비디오 제목 (대체): " + title);
+                } else {
+                    title = null;
+                }
+                result = Result.online(title);
+            } else {
+                System.out.println("유튜브 비디오 " + videoId + " 라이브 아님");
+                result = Result.offline();
+            }
+            return remember(pageUrl, response, result, scan.getBytesScanned());
+        } catch (Exception e) {
+            System.err.println("유튜브 스트림 확인 오류: " + e.getMessage());
+            e.printStackTrace();
+            return Result.error();
+        }
+    }
+
+    private static boolean isLive(MarkerScanner.Scan scan) {
+        return scan.found(IS_LIVE_NOW) || scan.found(LIVE_STREAM)
+            || scan.found(LIVE_NOW_BADGE) || scan.found(IS_LIVE_CONTENT);
+    }
+}
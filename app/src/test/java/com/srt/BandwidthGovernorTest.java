@@ -0,0 +1,50 @@
+package com.srt;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BandwidthGovernorTest {
+    private static final long KB = 1024;
+
+    @Test void splitsLimitByWeight() {
+        BandwidthGovernor governor = new BandwidthGovernor(1000 * KB);
+        BandwidthGovernor.Channel light = governor.register("a", 1);
+        BandwidthGovernor.Channel heavy = governor.register("b", 3);
+        assertEquals(250 * KB, light.getShare(), 1);
+        assertEquals(750 * KB, heavy.getShare(), 1);
+
+        heavy.close();
+        assertEquals(1000 * KB, light.getShare(), 1);
+    }
+
+    @Test void idleChannelGivesItsShareToBusyOnes() throws InterruptedException {
+        BandwidthGovernor governor = new BandwidthGovernor(1000 * KB);
+        BandwidthGovernor.Channel idle = governor.register("idle", 1);
+        BandwidthGovernor.Channel busy = governor.register("busy", 1);
+        assertEquals(500 * KB, busy.getShare(), 1);
+
+        // 첫 측정 주기까지는 가중치대로 나누고, 그 뒤 아무것도 받지 않은 채널은 여유분(64KB/s)만 남기고 양보
+        governor.rebalance();
+        assertEquals(500 * KB, idle.getShare(), 1);
+        busy.record(1000 * KB);
+        governor.rebalance();
+        assertEquals(64 * KB, idle.getShare(), 1);
+        assertEquals(936 * KB, busy.getShare(), 1);
+        assertEquals(2, governor.getChannels().size());
+    }
+
+    @Test void copiesEverythingWhenUnlimited() throws Exception {
+        BandwidthGovernor governor = new BandwidthGovernor(0);
+        BandwidthGovernor.Channel channel = governor.register("a", 1);
+        byte[] data = new byte[300 * 1024];
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(data.length, channel.copy(new ByteArrayInputStream(data), out));
+        assertEquals(data.length, out.size());
+        assertEquals(data.length, channel.getTotalBytes());
+        assertEquals(0, channel.getShare(), 0);
+    }
+}
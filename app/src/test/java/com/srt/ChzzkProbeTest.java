@@ -0,0 +1,84 @@
+package com.srt;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChzzkProbeTest {
+    private static final String LIVE_DETAIL_OPEN = "{\"code\":200,\"content\":{\"liveTitle\":\"테스트 방송\",\"status\":\"OPEN\","
+        + "\"livePlaybackJson\":\"{\\\"media\\\":[{\\\"mediaId\\\":\\\"LLHLS\\\",\\\"path\\\":\\\"https://example.com/ll.m3u8\\\"},"
+        + "{\\\"mediaId\\\":\\\"HLS\\\",\\\"path\\\":\\\"https://example.com/hls.m3u8\\\"}]}\"}}";
+    private static final String LIVE_DETAIL_CLOSE = "{\"code\":200,\"content\":{\"liveTitle\":\"지난 방송\",\"status\":\"CLOSE\",\"livePlaybackJson\":null}}";
+
+    @Test void reportsOnlineWithTitleAndPlaybackUrlAndSendsSessionCookies() throws IOException {
+        AtomicReference<String> path = new AtomicReference<>();
+        AtomicReference<String> cookie = new AtomicReference<>();
+        HttpServer server = startServer(LIVE_DETAIL_OPEN, path, cookie);
+        try {
+            ChzzkProbe probe = newProbe(server);
+            probe.setSession("ses-value", "aut-value");
+
+            String url = "https://chzzk.naver.com/live/abc123";
+            PlatformProbe.Result result = probe.probe(probe.parseChannelId(url), url);
+
+            assertEquals("online", result.getStatus());
+            assertEquals("테스트 방송", result.getTitle());
+            assertEquals("https://example.com/hls.m3u8", result.getPlaybackUrl());
+            assertEquals("/service/v3/channels/abc123/live-detail", path.get());
+            assertNotNull(cookie.get());
+            assertTrue(cookie.get().contains("NID_SES=ses-value"));
+            assertTrue(cookie.get().contains("NID_AUT=aut-value"));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test void reportsOfflineWhenClosed() throws IOException {
+        HttpServer server = startServer(LIVE_DETAIL_CLOSE, new AtomicReference<>(), new AtomicReference<>());
+        try {
+            ChzzkProbe probe = newProbe(server);
+            PlatformProbe.Result result = probe.probe("abc123", "https://chzzk.naver.com/abc123");
+
+            assertEquals("offline", result.getStatus());
+            assertNull(result.getPlaybackUrl());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test void parsesChannelIdFromBothUrlForms() {
+        ChzzkProbe probe = new ChzzkProbe(null, null, "http://localhost");
+        assertEquals("abc123", probe.parseChannelId("https://chzzk.naver.com/live/abc123?x=1"));
+        assertEquals("abc123", probe.parseChannelId("https://chzzk.naver.com/abc123"));
+    }
+
+    private static ChzzkProbe newProbe(HttpServer server) {
+        ProbeHttpClient client = new ProbeHttpClient(Duration.ofSeconds(2), Duration.ofSeconds(5));
+        return new ChzzkProbe(client, new ProbeResponseCache(), "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    private static HttpServer startServer(String body, AtomicReference<String> path, AtomicReference<String> cookie) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            path.set(exchange.getRequestURI().getPath());
+            cookie.set(exchange.getRequestHeaders().getFirst("Cookie"));
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+        });
+        server.start();
+        return server;
+    }
+}
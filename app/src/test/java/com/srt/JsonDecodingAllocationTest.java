@@ -0,0 +1,98 @@
+package com.srt;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class JsonDecodingAllocationTest {
+    private static final String STREAMLINK_LIVE;
+    private static final String STREAMLINK_OFFLINE = "{\"error\":\"No playable streams found on this URL\"}";
+    private static final byte[] TWITCH_BATCH;
+
+    static {
+        // 화질별 스트림마다 주소와 헤더가 들어 있는 streamlink --json 출력
+        StringBuilder sb = new StringBuilder("{\"plugin\":\"twitch\",\"metadata\":{\"id\":\"1\",\"author\":\"테스터\",\"category\":\"Just Chatting\",\"title\":\"테스트 방송\"},\"streams\":{");
+        String[] qualities = {"audio_only", "160p", "360p", "480p", "720p60", "1080p60", "worst", "best"};
+        for (int i = 0; i < qualities.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append('"').append(qualities[i]).append("\":{\"type\":\"hls\",\"url\":\"https://video-edge.example.com/v1/playlist/")
+                .append("x".repeat(300)).append(".m3u8\",\"headers\":{\"User-Agent\":\"Mozilla/5.0\",\"Accept\":\"*/*\"},")
+                .append("\"master\":\"https://usher.example.com/api/channel/hls/tester.m3u8?sig=").append("y".repeat(200)).append("\"}");
+        }
+        STREAMLINK_LIVE = sb.append("}}").toString();
+
+        StringBuilder twitch = new StringBuilder("[");
+        for (int i = 0; i < 30; i++) {
+            if (i > 0) {
+                twitch.append(',');
+            }
+            String stream = i % 3 == 0 ? "{\"id\":\"" + i + "\",\"title\":\"방송 " + i + "\",\"type\":\"live\",\"viewersCount\":" + (i * 10) + "}" : "null";
+            twitch.append("{\"data\":{\"user\":{\"id\":\"").append(i).append("\",\"login\":\"user").append(i)
+                .append("\",\"stream\":").append(stream).append("}},\"extensions\":{\"durationMilliseconds\":5,\"operationName\":\"StreamMetadata\"}}");
+        }
+        TWITCH_BATCH = twitch.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test void extractsStreamsAndTitleFromStreamlinkOutput() throws IOException {
+        assertEquals(new StreamlinkOutput(true, "테스트 방송"), StreamlinkOutput.parse(STREAMLINK_LIVE));
+        assertEquals(new StreamlinkOutput(false, null), StreamlinkOutput.parse(STREAMLINK_OFFLINE));
+        assertEquals(new StreamlinkOutput(false, null), StreamlinkOutput.parse("{\"streams\":{},\"metadata\":{\"title\":null}}"));
+        assertThrows(IOException.class, () -> StreamlinkOutput.parse("error: not json"));
+    }
+
+    /**
+     * 확인 1회당 할당량 비교 (이전 방식: 전체를 Map/트리로 변환, 매퍼 생성 비용을 빼려고 같은 공용 매퍼 사용)
+     */
+    @Test void sharedTypedDecodingAllocatesLessPerProbe() throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        long mapBytes = allocatedPerCall(threads, () -> {
+            Map<?, ?> result = JsonCodec.MAPPER.readValue(STREAMLINK_LIVE, Map.class);
+            return !((Map<?, ?>) result.get("streams")).isEmpty();
+        });
+        long streamingBytes = allocatedPerCall(threads, () -> StreamlinkOutput.parse(STREAMLINK_LIVE).live());
+
+        long treeBytes = allocatedPerCall(threads, () -> {
+            JsonNode root = JsonCodec.MAPPER.readTree(TWITCH_BATCH);
+            return root.get(0).path("data").path("user").path("stream").isObject();
+        });
+        long typedBytes = allocatedPerCall(threads, () -> {
+            TwitchBatchProbe.Response[] responses = JsonCodec.MAPPER.readValue(TWITCH_BATCH, TwitchBatchProbe.Response[].class);
+            return responses[0].data().user().stream() != null;
+        });
+
+        System.out.println("streamlink 출력 해석 1회 할당: Map " + mapBytes + " 바이트 -> 스트리밍 " + streamingBytes + " 바이트");
+        System.out.println("트위치 일괄 응답 해석 1회 할당: 트리 " + treeBytes + " 바이트 -> 레코드 " + typedBytes + " 바이트");
+        assertTrue(streamingBytes * 2 < mapBytes);
+        assertTrue(typedBytes < treeBytes);
+    }
+
+    private interface Decode {
+        boolean run() throws IOException;
+    }
+
+    private static long allocatedPerCall(com.sun.management.ThreadMXBean threads, Decode decode) throws IOException {
+        int iterations = 2000;
+        for (int i = 0; i < iterations; i++) {
+            assertTrue(decode.run()); // 준비 실행 (JIT 컴파일, 클래스 로딩)
+        }
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            decode.run();
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / iterations;
+    }
+}
@@ -0,0 +1,56 @@
+package com.srt;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarkerScannerTest {
+    @Test void findsOverlappingMarkersAndCapturesTitle() throws IOException {
+        MarkerScanner.Builder builder = new MarkerScanner.Builder();
+        int live = builder.marker("\"isLiveNow\":true");
+        int abab = builder.marker("abab");
+        int title = builder.capture("\"title\":\"", MarkerScanner.CAPTURE_JSON_STRING);
+        MarkerScanner scanner = builder.build();
+
+        String page = "aaabab \"title\":\"say \\\"hi\\\" \\u00e9 한글\" \"isLiveNow\":true";
+        MarkerScanner.Scan scan = scanner.scan(stream(page), 1000, null);
+
+        assertTrue(scan.found(live));
+        assertTrue(scan.found(abab));
+        assertEquals("say \"hi\" é 한글", scan.captured(title));
+    }
+
+    @Test void stopsReadingOnceDecided() throws IOException {
+        MarkerScanner.Builder builder = new MarkerScanner.Builder();
+        int off = builder.marker("class=\"thumb_off\"");
+        MarkerScanner scanner = builder.build();
+
+        String page = "<div class=\"thumb_off\"></div>" + "x".repeat(100000);
+        MarkerScanner.Scan scan = scanner.scan(stream(page), 200000, s -> s.found(off));
+
+        assertTrue(scan.found(off));
+        assertTrue(scan.isStoppedEarly());
+        assertTrue(scan.getBytesScanned() < 10000);
+    }
+
+    @Test void capturesHtmlTitleSplitAcrossChunks() {
+        MarkerScanner.Builder builder = new MarkerScanner.Builder();
+        int title = builder.capture("<title>", MarkerScanner.CAPTURE_UNTIL_TAG);
+        MarkerScanner.Scan scan = builder.build().newScan();
+
+        byte[] bytes = "<html><title>방송 제목</title>".getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            scan.feed(new byte[] { b }, 0, 1);
+        }
+
+        assertEquals("방송 제목", scan.captured(title));
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,150 @@
+package com.srt;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Mp4AtomPatcherTest {
+    @Test void patchesDurationsFromSampleTableInPlace() throws IOException {
+        byte[] stts = fullBox("stts", ints(1, 300, 3000));  // 300 샘플 x 3000 (90kHz) = 10초
+        byte[] mp4 = concat(
+            box("ftyp", "isom".getBytes(StandardCharsets.ISO_8859_1), ints(512)),
+            box("moov",
+                mvhd(1000, 0),
+                box("trak", tkhd(1, 0), box("mdia", mdhd(90000, 0), box("minf", box("stbl", stts))))),
+            box("mdat", new byte[64]));
+        File file = write(mp4);
+        try {
+            Mp4AtomPatcher.Result result = Mp4AtomPatcher.patch(file);
+            assertEquals(Mp4AtomPatcher.Status.PATCHED, result.getStatus());
+            assertEquals(10000, result.getDurationMillis());
+
+            byte[] patched = Files.readAllBytes(file.toPath());
+            assertEquals(mp4.length, patched.length);
+            assertEquals(10000, fieldAfter(patched, "mvhd", 16));
+            assertEquals(10000, fieldAfter(patched, "tkhd", 20));
+            assertEquals(900000, fieldAfter(patched, "mdhd", 16));
+
+            // 이미 올바른 값이면 다시 쓰지 않음
+            assertEquals(Mp4AtomPatcher.Status.UNCHANGED, Mp4AtomPatcher.patch(file).getStatus());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test void sumsFragmentRunsForFragmentedFiles() throws IOException {
+        byte[] mp4 = concat(
+            box("ftyp", "iso6".getBytes(StandardCharsets.ISO_8859_1), ints(0)),
+            box("moov",
+                mvhd(1000, 0),
+                box("trak", tkhd(1, 0), box("mdia", mdhd(1000, 0), box("minf", box("stbl", fullBox("stts", ints(0)))))),
+                box("mvex", fullBox("mehd", ints(0)), fullBox("trex", ints(1, 1, 40, 0, 0)))),
+            // trex 기본 길이 사용: 50 x 40
+            box("moof", fullBox("mfhd", ints(1)), box("traf", fullBox("tfhd", ints(1)), fullBox("trun", ints(50)))),
+            box("mdat", new byte[16]),
+            // tfhd 기본 길이 사용: 10 x 20
+            box("moof", box("traf", fullBoxWithFlags("tfhd", 0x08, ints(1, 20)), fullBox("trun", ints(10)))),
+            // 샘플별 길이와 크기: 100 + 200
+            box("moof", box("traf", fullBox("tfhd", ints(1)), fullBoxWithFlags("trun", 0x300, ints(2, 100, 7, 200, 9)))),
+            box("mdat", new byte[16]));
+        File file = write(mp4);
+        try {
+            Mp4AtomPatcher.Result result = Mp4AtomPatcher.patch(file);
+            assertEquals(Mp4AtomPatcher.Status.PATCHED, result.getStatus());
+
+            byte[] patched = Files.readAllBytes(file.toPath());
+            assertEquals(2500, fieldAfter(patched, "mvhd", 16));
+            assertEquals(2500, fieldAfter(patched, "mdhd", 16));
+            assertEquals(2500, fieldAfter(patched, "mehd", 4));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test void asksForRemuxWhenNotAnMp4() throws IOException {
+        byte[] ts = new byte[188 * 4];
+        for (int i = 0; i < ts.length; i += 188) {
+            ts[i] = 0x47; // MPEG-TS 동기 바이트
+        }
+        File file = write(ts);
+        try {
+            assertEquals(Mp4AtomPatcher.Status.NEEDS_REMUX, Mp4AtomPatcher.patch(file).getStatus());
+            assertArrayEquals(ts, Files.readAllBytes(file.toPath()));
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static byte[] mvhd(int timescale, int duration) {
+        return fullBox("mvhd", ints(0, 0, timescale, duration), new byte[80]);
+    }
+
+    private static byte[] tkhd(int trackId, int duration) {
+        return fullBox("tkhd", ints(0, 0, trackId, 0, duration), new byte[60]);
+    }
+
+    private static byte[] mdhd(int timescale, int duration) {
+        return fullBox("mdhd", ints(0, 0, timescale, duration), new byte[4]);
+    }
+
+    /**
+     * 박스 이름 뒤 offset 바이트 위치의 32비트 값
+     */
+    private static long fieldAfter(byte[] data, String type, int offset) {
+        byte[] name = type.getBytes(StandardCharsets.ISO_8859_1);
+        for (int i = 0; i + 4 <= data.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(data, i, i + 4), name)) {
+                return ByteBuffer.wrap(data, i + 4 + offset, 4).getInt() & 0xFFFFFFFFL;
+            }
+        }
+        throw new AssertionError(type + " 박스 없음");
+    }
+
+    private static byte[] fullBox(String type, byte[]... payload) {
+        return fullBoxWithFlags(type, 0, payload);
+    }
+
+    private static byte[] fullBoxWithFlags(String type, int flags, byte[]... payload) {
+        byte[][] parts = new byte[payload.length + 1][];
+        parts[0] = ints(flags & 0xFFFFFF); // version 0
+        System.arraycopy(payload, 0, parts, 1, payload.length);
+        return box(type, parts);
+    }
+
+    private static byte[] box(String type, byte[]... children) {
+        byte[] body = concat(children);
+        ByteBuffer buf = ByteBuffer.allocate(8 + body.length);
+        buf.putInt(8 + body.length).put(type.getBytes(StandardCharsets.ISO_8859_1)).put(body);
+        return buf.array();
+    }
+
+    private static byte[] ints(int... values) {
+        ByteBuffer buf = ByteBuffer.allocate(values.length * 4);
+        for (int value : values) {
+            buf.putInt(value);
+        }
+        return buf.array();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private static File write(byte[] data) throws IOException {
+        File file = File.createTempFile("mp4patch", ".mp4");
+        Files.write(file.toPath(), data);
+        return file;
+    }
+}
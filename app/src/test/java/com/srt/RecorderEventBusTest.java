@@ -0,0 +1,84 @@
+package com.srt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecorderEventBusTest {
+    @Test void slowSubscriberDoesNotBlockPublisherAndGetsLatestStatus() throws InterruptedException {
+        RecorderEventBus bus = new RecorderEventBus();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<RecorderEventBus.Event> slow = new CopyOnWriteArrayList<>();
+        List<RecorderEventBus.Event> fast = new CopyOnWriteArrayList<>();
+        RecorderEventBus.Subscription slowSubscription = bus.subscribe("slow", 16, event -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            slow.add(event);
+        });
+        bus.subscribe("fast", 16, fast::add);
+
+        // 첫 이벤트가 전달 중에 막혀 있는 동안 같은 스트리머의 상태 변경은 최신 것으로 합쳐짐
+        long start = System.nanoTime();
+        bus.publish(RecorderEventBus.Event.statusChanged("a", "queued"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        bus.publish(RecorderEventBus.Event.statusChanged("a", "recording"));
+        bus.publish(RecorderEventBus.Event.recordingStarted("a", "a.mp4"));
+        bus.publish(RecorderEventBus.Event.statusChanged("a", "stopping"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+
+        release.countDown();
+        // 빠른 구독자도 아직 전달하지 못한 상태 변경은 합쳐질 수 있으므로 마지막 상태만 확인
+        waitFor(() -> slow.size() == 3 && !fast.isEmpty() && "stopping".equals(fast.get(fast.size() - 1).getStatus()));
+        assertTrue(fast.stream().anyMatch(event -> event.getType() == RecorderEventBus.Type.RECORDING_STARTED));
+        assertEquals("queued", slow.get(0).getStatus());
+        assertEquals(RecorderEventBus.Type.RECORDING_STARTED, slow.get(1).getType());
+        assertEquals("stopping", slow.get(2).getStatus());
+        assertEquals(1, slowSubscription.getCoalescedCount());
+        bus.shutdown();
+    }
+
+    @Test void dropsOldestWhenQueueIsFull() throws InterruptedException {
+        RecorderEventBus bus = new RecorderEventBus();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> received = new CopyOnWriteArrayList<>();
+        RecorderEventBus.Subscription subscription = bus.subscribe("ui", 2, event -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(event.getStreamerName());
+        });
+
+        bus.publish(RecorderEventBus.Event.probeFailed("a", "timeout"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        for (String name : new String[] {"b", "c", "d"}) {
+            bus.publish(RecorderEventBus.Event.probeFailed(name, "timeout"));
+        }
+        release.countDown();
+        waitFor(() -> received.size() == 3);
+        assertEquals(List.of("a", "c", "d"), received);
+        assertEquals(1, subscription.getDroppedCount());
+        bus.shutdown();
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
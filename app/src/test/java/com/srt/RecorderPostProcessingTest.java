@@ -0,0 +1,75 @@
+package com.srt;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecorderPostProcessingTest {
+    private static final String CHZZK_URL = "https://chzzk.naver.com/live/abc123";
+
+    @Test void queuesMetadataFixWhenChzzkMp4RecordingFinishes() throws IOException {
+        File dir = Files.createTempDirectory("srt-finish").toFile();
+        try {
+            Recorder recorder = new Recorder(new File(dir, "postprocess_jobs.json"));
+            Recorder.StreamerInfo info = streamer();
+            RecorderHints hints = info.resolveProbe(recorder.getProbeRegistry()).getRecorderHints();
+            assertTrue(hints.isFixMetadata());
+
+            File mp4 = recording(dir, "20260101_120000_tester_test.mp4");
+            File ts = recording(dir, "20260101_130000_tester_test.ts"); // 속도 제한 중 표준 출력으로 받은 녹화
+            recorder.finishRecording(info, session(recorder, mp4, hints), 0);
+            recorder.finishRecording(info, session(recorder, ts, hints), 0);
+
+            List<PostProcessingQueue.Job> jobs = recorder.getPostProcessingQueue().getActiveJobs();
+            assertEquals(1, jobs.size());
+            assertEquals(PostProcessingQueue.TYPE_FIX_METADATA, jobs.get(0).getType());
+            assertEquals(mp4.getAbsoluteFile(), jobs.get(0).getFile().getAbsoluteFile());
+            assertEquals("tester", jobs.get(0).getStreamerName());
+        } finally {
+            for (File file : dir.listFiles()) {
+                file.delete();
+            }
+            dir.delete();
+        }
+    }
+
+    private static Recorder.StreamerInfo streamer() {
+        Recorder.StreamerInfo info = new Recorder.StreamerInfo();
+        info.setName("tester");
+        info.setUrl(CHZZK_URL);
+        info.setShouldStop(true); // 사용자가 중지한 녹화 - 재연결하지 않음
+        return info;
+    }
+
+    private static File recording(File dir, String name) throws IOException {
+        File file = new File(dir, name);
+        Files.write(file.toPath(), new byte[1024]);
+        return file;
+    }
+
+    private static RecordingSession session(Recorder recorder, File file, RecorderHints hints) {
+        RecordingPart part = RecordingPart.first(file.getParentFile(), file.getName(), System.currentTimeMillis());
+        return RecordingSession.forProcess("tester", new ExitedProcess(), file, hints, "치지직", part,
+            System.currentTimeMillis(), recorder.getBandwidthGovernor().register("tester", 1.0), false);
+    }
+
+    /**
+     * 이미 정상 종료한 녹화 프로세스
+     */
+    private static final class ExitedProcess extends Process {
+        @Override public OutputStream getOutputStream() { return OutputStream.nullOutputStream(); }
+        @Override public InputStream getInputStream() { return new ByteArrayInputStream(new byte[0]); }
+        @Override public InputStream getErrorStream() { return new ByteArrayInputStream(new byte[0]); }
+        @Override public int waitFor() { return 0; }
+        @Override public int exitValue() { return 0; }
+        @Override public void destroy() { }
+    }
+}
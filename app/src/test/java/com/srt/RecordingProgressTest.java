@@ -0,0 +1,51 @@
+package com.srt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordingProgressTest {
+    @Test void parsesFfmpegStatsLine() {
+        RecordingProgress progress = new RecordingProgress();
+        progress.accept("frame= 1234 fps= 30 q=-1.0 size=   10240kB time=00:00:41.13 bitrate=2039.5kbits/s speed=1.01x");
+        assertEquals(1234, progress.getFrame());
+        assertEquals(1.01, progress.getSpeed(), 0.001);
+        assertEquals(2039.5, progress.getBitrateKbps(), 0.001);
+
+        progress.accept("[hls @ 0x55d] Opening 'https://cdn.example.com/seg_00012.ts?token=abc' for reading");
+        progress.accept("[hls @ 0x55d] Failed to open segment 13 of playlist 0");
+        assertEquals(1, progress.getSegmentsFetched());
+        assertEquals(1, progress.getSegmentsFailed());
+        assertEquals(1, progress.getErrors());
+    }
+
+    @Test void parsesYtDlpProgressLine() {
+        RecordingProgress progress = new RecordingProgress();
+        progress.accept("[download]   12.50MiB at    2.00MiB/s (00:00:07) (frag 7/?)");
+        progress.accept("[download]   14.00MiB at  512.00KiB/s (00:00:08) (frag 8/?)");
+        assertEquals(512 * 1024, progress.getBytesPerSecond(), 0.001);
+        assertEquals(8, progress.getSegmentsFetched());
+
+        progress.accept("[download] Got error: HTTP Error 404. Retrying fragment 9 (1/10)...");
+        assertEquals(1, progress.getSegmentsFailed());
+        assertNotNull(progress.getLastError());
+    }
+
+    @Test void parsesStreamlinkDebugOutput() throws InterruptedException {
+        RecordingProgress progress = new RecordingProgress();
+        progress.accept("[stream.hls][debug] Writing segment 100 to output");
+        progress.accept("[stream.hls][debug] Segment 100 complete");
+        progress.accept("[stream.hls][debug] Segment 101 complete");
+        progress.accept("[stream.hls][error] Failed to fetch segment 102: Unable to open URL");
+        assertEquals(2, progress.getSegmentsFetched());
+        assertEquals(1, progress.getSegmentsFailed());
+        assertEquals(4, progress.getLines());
+
+        // --stdout으로 받으면 속도는 출력 파일 크기로 계산
+        assertEquals(-1, progress.getBytesPerSecond(), 0.001);
+        progress.updateFromOutputSize(0);
+        Thread.sleep(100);
+        progress.updateFromOutputSize(1024 * 1024);
+        assertTrue(progress.getBytesPerSecond() > 0);
+    }
+}
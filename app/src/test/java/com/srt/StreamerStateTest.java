@@ -0,0 +1,84 @@
+package com.srt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamerStateTest {
+    @Test void probeDoesNotOverrideRecordingPhase() {
+        Recorder.StreamerInfo info = new Recorder.StreamerInfo();
+        assertTrue(info.transition(StreamerStatus.ONLINE, StreamerStatus.QUEUED));
+        assertTrue(info.transition(StreamerStatus.QUEUED, StreamerStatus.RECORDING));
+        assertNotNull(info.getStartTime());
+
+        // 녹화 중 상태 확인 결과는 기억만 하고, 녹화가 끝나면 그 결과로 돌아감
+        assertEquals(StreamerStatus.RECORDING, info.applyProbeResult(StreamerStatus.OFFLINE, "제목"));
+        assertEquals("제목", info.getTitle());
+        assertTrue(info.isRecording());
+        assertEquals(StreamerStatus.OFFLINE, info.leaveRecording());
+        assertNull(info.leaveRecording());
+    }
+
+    @Test void stoppingBlocksRestartUntilFinished() {
+        Recorder.StreamerInfo info = new Recorder.StreamerInfo();
+        info.transition(StreamerStatus.ONLINE, StreamerStatus.QUEUED);
+        info.transition(StreamerStatus.QUEUED, StreamerStatus.RECORDING);
+        assertTrue(info.transition(StreamerStatus.RECORDING, StreamerStatus.STOPPING));
+        assertFalse(info.isRecording());
+        assertFalse(info.transition(StreamerStatus.RECORDING, StreamerStatus.STOPPING));
+        assertFalse(info.transition(StreamerStatus.ONLINE, StreamerStatus.QUEUED));
+        assertFalse(info.updateDuration(StreamerStatus.RECORDING, "00:00:05"));
+
+        Recorder.StreamerSnapshot before = info.snapshot();
+        assertEquals(StreamerStatus.ONLINE, info.leaveRecording());
+        assertEquals("stopping", before.getStatus());
+        assertTrue(info.getVersion() > before.getVersion());
+        assertTrue(info.transition(StreamerStatus.ONLINE, StreamerStatus.QUEUED));
+    }
+
+    @Test void restoredStateIsShownUntilFirstProbe() {
+        Recorder.StreamerInfo info = new Recorder.StreamerInfo();
+        info.restoreLastKnown(StreamerStatus.RECORDING, "이전 제목");
+        assertEquals(StreamerStatus.OFFLINE, info.getStreamerStatus()); // 녹화 단계는 복원하지 않음
+        info.restoreLastKnown(StreamerStatus.ONLINE, "이전 제목");
+        assertEquals(StreamerStatus.ONLINE, info.getStreamerStatus());
+        assertEquals("이전 제목", info.getTitle());
+        assertEquals(0, info.snapshot().getCheckedAt());
+
+        // 실제로 확인한 뒤에는 저장된 상태로 덮어쓰지 않음
+        info.applyProbeResult(StreamerStatus.OFFLINE, null);
+        assertTrue(info.getCheckedAt() > 0);
+        info.restoreLastKnown(StreamerStatus.ONLINE, null);
+        assertEquals(StreamerStatus.OFFLINE, info.getStreamerStatus());
+    }
+
+    @Test void onlyOneConcurrentStartWins() throws InterruptedException {
+        Recorder.StreamerInfo info = new Recorder.StreamerInfo();
+        AtomicInteger wins = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (info.transition(StreamerStatus.ONLINE, StreamerStatus.QUEUED)) {
+                    wins.incrementAndGet();
+                }
+                info.setTitle("t");
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, wins.get());
+        assertEquals(1 + threads.length, info.getVersion());
+    }
+}